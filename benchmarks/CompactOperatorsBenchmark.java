@@ -0,0 +1,104 @@
+package geneticalgo.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import geneticalgo.CompactChromosome;
+import geneticalgo.FitnessEvaluator;
+import geneticalgo.GeneticFunctions;
+import geneticalgo.Workload;
+
+/**
+ * Cost of the {@link GeneticFunctions} operators on compact chromosomes.
+ * calculateFitness is measured twice: with every cached fitness up to date, and with the
+ * population invalidated so that every chromosome is scored in full.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompactOperatorsBenchmark {
+
+	@Param({"50", "1000", "100000"})
+	public int numCloudlets;
+
+	@Param({"10", "100", "10000"})
+	public int numVms;
+
+	@Param({"50", "500"})
+	public int populationSize;
+
+	private final GeneticFunctions gf = new GeneticFunctions();
+
+	private Workload workload;
+
+	private FitnessEvaluator evaluator;
+
+	private CompactChromosome[] population;
+
+	private Random rand;
+
+	private int firstFitIndex;
+
+	private int secondFitIndex;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		workload = new Fixtures(numCloudlets, numVms).toWorkload();
+		evaluator = new FitnessEvaluator(workload);
+		population = gf.initialisePopulation(workload, populationSize);
+		rand = new Random(Fixtures.SEED);
+		for(int j = numVms; j < populationSize; j++){
+			int[] genes = population[j].getGenes();
+			for(int i = 0; i < genes.length; i++)
+				genes[i] = rand.nextInt(numVms);
+		}
+		double[] fit = gf.calculateFitness(population, evaluator, 0, 1, Double.MAX_VALUE);
+		firstFitIndex = (int) fit[0];
+		secondFitIndex = firstFitIndex == (int) fit[1] ? (firstFitIndex + 1) % populationSize : (int) fit[1];
+	}
+
+	@Benchmark
+	public CompactChromosome[] initialisePopulation() {
+		return gf.initialisePopulation(workload, populationSize);
+	}
+
+	@Benchmark
+	public double[] calculateFitnessCached() {
+		return gf.calculateFitness(population, evaluator, 0, 0, Double.MAX_VALUE);
+	}
+
+	@Benchmark
+	public double[] calculateFitnessFull() {
+		for(CompactChromosome chromosome : population)
+			chromosome.updateGene(0, chromosome.getGene(0));
+		return gf.calculateFitness(population, evaluator, 0, 0, Double.MAX_VALUE);
+	}
+
+	@Benchmark
+	public CompactChromosome selectionAndCrossOver() {
+		gf.selectionAndCrossOver(population, firstFitIndex, secondFitIndex, rand, evaluator);
+		return population[firstFitIndex];
+	}
+
+	@Benchmark
+	public CompactChromosome[] mutation() {
+		gf.mutation(rand, population, evaluator);
+		return population;
+	}
+}
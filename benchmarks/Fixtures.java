@@ -0,0 +1,76 @@
+package geneticalgo.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.Vm;
+
+import geneticalgo.ScenarioConfig;
+import geneticalgo.Workload;
+import geneticalgo.WorkloadGenerator;
+
+/**
+ * Workloads shared by the benchmarks. Every fixture is generated from SEED with the default
+ * distributions of {@link ScenarioConfig} and sorted like {@link geneticalgo.GeneticAlgorithm}
+ * does, so results of different versions of the operators are measured on the same input.
+ */
+public final class Fixtures {
+
+	/** Seed of every fixture */
+	public static final long SEED = 20240501L;
+
+	/** Cloudlets sorted by ascending length */
+	private final List<Cloudlet> sortedCloudletList;
+
+	/** Vms sorted by descending mips */
+	private final ArrayList<Vm> sortedVmList;
+
+	/** Workload of the sorted cloudlets and vms */
+	private final Workload workload;
+
+	/**
+	 * Generates a fixture.
+	 * @param numCloudlets - number of cloudlets
+	 * @param numVms - number of vms
+	 */
+	public Fixtures(int numCloudlets, int numVms) {
+		ScenarioConfig config = new ScenarioConfig();
+		config.setSeed(SEED);
+		config.setNumCloudlets(numCloudlets);
+		config.setNumVms(numVms);
+		WorkloadGenerator generator = new WorkloadGenerator(config);
+
+		Cloudlet[] cloudlets = generator.createCloudlets(0);
+		Vm[] vms = generator.createVms(0);
+		workload = Workload.sort(cloudlets, vms);
+		sortedCloudletList = Arrays.asList(cloudlets);
+		// the legacy operators take an ArrayList of vms
+		sortedVmList = new ArrayList<Vm>(Arrays.asList(vms));
+	}
+
+	/**
+	 * Getter method for the sorted cloudlets.
+	 * @return cloudlets by ascending length
+	 */
+	public List<Cloudlet> getSortedCloudletList() {
+		return sortedCloudletList;
+	}
+
+	/**
+	 * Getter method for the sorted vms.
+	 * @return vms by descending mips
+	 */
+	public ArrayList<Vm> getSortedVmList() {
+		return sortedVmList;
+	}
+
+	/**
+	 * Getter method for the workload of the fixture.
+	 * @return workload of the sorted cloudlets and vms
+	 */
+	public Workload toWorkload() {
+		return workload;
+	}
+}
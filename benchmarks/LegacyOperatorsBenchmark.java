@@ -0,0 +1,92 @@
+package geneticalgo.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import geneticalgo.Chromosomes;
+import geneticalgo.GeneticFunctions;
+
+/**
+ * Cost of the {@link GeneticFunctions} operators on the original ArrayList chromosomes, the
+ * baseline of {@link CompactOperatorsBenchmark}. The original population has one chromosome
+ * per cloudlet, which caps the cloudlet counts at a few thousand; populationSize is the number
+ * of chromosomes scored by calculateFitness and picked from by mutation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LegacyOperatorsBenchmark {
+
+	@Param({"50", "500", "2000"})
+	public int numCloudlets;
+
+	@Param({"10", "100"})
+	public int numVms;
+
+	@Param({"50"})
+	public int populationSize;
+
+	private final GeneticFunctions gf = new GeneticFunctions();
+
+	private Fixtures fixtures;
+
+	private ArrayList<Chromosomes> population;
+
+	private Random rand;
+
+	private int firstFitIndex;
+
+	private int secondFitIndex;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		fixtures = new Fixtures(numCloudlets, numVms);
+		population = initialisePopulation();
+		rand = new Random(Fixtures.SEED);
+		double[] fit = calculateFitness();
+		firstFitIndex = (int) fit[0];
+		secondFitIndex = firstFitIndex == (int) fit[1] ? (firstFitIndex + 1) % populationSize : (int) fit[1];
+	}
+
+	@Benchmark
+	public ArrayList<Chromosomes> initialisePopulation() {
+		return gf.initialisePopulation(numCloudlets, numVms, fixtures.getSortedVmList(),
+										fixtures.getSortedCloudletList());
+	}
+
+	@Benchmark
+	public double[] calculateFitness() {
+		return gf.calculateFitness(population, 0, 0, Double.MAX_VALUE, numCloudlets,
+									Math.min(populationSize, population.size()));
+	}
+
+	@Benchmark
+	public ArrayList<Chromosomes> selectionAndCrossOver() {
+		gf.selectionAndCrossOver(population, firstFitIndex, secondFitIndex, numCloudlets);
+		return population;
+	}
+
+	@Benchmark
+	public ArrayList<Chromosomes> mutation() {
+		gf.mutation(rand, population, Math.min(populationSize, population.size()),
+					fixtures.getSortedVmList(), numCloudlets);
+		return population;
+	}
+}
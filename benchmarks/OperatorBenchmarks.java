@@ -0,0 +1,30 @@
+package geneticalgo.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the operator benchmarks with the GC profiler, which adds the allocation rate and the
+ * bytes allocated per operation to the throughput and average time of every benchmark.
+ * Arguments are regular expressions of the benchmarks to run, all of them by default.
+ */
+public class OperatorBenchmarks {
+
+	/**
+	 * Main method
+	 * @param args - benchmarks to run
+	 * @throws RunnerException if a benchmark fails
+	 */
+	public static void main(String[] args) throws RunnerException {
+		OptionsBuilder options = new OptionsBuilder();
+		if(args.length == 0)
+			options.include(OperatorBenchmarks.class.getPackage().getName() + ".*Benchmark");
+		for(String include : args)
+			options.include(include);
+		Options built = options.addProfiler(GCProfiler.class).build();
+		new Runner(built).run();
+	}
+}
@@ -0,0 +1,55 @@
+package geneticalgo;
+
+/**
+ * Types of the events recorded by a {@link BrokerEventLog}, each with its level.
+ * A record carries up to three int arguments whose meaning depends on the type; they are
+ * listed with every type.
+ */
+public enum BrokerEvent {
+
+	/** Broker started */
+	STARTING(BrokerEventLog.Level.INFO),
+	/** a = number of resources */
+	RESOURCE_LIST_RECEIVED(BrokerEventLog.Level.INFO),
+	/** a = vm id, b = datacenter id */
+	VM_CREATE_REQUESTED(BrokerEventLog.Level.DEBUG),
+	/** a = vm id, b = datacenter id, c = host id */
+	VM_CREATED(BrokerEventLog.Level.INFO),
+	/** No vm could be created in any datacenter */
+	NO_VM_CREATED(BrokerEventLog.Level.ERROR),
+	/** a = cloudlet id, b = vm id */
+	CLOUDLET_SENT(BrokerEventLog.Level.DEBUG),
+	/** a = cloudlet id */
+	CLOUDLET_POSTPONED(BrokerEventLog.Level.WARN),
+	/** a = cloudlet id */
+	CLOUDLET_RECEIVED(BrokerEventLog.Level.DEBUG),
+	/** All cloudlets returned */
+	ALL_CLOUDLETS_EXECUTED(BrokerEventLog.Level.INFO),
+	/** a = vm id */
+	VM_DESTROYED(BrokerEventLog.Level.DEBUG),
+	/** a = event tag */
+	UNKNOWN_EVENT(BrokerEventLog.Level.ERROR),
+	/** An event was null */
+	NULL_EVENT(BrokerEventLog.Level.ERROR),
+	/** Broker shut down */
+	SHUTTING_DOWN(BrokerEventLog.Level.INFO),
+	/** a = cloudlet id */
+	CLOUDLET_ARRIVED(BrokerEventLog.Level.DEBUG),
+	/** a = window index, b = cloudlets in the window, c = backlog */
+	WINDOW_SCHEDULED(BrokerEventLog.Level.INFO);
+
+	/** Level of the events of this type */
+	private final BrokerEventLog.Level level;
+
+	private BrokerEvent(BrokerEventLog.Level level) {
+		this.level = level;
+	}
+
+	/**
+	 * Getter method for the level of the events of this type.
+	 * @return level
+	 */
+	public BrokerEventLog.Level getLevel() {
+		return level;
+	}
+}
@@ -0,0 +1,298 @@
+package geneticalgo;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.core.CloudSim;
+
+/**
+ * Structured event log of a {@link GADatacenterBroker}.
+ * Events are recorded as fixed size records of primitives: no String is built and nothing is
+ * boxed unless text output is on. Events above the level of the log are rejected by a single
+ * comparison.
+ *
+ * When a file is given, records are written to a ring buffer by the simulation thread and
+ * drained to the file by a daemon thread, 24 bytes per record: the clock as a double, then the
+ * event ordinal and its three arguments as ints, after a header holding {@link #MAGIC},
+ * {@link #VERSION} and the broker name. Records that find the ring full are dropped and
+ * counted. The file can be printed with {@link BrokerEventRenderer#main(String[])}.
+ *
+ * Text output renders every record to a String and prints it through {@link Log}, on the
+ * simulation thread, unless the CloudSim Log is disabled. It is opt-in: a broker prints only
+ * warnings and errors by default, and a log with a file is meant to be rendered offline.
+ */
+public class BrokerEventLog {
+
+	/**
+	 * Level of an event, from the most to the least severe.
+	 */
+	public enum Level {
+		ERROR, WARN, INFO, DEBUG
+	}
+
+	/** First int of an event file */
+	public static final int MAGIC = 0x4741424c;
+
+	/** Format version of an event file */
+	public static final int VERSION = 1;
+
+	/** Least severe level printed by the default text log of a broker */
+	public static final Level DEFAULT_TEXT_LEVEL = Level.WARN;
+
+	/** Default number of records held by the ring buffer */
+	public static final int DEFAULT_CAPACITY = 1 << 14;
+
+	/** Longs per record in the ring buffer */
+	private static final int RECORD_LONGS = 3;
+
+	/** Name of the broker written with the records */
+	private final String brokerName;
+
+	/** Ordinal of the least severe level recorded */
+	private volatile int threshold;
+
+	/** Whether records are printed through the CloudSim Log */
+	private volatile boolean textOutput;
+
+	/** Renders records for text output */
+	private final BrokerEventRenderer renderer = new BrokerEventRenderer(true);
+
+	/** Records waiting to be drained, null without a file */
+	private final long[] ring;
+
+	/** Capacity of the ring - 1 */
+	private final int mask;
+
+	/** Sequence number of the next record written */
+	private final AtomicLong head = new AtomicLong();
+
+	/** Sequence number of the next record drained */
+	private final AtomicLong tail = new AtomicLong();
+
+	/** Number of records dropped because the ring was full */
+	private final AtomicLong dropped = new AtomicLong();
+
+	/** Writes the ring to the file, null without a file */
+	private final Thread drainer;
+
+	/** Set by close() to stop the drainer once the ring is empty */
+	private volatile boolean closed;
+
+	/** First error of the drainer */
+	private volatile IOException failure;
+
+	/**
+	 * Create a new BrokerEventLog that only prints text.
+	 * @param brokerName - name of the broker
+	 * @param level - least severe level recorded
+	 */
+	public BrokerEventLog(String brokerName, Level level) {
+		this.brokerName = brokerName;
+		this.threshold = level.ordinal();
+		this.textOutput = true;
+		this.ring = null;
+		this.mask = 0;
+		this.drainer = null;
+	}
+
+	/**
+	 * Create a new BrokerEventLog that drains binary records to a file.
+	 * @param brokerName - name of the broker
+	 * @param level - least severe level recorded
+	 * @param path - path of the event file, overwritten
+	 * @param capacity - number of records held by the ring buffer, rounded up to a power of two
+	 * @param textOutput - whether records are also printed as text
+	 * @throws IOException if the file cannot be created
+	 */
+	public BrokerEventLog(String brokerName, Level level, String path, int capacity,
+							boolean textOutput) throws IOException {
+		this.brokerName = brokerName;
+		this.threshold = level.ordinal();
+		this.textOutput = textOutput;
+
+		int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+		this.ring = new long[size * RECORD_LONGS];
+		this.mask = size - 1;
+
+		final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path), 1 << 16));
+		try {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeUTF(brokerName);
+		} catch (IOException e) {
+			try {
+				out.close();
+			} catch (IOException suppressed) {
+				e.addSuppressed(suppressed);
+			}
+			throw e;
+		}
+
+		this.drainer = new Thread(new Runnable() {
+			public void run() {
+				drain(out);
+			}
+		}, brokerName + "-events");
+		drainer.setDaemon(true);
+		drainer.start();
+	}
+
+	/**
+	 * Whether events of a level are recorded.
+	 * @param level - level of the event
+	 * @return true if recorded
+	 */
+	public boolean isEnabled(Level level) {
+		return level.ordinal() <= threshold;
+	}
+
+	/**
+	 * Records an event at the current simulation time.
+	 * @param event - type of the event
+	 * @param a - first argument
+	 * @param b - second argument
+	 * @param c - third argument
+	 */
+	public void record(BrokerEvent event, int a, int b, int c) {
+		if(event.getLevel().ordinal() > threshold)
+			return;
+		double clock = CloudSim.clock();
+
+		if(textOutput && !Log.isDisabled())
+			Log.printLine(renderer.render(brokerName, clock, event, a, b, c));
+
+		if(ring == null || closed)
+			return;
+		long sequence = head.get();
+		if(sequence - tail.get() > mask){
+			dropped.incrementAndGet();
+			return;
+		}
+		int slot = (int) (sequence & mask) * RECORD_LONGS;
+		ring[slot] = Double.doubleToRawLongBits(clock);
+		ring[slot + 1] = ((long) event.ordinal() << 32) | (a & 0xffffffffL);
+		ring[slot + 2] = ((long) b << 32) | (c & 0xffffffffL);
+		head.lazySet(sequence + 1);
+	}
+
+	/**
+	 * Records an event with one argument.
+	 * @param event - type of the event
+	 * @param a - first argument
+	 */
+	public void record(BrokerEvent event, int a) {
+		record(event, a, 0, 0);
+	}
+
+	/**
+	 * Records an event without arguments.
+	 * @param event - type of the event
+	 */
+	public void record(BrokerEvent event) {
+		record(event, 0, 0, 0);
+	}
+
+	/**
+	 * Loop of the drainer thread: copies records from the ring to the file until closed.
+	 * @param out - event file
+	 */
+	private void drain(DataOutputStream out) {
+		try {
+			while(true){
+				long sequence = tail.get();
+				long end = head.get();
+				if(sequence == end){
+					if(closed && head.get() == sequence)
+						break;
+					out.flush();
+					LockSupport.parkNanos(1000000L);
+					continue;
+				}
+				for(; sequence < end; sequence++){
+					int slot = (int) (sequence & mask) * RECORD_LONGS;
+					long typeAndA = ring[slot + 1];
+					long bAndC = ring[slot + 2];
+					out.writeDouble(Double.longBitsToDouble(ring[slot]));
+					out.writeInt((int) (typeAndA >>> 32));
+					out.writeInt((int) typeAndA);
+					out.writeInt((int) (bAndC >>> 32));
+					out.writeInt((int) bAndC);
+				}
+				tail.lazySet(end);
+			}
+		} catch (IOException e) {
+			failure = e;
+		} finally {
+			try {
+				out.close();
+			} catch (IOException e) {
+				if(failure == null)
+					failure = e;
+			}
+		}
+	}
+
+	/**
+	 * Drains the remaining records and closes the event file. Records made after close are
+	 * only printed as text.
+	 * @throws IOException if the file could not be written
+	 */
+	public void close() throws IOException {
+		if(drainer == null || closed)
+			return;
+		closed = true;
+		LockSupport.unpark(drainer);
+		try {
+			drainer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if(failure != null)
+			throw failure;
+	}
+
+	/**
+	 * Setter method for the least severe level recorded.
+	 * @param level - level
+	 */
+	public void setLevel(Level level) {
+		this.threshold = level.ordinal();
+	}
+
+	/**
+	 * Setter method for text output.
+	 * @param textOutput - whether records are printed through the CloudSim Log
+	 */
+	public void setTextOutput(boolean textOutput) {
+		this.textOutput = textOutput;
+	}
+
+	/**
+	 * Getter method for text output.
+	 * @return whether records are printed through the CloudSim Log
+	 */
+	public boolean isTextOutput() {
+		return textOutput;
+	}
+
+	/**
+	 * Getter method for number of records dropped because the ring was full.
+	 * @return dropped records
+	 */
+	public long getDropped() {
+		return dropped.get();
+	}
+
+	/**
+	 * Getter method for number of records written to the ring.
+	 * @return recorded records
+	 */
+	public long getRecorded() {
+		return head.get();
+	}
+}
@@ -0,0 +1,120 @@
+package geneticalgo;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+
+/**
+ * Renders {@link BrokerEvent} records as the human-readable lines the broker used to print.
+ * Used live by a {@link BrokerEventLog} with text output, and offline to decode a binary
+ * event file.
+ */
+public class BrokerEventRenderer {
+
+	/** Whether datacenter ids are resolved to entity names through CloudSim */
+	private final boolean resolveNames;
+
+	/**
+	 * Create a new BrokerEventRenderer.
+	 * @param resolveNames - resolve datacenter ids to names, only possible while the simulation runs
+	 */
+	public BrokerEventRenderer(boolean resolveNames) {
+		this.resolveNames = resolveNames;
+	}
+
+	/**
+	 * Renders one record.
+	 * @param brokerName - name of the broker
+	 * @param clock - simulation time of the event
+	 * @param event - type of the event
+	 * @param a - first argument
+	 * @param b - second argument
+	 * @param c - third argument
+	 * @return line of text
+	 */
+	public String render(String brokerName, double clock, BrokerEvent event, int a, int b, int c) {
+		String prefix = clock + ": " + brokerName + ": ";
+		switch (event) {
+			case STARTING:
+				return brokerName + " is starting...";
+			case RESOURCE_LIST_RECEIVED:
+				return prefix + "Cloud Resource List received with " + a + " resource(s)";
+			case VM_CREATE_REQUESTED:
+				return prefix + "Trying to Create VM #" + a + " in "
+						+ (resolveNames ? CloudSim.getEntityName(b) : "Datacenter #" + b);
+			case VM_CREATED:
+				return prefix + "VM #" + a + " has been created in Datacenter #" + b + ", Host #" + c;
+			case NO_VM_CREATED:
+				return prefix + "none of the required VMs could be created. Aborting";
+			case CLOUDLET_SENT:
+				return prefix + "Sending cloudlet " + a + " to VM #" + b;
+			case CLOUDLET_POSTPONED:
+				return prefix + "Postponing execution of cloudlet " + a + ": bount VM not available";
+			case CLOUDLET_RECEIVED:
+				return prefix + "Cloudlet " + a + " received";
+			case ALL_CLOUDLETS_EXECUTED:
+				return prefix + "All Cloudlets executed. Finishing...";
+			case VM_DESTROYED:
+				return prefix + "Destroying VM #" + a;
+			case UNKNOWN_EVENT:
+				return brokerName + ".processOtherEvent(): Error - event unknown by this DatacenterBroker.";
+			case NULL_EVENT:
+				return brokerName + ".processOtherEvent(): Error - an event is null.";
+			case SHUTTING_DOWN:
+				return brokerName + " is shutting down...";
+			case CLOUDLET_ARRIVED:
+				return prefix + "Cloudlet " + a + " arrived";
+			case WINDOW_SCHEDULED:
+				return prefix + "Scheduled window #" + a + " of " + b + " cloudlet(s), backlog " + c;
+			default:
+				return prefix + event;
+		}
+	}
+
+	/**
+	 * Decodes a binary event file written by a {@link BrokerEventLog}.
+	 * @param path - path of the event file
+	 * @param out - stream the lines are printed to
+	 * @throws IOException if the file cannot be read or is not an event file
+	 */
+	public void renderFile(String path, PrintStream out) throws IOException {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(path)));
+		try {
+			if (in.readInt() != BrokerEventLog.MAGIC || in.readInt() != BrokerEventLog.VERSION) {
+				throw new IOException(path + " is not a broker event file");
+			}
+			String brokerName = in.readUTF();
+			BrokerEvent[] events = BrokerEvent.values();
+			while (true) {
+				double clock;
+				try {
+					clock = in.readDouble();
+				} catch (EOFException e) {
+					break;
+				}
+				BrokerEvent event = events[in.readInt()];
+				out.println(render(brokerName, clock, event, in.readInt(), in.readInt(), in.readInt()));
+			}
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Prints a binary event file as text.
+	 * @param args - path of the event file
+	 * @throws IOException if the file cannot be read
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length != 1) {
+			System.err.println("Usage: BrokerEventRenderer <event file>");
+			return;
+		}
+		new BrokerEventRenderer(false).renderFile(args[0], System.out);
+	}
+}
@@ -0,0 +1,108 @@
+package geneticalgo;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Live metrics of a {@link GADatacenterBroker}, read over JMX or by a {@link MetricsHttpServer}.
+ * The broker updates them after every event it processes, with
+ * {@link #update(int, int, int, int, int, double)}.
+ *
+ * Like {@link GAMetrics}, every metric is an atomic written with lazySet by the simulation thread
+ * and read with a volatile read by the scrapers, so scraping never stalls the simulation.
+ */
+public class BrokerMetrics implements BrokerMetricsMBean {
+
+	/** Name of the broker */
+	private final String brokerName;
+
+	/** Cloudlets sent to a datacenter and not yet returned */
+	private final AtomicInteger cloudletsInFlight = new AtomicInteger();
+
+	/** Cloudlets held back in vm queues */
+	private final AtomicInteger cloudletsQueued = new AtomicInteger();
+
+	/** Cloudlets returned */
+	private final AtomicInteger cloudletsReceived = new AtomicInteger();
+
+	/** Vm creation acks received */
+	private final AtomicInteger vmCreateAcks = new AtomicInteger();
+
+	/** Vms created and not yet destroyed */
+	private final AtomicInteger vmsCreated = new AtomicInteger();
+
+	/** CloudSim clock at the last event, as raw long bits */
+	private final AtomicLong clock = new AtomicLong();
+
+	/**
+	 * Create a new BrokerMetrics.
+	 * @param brokerName - name of the broker
+	 */
+	public BrokerMetrics(String brokerName) {
+		this.brokerName = brokerName;
+	}
+
+	/**
+	 * Publishes the state of the broker. Called by the simulation thread.
+	 * @param inFlight - cloudlets sent and not yet returned
+	 * @param queued - cloudlets held back in vm queues
+	 * @param received - cloudlets returned
+	 * @param acks - vm creation acks received
+	 * @param created - vms created and not yet destroyed
+	 * @param now - CloudSim clock
+	 */
+	public void update(int inFlight, int queued, int received, int acks, int created, double now) {
+		cloudletsInFlight.lazySet(inFlight);
+		cloudletsQueued.lazySet(queued);
+		cloudletsReceived.lazySet(received);
+		vmCreateAcks.lazySet(acks);
+		vmsCreated.lazySet(created);
+		clock.lazySet(Double.doubleToRawLongBits(now));
+	}
+
+	public int getCloudletsInFlight() {
+		return cloudletsInFlight.get();
+	}
+
+	public int getCloudletsQueued() {
+		return cloudletsQueued.get();
+	}
+
+	public int getCloudletsReceived() {
+		return cloudletsReceived.get();
+	}
+
+	public int getVmCreateAcks() {
+		return vmCreateAcks.get();
+	}
+
+	public int getVmsCreated() {
+		return vmsCreated.get();
+	}
+
+	public double getClock() {
+		return Double.longBitsToDouble(clock.get());
+	}
+
+	/**
+	 * Getter method for name of the broker.
+	 * @return broker name
+	 */
+	public String getBrokerName() {
+		return brokerName;
+	}
+
+	/**
+	 * Registers the metrics with the platform MBean server, replacing the metrics registered
+	 * before for a broker of the same name.
+	 * @return name of the MBean
+	 * @throws JMException if the metrics cannot be registered
+	 */
+	public ObjectName register() throws JMException {
+		return GAMetrics.register(this, new ObjectName("geneticalgo:type=BrokerMetrics,name="
+				+ ObjectName.quote(brokerName)));
+	}
+}
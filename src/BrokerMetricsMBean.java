@@ -0,0 +1,38 @@
+package geneticalgo;
+
+/**
+ * Management interface of {@link BrokerMetrics}, registered as
+ * geneticalgo:type=BrokerMetrics,name=&lt;broker name&gt;.
+ */
+public interface BrokerMetricsMBean {
+
+	/**
+	 * @return cloudlets sent to a datacenter and not yet returned
+	 */
+	int getCloudletsInFlight();
+
+	/**
+	 * @return cloudlets held back in vm queues
+	 */
+	int getCloudletsQueued();
+
+	/**
+	 * @return cloudlets returned
+	 */
+	int getCloudletsReceived();
+
+	/**
+	 * @return vm creation acks received, successful or not
+	 */
+	int getVmCreateAcks();
+
+	/**
+	 * @return vms created and not yet destroyed
+	 */
+	int getVmsCreated();
+
+	/**
+	 * @return CloudSim clock at the last event of the broker
+	 */
+	double getClock();
+}
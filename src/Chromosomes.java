@@ -36,8 +36,6 @@ public class Chromosomes {
 	 * @param vm - new Vm
 	 */
 	public void updateGene(int index, Vm vm){
-		Gene gene = this.geneList.get(index);
-		gene.setVmForGene(vm);
-		this.geneList.set(index, gene);
+		this.geneList.get(index).setVmForGene(vm);
 	}
 }
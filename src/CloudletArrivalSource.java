@@ -0,0 +1,23 @@
+package geneticalgo;
+
+import org.cloudbus.cloudsim.Cloudlet;
+
+/**
+ * Cloudlets that arrive over time, pulled one at a time by a {@link GADatacenterBroker} in
+ * online mode, so that only the next arrival of a long workload is held in memory.
+ */
+public interface CloudletArrivalSource {
+
+	/**
+	 * Creates the next cloudlet, in order of arrival time.
+	 * @param userId - id of the broker that owns the cloudlet
+	 * @return cloudlet, or null at the end of the source
+	 */
+	Cloudlet nextArrival(int userId);
+
+	/**
+	 * Arrival time of the last cloudlet returned by {@link #nextArrival(int)}.
+	 * @return simulation time
+	 */
+	double getArrivalTime();
+}
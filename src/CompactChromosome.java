@@ -0,0 +1,136 @@
+package geneticalgo;
+
+/**
+ * A Chromosome stored as one int per gene. The i-th gene holds the index of the Vm,
+ * in the sorted Vm list of a {@link Workload}, that runs the i-th sorted Cloudlet.
+ *
+ * Once scored by a {@link FitnessEvaluator} the chromosome also caches its fitness and the
+ * completion time of every Vm, so that moving a gene through
+ * {@link FitnessEvaluator#moveGene(CompactChromosome, int, int)} re-scores it from the
+ * two affected Vms instead of a full pass over the genes.
+ */
+public class CompactChromosome {
+
+	/** Vm index of every gene */
+	private final int[] genes;
+
+	/** Completion time of every vm, null until the chromosome is evaluated */
+	double[] vmLoads;
+
+	/** Total time taken by all the cloudlets */
+	double totalTime;
+
+	/** Completion time of the most loaded vm */
+	double makespan;
+
+	/** Cached fitness, lower is fitter */
+	double fitness;
+
+	/** Whether the cached values match the genes */
+	boolean evaluated;
+
+	/**
+	 * Create a new CompactChromosome with every gene set to Vm 0.
+	 * @param numGenes - number of genes, equal to the number of cloudlets
+	 */
+	public CompactChromosome(int numGenes) {
+		this.genes = new int[numGenes];
+	}
+
+	/**
+	 * Getter method for the gene array. The array is not copied.
+	 * @return array of vm indices
+	 */
+	public int[] getGenes() {
+		return genes;
+	}
+
+	/**
+	 * Getter method for number of genes.
+	 * @return number of genes
+	 */
+	public int size() {
+		return genes.length;
+	}
+
+	/**
+	 * Getter method for the Vm index of a gene.
+	 * @param index - gene position
+	 * @return vm index
+	 */
+	public int getGene(int index) {
+		return genes[index];
+	}
+
+	/**
+	 * For replacing the Vm at an index with a new one.
+	 * This invalidates the cached fitness; use
+	 * {@link FitnessEvaluator#moveGene(CompactChromosome, int, int)} to keep it up to date.
+	 * @param index - index at which to update the Vm
+	 * @param vmIndex - index of the new Vm
+	 */
+	public void updateGene(int index, int vmIndex) {
+		genes[index] = vmIndex;
+		evaluated = false;
+	}
+
+	/**
+	 * Copies the genes and the cached fitness of another chromosome of the same size into this one.
+	 * @param other - source chromosome
+	 */
+	public void copyFrom(CompactChromosome other) {
+		System.arraycopy(other.genes, 0, genes, 0, genes.length);
+		evaluated = other.evaluated;
+		if(other.evaluated){
+			if(vmLoads == null)
+				vmLoads = new double[other.vmLoads.length];
+			System.arraycopy(other.vmLoads, 0, vmLoads, 0, vmLoads.length);
+			totalTime = other.totalTime;
+			makespan = other.makespan;
+			fitness = other.fitness;
+		}
+	}
+
+	/**
+	 * Copies only the genes of another chromosome of the same size into this one.
+	 * The cached fitness is invalidated, for callers that rewrite many genes and then
+	 * evaluate the chromosome in full.
+	 * @param other - source chromosome
+	 */
+	public void copyGenesFrom(CompactChromosome other) {
+		System.arraycopy(other.genes, 0, genes, 0, genes.length);
+		evaluated = false;
+	}
+
+	/**
+	 * Whether the cached fitness matches the genes.
+	 * @return true if evaluated
+	 */
+	public boolean isEvaluated() {
+		return evaluated;
+	}
+
+	/**
+	 * Getter method for the cached fitness.
+	 * @return fitness, only meaningful if {@link #isEvaluated()}
+	 */
+	public double getFitness() {
+		return fitness;
+	}
+
+	/**
+	 * Getter method for the cached makespan.
+	 * @return makespan, only meaningful if {@link #isEvaluated()}
+	 */
+	public double getMakespan() {
+		return makespan;
+	}
+
+	/**
+	 * Getter method for the cached total time.
+	 * @return total time, only meaningful if {@link #isEvaluated()}
+	 */
+	public double getTotalTime() {
+		return totalTime;
+	}
+}
@@ -0,0 +1,67 @@
+package geneticalgo;
+
+import java.util.Random;
+
+/**
+ * Breeds two children from two parents of a {@link GAEngine}.
+ * Children are preallocated chromosomes of the next generation; an operator overwrites them
+ * and must keep their cached fitness up to date, normally by copying a parent and moving the
+ * genes that differ through {@link FitnessEvaluator#moveGene(CompactChromosome, int, int)}.
+ * The operators of a {@link GAConfig} are named by {@link Type}.
+ */
+public interface CrossoverOperator {
+
+	/**
+	 * Segments of more than numGenes / INCREMENTAL_DIVISOR genes are copied and the children
+	 * evaluated in full, which is cheaper than moving every gene
+	 */
+	int INCREMENTAL_DIVISOR = 4;
+
+	/**
+	 * Cross-breeds two parents into two children.
+	 * @param parent1 - first parent
+	 * @param parent2 - second parent
+	 * @param child1 - overwritten with the first child
+	 * @param child2 - overwritten with the second child
+	 * @param evaluator - fitness evaluator of the workload
+	 * @param rand - Random of the run
+	 */
+	void crossover(CompactChromosome parent1, CompactChromosome parent2, CompactChromosome child1,
+					CompactChromosome child2, FitnessEvaluator evaluator, Random rand);
+
+	/**
+	 * Crossover operators that can be set in a {@link GAConfig}.
+	 */
+	public enum Type {
+
+		/** {@link OnePointCrossover} */
+		ONE_POINT {
+			@Override
+			public CrossoverOperator create() {
+				return new OnePointCrossover();
+			}
+		},
+
+		/** {@link TwoPointCrossover} */
+		TWO_POINT {
+			@Override
+			public CrossoverOperator create() {
+				return new TwoPointCrossover();
+			}
+		},
+
+		/** {@link UniformCrossover} */
+		UNIFORM {
+			@Override
+			public CrossoverOperator create() {
+				return new UniformCrossover();
+			}
+		};
+
+		/**
+		 * Creates a new operator of this type, for a single engine.
+		 * @return crossover operator
+		 */
+		public abstract CrossoverOperator create();
+	}
+}
@@ -0,0 +1,118 @@
+package geneticalgo;
+
+import java.util.SplittableRandom;
+
+/**
+ * Distribution of a parameter of a generated scenario, such as cloudlet lengths or vm mips.
+ * The distributions used by {@link ScenarioConfig} are nested in this interface.
+ */
+public interface Distribution {
+
+	/**
+	 * Draws a value.
+	 * @param rand - random stream of the calling thread
+	 * @return value
+	 */
+	double sample(SplittableRandom rand);
+
+	/**
+	 * Always the same value.
+	 */
+	public static class Constant implements Distribution {
+
+		private final double value;
+
+		/**
+		 * @param value - the value
+		 */
+		public Constant(double value) {
+			this.value = value;
+		}
+
+		@Override
+		public double sample(SplittableRandom rand) {
+			return value;
+		}
+	}
+
+	/**
+	 * Uniform between min, included, and max, excluded.
+	 */
+	public static class Uniform implements Distribution {
+
+		private final double min;
+
+		private final double max;
+
+		/**
+		 * @param min - smallest value
+		 * @param max - bound of the values
+		 */
+		public Uniform(double min, double max) {
+			this.min = min;
+			this.max = max;
+		}
+
+		@Override
+		public double sample(SplittableRandom rand) {
+			return min + (max - min) * rand.nextDouble();
+		}
+	}
+
+	/**
+	 * Heavy-tailed Pareto distribution: values from scale upwards, with a tail that gets heavier
+	 * as shape decreases. Values are capped at max.
+	 */
+	public static class Pareto implements Distribution {
+
+		private final double scale;
+
+		private final double inverseShape;
+
+		private final double max;
+
+		/**
+		 * @param scale - smallest value
+		 * @param shape - tail index, typically between 1 and 3
+		 * @param max - largest value
+		 */
+		public Pareto(double scale, double shape, double max) {
+			this.scale = scale;
+			this.inverseShape = 1.0 / shape;
+			this.max = max;
+		}
+
+		@Override
+		public double sample(SplittableRandom rand) {
+			return Math.min(max, scale / Math.pow(1.0 - rand.nextDouble(), inverseShape));
+		}
+	}
+
+	/**
+	 * Mix of two distributions: the second with probability highProbability, else the first.
+	 */
+	public static class Bimodal implements Distribution {
+
+		private final Distribution low;
+
+		private final Distribution high;
+
+		private final double highProbability;
+
+		/**
+		 * @param low - distribution of the first mode
+		 * @param high - distribution of the second mode
+		 * @param highProbability - probability of the second mode
+		 */
+		public Bimodal(Distribution low, Distribution high, double highProbability) {
+			this.low = low;
+			this.high = high;
+			this.highProbability = highProbability;
+		}
+
+		@Override
+		public double sample(SplittableRandom rand) {
+			return rand.nextDouble() < highProbability ? high.sample(rand) : low.sample(rand);
+		}
+	}
+}
@@ -0,0 +1,166 @@
+package geneticalgo;
+
+/**
+ * Expected time to compute (ETC) of every Cloudlet on every Vm of a {@link Workload}.
+ * The times are computed once per workload, so fitness functions and heuristics do not call
+ * Cloudlet.getCloudletLength() and Vm.getMips() nor divide for every gene they score.
+ *
+ * When tasks x vms fits in maxCells the times are stored row by row in a flat array.
+ * Larger workloads keep the factored form, the cloudlet lengths and the reciprocal of the
+ * vm mips, and multiply them on access.
+ */
+public final class EtcMatrix {
+
+	/** Default largest number of cells stored in the flat array, 2 MB of doubles so that it stays in cache */
+	public static final int DEFAULT_MAX_CELLS = 1 << 18;
+
+	/** Number of cloudlets */
+	private final int numCloudlets;
+
+	/** Number of vms */
+	private final int numVms;
+
+	/** Length of every cloudlet, indexed by gene position */
+	private final double[] lengths;
+
+	/** Reciprocal of the mips of every vm, indexed by vm index */
+	private final double[] inverseMips;
+
+	/** Time after which every vm is free, the initial completion time of a schedule */
+	private final double[] readyTimes;
+
+	/** Number of PEs requested by every cloudlet, indexed by gene position */
+	private final int[] cloudletPes;
+
+	/** Number of PEs of every vm, indexed by vm index */
+	private final int[] vmPes;
+
+	/** Time of cloudlet i on vm k at i * numVms + k, null in factored form */
+	private final double[] times;
+
+	/**
+	 * Create a new EtcMatrix.
+	 * @param workload - sorted Cloudlets and Vms
+	 * @param maxCells - largest number of cells stored in the flat array
+	 */
+	public EtcMatrix(Workload workload, long maxCells) {
+		this.numCloudlets = workload.getNumCloudlets();
+		this.numVms = workload.getNumVms();
+
+		this.lengths = new double[numCloudlets];
+		this.cloudletPes = new int[numCloudlets];
+		for(int i = 0; i < numCloudlets; i++){
+			lengths[i] = workload.getCloudlet(i).getCloudletLength();
+			cloudletPes[i] = Math.max(1, workload.getCloudlet(i).getNumberOfPes());
+		}
+
+		this.inverseMips = new double[numVms];
+		this.vmPes = new int[numVms];
+		for(int k = 0; k < numVms; k++){
+			inverseMips[k] = 1.0 / workload.getVm(k).getMips();
+			vmPes[k] = Math.max(1, workload.getVm(k).getNumberOfPes());
+		}
+
+		this.readyTimes = new double[numVms];
+		for(int k = 0; k < numVms; k++)
+			readyTimes[k] = workload.getVmReadyTime(k);
+
+		if((long) numCloudlets * numVms <= Math.min(maxCells, Integer.MAX_VALUE)){
+			times = new double[numCloudlets * numVms];
+			for(int i = 0, cell = 0; i < numCloudlets; i++)
+				for(int k = 0; k < numVms; k++, cell++)
+					times[cell] = lengths[i] * inverseMips[k];
+		} else {
+			times = null;
+		}
+	}
+
+	/**
+	 * Time taken by a cloudlet to process on a vm.
+	 * @param cloudlet - gene position of the cloudlet
+	 * @param vm - vm index
+	 * @return expected time to compute
+	 */
+	public double time(int cloudlet, int vm) {
+		if(times != null)
+			return times[cloudlet * numVms + vm];
+		return lengths[cloudlet] * inverseMips[vm];
+	}
+
+	/**
+	 * Resets per-vm completion times to the ready times, where every schedule starts from.
+	 * @param loads - completion time of every vm
+	 */
+	void resetLoads(double[] loads) {
+		System.arraycopy(readyTimes, 0, loads, 0, numVms);
+	}
+
+	/**
+	 * Getter method for the time after which a vm is free.
+	 * @param vm - vm index
+	 * @return ready time
+	 */
+	public double getReadyTime(int vm) {
+		return readyTimes[vm];
+	}
+
+	/**
+	 * Whether the times are stored in a flat array.
+	 * @return false if the times are computed on access
+	 */
+	public boolean isMaterialized() {
+		return times != null;
+	}
+
+	/**
+	 * Getter method for length of a cloudlet.
+	 * @param cloudlet - gene position of the cloudlet
+	 * @return length in million instructions
+	 */
+	public double getLength(int cloudlet) {
+		return lengths[cloudlet];
+	}
+
+	/**
+	 * Getter method for reciprocal of the mips of a vm.
+	 * @param vm - vm index
+	 * @return 1 / mips
+	 */
+	public double getInverseMips(int vm) {
+		return inverseMips[vm];
+	}
+
+	/**
+	 * Getter method for number of PEs requested by a cloudlet.
+	 * @param cloudlet - gene position of the cloudlet
+	 * @return pes, at least 1
+	 */
+	public int getCloudletPes(int cloudlet) {
+		return cloudletPes[cloudlet];
+	}
+
+	/**
+	 * Getter method for number of PEs of a vm.
+	 * @param vm - vm index
+	 * @return pes, at least 1
+	 */
+	public int getVmPes(int vm) {
+		return vmPes[vm];
+	}
+
+	/**
+	 * Getter method for number of cloudlets.
+	 * @return number of cloudlets
+	 */
+	public int getNumCloudlets() {
+		return numCloudlets;
+	}
+
+	/**
+	 * Getter method for number of vms.
+	 * @return number of vms
+	 */
+	public int getNumVms() {
+		return numVms;
+	}
+}
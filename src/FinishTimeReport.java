@@ -0,0 +1,184 @@
+package geneticalgo;
+
+import org.cloudbus.cloudsim.Cloudlet;
+
+/**
+ * Compares the finish time of every cloudlet predicted by a {@link FitnessModel} with the finish
+ * time reported by CloudSim once the schedule has been simulated.
+ *
+ * The model predicts times from the dispatch of the schedule, while the simulation dispatches
+ * the cloudlets once the vms are created. Predictions are therefore shifted by the dispatch time,
+ * the earliest start of a cloudlet in the simulation. Cloudlets that did not complete are
+ * left out of the errors.
+ */
+public class FinishTimeReport {
+
+	/** Model of the predictions */
+	private final FitnessModel model;
+
+	/** Cloudlet of every gene position */
+	private final Cloudlet[] cloudlets;
+
+	/** Predicted finish time of every cloudlet, shifted by the dispatch time */
+	private final double[] predicted;
+
+	/** Simulated finish time of every cloudlet, NaN if it did not complete */
+	private final double[] simulated;
+
+	/** Simulation time at which the first cloudlet started */
+	private final double dispatchTime;
+
+	/** Mean absolute difference between predicted and simulated finish times */
+	private final double meanAbsoluteError;
+
+	/** Largest absolute difference between predicted and simulated finish times */
+	private final double maxAbsoluteError;
+
+	/** Latest predicted finish time */
+	private final double predictedMakespan;
+
+	/** Latest simulated finish time */
+	private final double simulatedMakespan;
+
+	/** Number of cloudlets that completed */
+	private final int completed;
+
+	/**
+	 * Create a new FinishTimeReport, once the simulation is over.
+	 * @param workload - sorted Cloudlets and Vms of the schedule
+	 * @param genes - the schedule, vm index of every gene
+	 * @param model - model of the predictions
+	 */
+	public FinishTimeReport(Workload workload, int[] genes, FitnessModel model) {
+		this.model = model;
+		int n = workload.getNumCloudlets();
+		this.cloudlets = new Cloudlet[n];
+		this.predicted = new FitnessEvaluator(workload, FitnessEvaluator.NO_TOTAL_TIME, model).finishTimes(genes);
+		this.simulated = new double[n];
+
+		double dispatch = Double.POSITIVE_INFINITY;
+		int count = 0;
+		for(int i = 0; i < n; i++){
+			cloudlets[i] = workload.getCloudlet(i);
+			if(cloudlets[i].getCloudletStatus() == Cloudlet.SUCCESS){
+				simulated[i] = cloudlets[i].getFinishTime();
+				dispatch = Math.min(dispatch, cloudlets[i].getExecStartTime());
+				count++;
+			} else {
+				simulated[i] = Double.NaN;
+			}
+		}
+		this.completed = count;
+		this.dispatchTime = count > 0 ? dispatch : 0;
+
+		double sum = 0;
+		double max = 0;
+		double predictedMax = 0;
+		double simulatedMax = 0;
+		for(int i = 0; i < n; i++){
+			predicted[i] += dispatchTime;
+			predictedMax = Math.max(predictedMax, predicted[i]);
+			if(!Double.isNaN(simulated[i])){
+				double error = Math.abs(predicted[i] - simulated[i]);
+				sum += error;
+				max = Math.max(max, error);
+				simulatedMax = Math.max(simulatedMax, simulated[i]);
+			}
+		}
+		this.meanAbsoluteError = count > 0 ? sum / count : 0;
+		this.maxAbsoluteError = max;
+		this.predictedMakespan = predictedMax;
+		this.simulatedMakespan = simulatedMax;
+	}
+
+	/**
+	 * Getter method for model of the predictions.
+	 * @return fitness model
+	 */
+	public FitnessModel getModel() {
+		return model;
+	}
+
+	/**
+	 * Getter method for number of cloudlets.
+	 * @return cloudlets
+	 */
+	public int size() {
+		return cloudlets.length;
+	}
+
+	/**
+	 * Getter method for a cloudlet of the schedule.
+	 * @param index - gene position
+	 * @return cloudlet
+	 */
+	public Cloudlet getCloudlet(int index) {
+		return cloudlets[index];
+	}
+
+	/**
+	 * Getter method for predicted finish time of a cloudlet, shifted by the dispatch time.
+	 * @param index - gene position
+	 * @return simulation time
+	 */
+	public double getPredictedFinishTime(int index) {
+		return predicted[index];
+	}
+
+	/**
+	 * Getter method for simulated finish time of a cloudlet.
+	 * @param index - gene position
+	 * @return simulation time, NaN if the cloudlet did not complete
+	 */
+	public double getSimulatedFinishTime(int index) {
+		return simulated[index];
+	}
+
+	/**
+	 * Getter method for simulation time at which the first cloudlet started.
+	 * @return dispatch time
+	 */
+	public double getDispatchTime() {
+		return dispatchTime;
+	}
+
+	/**
+	 * Getter method for mean absolute difference between predicted and simulated finish times.
+	 * @return mean absolute error
+	 */
+	public double getMeanAbsoluteError() {
+		return meanAbsoluteError;
+	}
+
+	/**
+	 * Getter method for largest absolute difference between predicted and simulated finish times.
+	 * @return max absolute error
+	 */
+	public double getMaxAbsoluteError() {
+		return maxAbsoluteError;
+	}
+
+	/**
+	 * Getter method for latest predicted finish time.
+	 * @return predicted makespan, including the dispatch time
+	 */
+	public double getPredictedMakespan() {
+		return predictedMakespan;
+	}
+
+	/**
+	 * Getter method for latest simulated finish time.
+	 * @return simulated makespan
+	 */
+	public double getSimulatedMakespan() {
+		return simulatedMakespan;
+	}
+
+	/**
+	 * Getter method for number of cloudlets that completed.
+	 * @return completed cloudlets
+	 */
+	public int getCompleted() {
+		return completed;
+	}
+}
@@ -0,0 +1,274 @@
+package geneticalgo;
+
+/**
+ * Scores compact chromosomes by makespan.
+ * Every evaluation accumulates the completion time of each Vm in a single pass over the genes
+ * and returns the largest one. Vms start from the ready times of the workload, so a schedule
+ * can be scored on top of earlier work. The total time taken by all Cloudlets can be added as a
+ * secondary term, weighted by totalTimeWeight.
+ *
+ * Times are read from the {@link EtcMatrix} of the workload, and the per-Vm
+ * accumulators are reused, so an evaluation does not allocate. Raw gene arrays are scored
+ * in a shared accumulator, so {@link #evaluate(int[])} must not be called from several
+ * threads at once. Compact chromosomes keep their own accumulators, which are then updated
+ * incrementally by {@link #moveGene(CompactChromosome, int, int)}; distinct chromosomes can
+ * therefore be evaluated concurrently.
+ *
+ * With the SPACE_SHARED {@link FitnessModel}, vm completion times come from a
+ * {@link SpaceSharedModel} instead, which depends on the order of the genes. Moving a gene then
+ * replays the queues of the two affected vms, in one pass over the genes, so the cached loads
+ * stay exact. Operators that move many genes at once should evaluate in full instead, see
+ * {@link #isIncremental()}.
+ */
+public class FitnessEvaluator {
+
+	/** Weight of total time when it is not used */
+	public static final double NO_TOTAL_TIME = 0.0;
+
+	/** Expected time to compute of every cloudlet on every vm */
+	private final EtcMatrix etc;
+
+	/** Completion time of every vm for the chromosome being evaluated */
+	private final double[] vmLoads;
+
+	/** Weight of total time in the fitness */
+	private final double totalTimeWeight;
+
+	/** How completion times are predicted */
+	private final FitnessModel model;
+
+	/** Queueing model of the vms, null with the ETC model */
+	private final SpaceSharedModel spaceShared;
+
+	/** Makespan of the last evaluated chromosome */
+	private double lastMakespan;
+
+	/** Total time of the last evaluated chromosome */
+	private double lastTotalTime;
+
+	/**
+	 * Create a new FitnessEvaluator that scores by makespan only.
+	 * @param workload - sorted Cloudlets and Vms
+	 */
+	public FitnessEvaluator(Workload workload) {
+		this(workload, NO_TOTAL_TIME);
+	}
+
+	/**
+	 * Create a new FitnessEvaluator.
+	 * @param workload - sorted Cloudlets and Vms
+	 * @param totalTimeWeight - weight of total time added to the makespan
+	 */
+	public FitnessEvaluator(Workload workload, double totalTimeWeight) {
+		this(workload, totalTimeWeight, FitnessModel.ETC);
+	}
+
+	/**
+	 * Create a new FitnessEvaluator.
+	 * @param workload - sorted Cloudlets and Vms
+	 * @param totalTimeWeight - weight of total time added to the makespan
+	 * @param model - how completion times are predicted
+	 */
+	public FitnessEvaluator(Workload workload, double totalTimeWeight, FitnessModel model) {
+		this.etc = workload.getEtcMatrix();
+		this.vmLoads = new double[workload.getNumVms()];
+		this.totalTimeWeight = totalTimeWeight;
+		this.model = model;
+		this.spaceShared = model == FitnessModel.SPACE_SHARED ? new SpaceSharedModel(etc) : null;
+	}
+
+	/**
+	 * Calculates the fitness of a gene array. Lower is fitter.
+	 * @param genes - vm index of every gene
+	 * @return makespan + totalTimeWeight * total time
+	 */
+	public double evaluate(int[] genes) {
+		double[] loads = vmLoads;
+		double total = accumulate(genes, loads);
+
+		double makespan = max(loads);
+
+		lastMakespan = makespan;
+		lastTotalTime = total;
+		return makespan + totalTimeWeight * total;
+	}
+
+	/**
+	 * Calculates the fitness of a compact chromosome and caches it, together with the
+	 * completion time of every vm, in the chromosome.
+	 * @param chromosome - compact chromosome
+	 * @return fitness, lower is fitter
+	 */
+	public double evaluate(CompactChromosome chromosome) {
+		double[] loads = chromosome.vmLoads;
+		if(loads == null){
+			loads = new double[etc.getNumVms()];
+			chromosome.vmLoads = loads;
+		}
+		double total = accumulate(chromosome.getGenes(), loads);
+
+		chromosome.totalTime = total;
+		chromosome.makespan = max(loads);
+		chromosome.fitness = chromosome.makespan + totalTimeWeight * total;
+		chromosome.evaluated = true;
+		return chromosome.fitness;
+	}
+
+	/**
+	 * Computes the completion time of every vm from the genes.
+	 * @param genes - vm index of every gene
+	 * @param loads - overwritten with the completion time of every vm
+	 * @return total time taken by all the cloudlets
+	 */
+	private double accumulate(int[] genes, double[] loads) {
+		if(spaceShared != null)
+			return spaceShared.evaluate(genes, loads, null);
+
+		etc.resetLoads(loads);
+		double total = 0;
+		for(int i = 0; i < genes.length; i++){
+			int vm = genes[i];
+			double t = etc.time(i, vm);
+			loads[vm] += t;
+			total += t;
+		}
+		return total;
+	}
+
+	/**
+	 * Predicts the finish time of every cloudlet of a schedule, relative to its dispatch.
+	 * With the ETC model, a vm runs its cloudlets one after another in gene order.
+	 * @param genes - vm index of every gene
+	 * @return finish time of every cloudlet, indexed by gene position
+	 */
+	public double[] finishTimes(int[] genes) {
+		double[] finishTimes = new double[genes.length];
+		double[] loads = new double[etc.getNumVms()];
+		if(spaceShared != null){
+			spaceShared.evaluate(genes, loads, finishTimes);
+		} else {
+			etc.resetLoads(loads);
+			for(int i = 0; i < genes.length; i++){
+				loads[genes[i]] += etc.time(i, genes[i]);
+				finishTimes[i] = loads[genes[i]];
+			}
+		}
+		return finishTimes;
+	}
+
+	/**
+	 * Returns the cached fitness of a chromosome, evaluating it first if it is not up to date.
+	 * @param chromosome - compact chromosome
+	 * @return fitness, lower is fitter
+	 */
+	public double fitnessOf(CompactChromosome chromosome) {
+		if(chromosome.evaluated)
+			return chromosome.fitness;
+		return evaluate(chromosome);
+	}
+
+	/**
+	 * Moves the cloudlet of a gene to another vm and updates the cached fitness of the chromosome
+	 * from the two affected vm loads. With the ETC model the loads change by the time of the
+	 * cloudlet, and are only rescanned when the most loaded vm loses the cloudlet; with the
+	 * SPACE_SHARED model the queues of the two vms are replayed. Chromosomes that were never
+	 * evaluated only have their gene updated.
+	 * 
+	 * @param chromosome - compact chromosome
+	 * @param index - gene position
+	 * @param vmIndex - index of the new vm
+	 */
+	public void moveGene(CompactChromosome chromosome, int index, int vmIndex) {
+		int[] genes = chromosome.getGenes();
+		int oldVm = genes[index];
+		if(oldVm == vmIndex)
+			return;
+		genes[index] = vmIndex;
+		if(!chromosome.evaluated)
+			return;
+
+		double[] loads = chromosome.vmLoads;
+		double oldTime = etc.time(index, oldVm);
+		double newTime = etc.time(index, vmIndex);
+		chromosome.totalTime += newTime - oldTime;
+
+		if(spaceShared != null){
+			spaceShared.replay(genes, oldVm, vmIndex, loads);
+			chromosome.makespan = max(loads);
+		} else {
+			boolean wasCritical = loads[oldVm] >= chromosome.makespan;
+			loads[oldVm] -= oldTime;
+			loads[vmIndex] += newTime;
+
+			if(loads[vmIndex] >= chromosome.makespan)
+				chromosome.makespan = loads[vmIndex];
+			else if(wasCritical)
+				chromosome.makespan = max(loads);
+		}
+
+		chromosome.fitness = chromosome.makespan + totalTimeWeight * chromosome.totalTime;
+	}
+
+	/**
+	 * Whether {@link #moveGene(CompactChromosome, int, int)} re-scores a chromosome in constant
+	 * time. With the SPACE_SHARED model a move replays two vm queues, a pass over the genes, so an
+	 * operator moving many genes is better off evaluating the result in full.
+	 * @return true with the ETC model
+	 */
+	public boolean isIncremental() {
+		return spaceShared == null;
+	}
+
+	/**
+	 * Largest value of an array of loads.
+	 * @param loads - completion time of every vm
+	 * @return largest load
+	 */
+	private static double max(double[] loads) {
+		double makespan = 0;
+		for(int k = 0; k < loads.length; k++)
+			if(loads[k] > makespan)
+				makespan = loads[k];
+		return makespan;
+	}
+
+	/**
+	 * Getter method for the makespan of the last evaluated chromosome.
+	 * @return makespan
+	 */
+	public double getLastMakespan() {
+		return lastMakespan;
+	}
+
+	/**
+	 * Getter method for the total time of the last evaluated chromosome.
+	 * @return total time
+	 */
+	public double getLastTotalTime() {
+		return lastTotalTime;
+	}
+
+	/**
+	 * Getter method for the expected time to compute matrix read by this evaluator.
+	 * @return EtcMatrix of the workload
+	 */
+	public EtcMatrix getEtcMatrix() {
+		return etc;
+	}
+
+	/**
+	 * Getter method for how completion times are predicted.
+	 * @return fitness model
+	 */
+	public FitnessModel getModel() {
+		return model;
+	}
+
+	/**
+	 * Getter method for weight of total time.
+	 * @return weight
+	 */
+	public double getTotalTimeWeight() {
+		return totalTimeWeight;
+	}
+}
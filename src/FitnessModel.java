@@ -0,0 +1,23 @@
+package geneticalgo;
+
+/**
+ * How a {@link FitnessEvaluator} predicts the completion time of a schedule.
+ */
+public enum FitnessModel {
+
+	/**
+	 * A vm runs its cloudlets one after another, so its completion time is the sum of their
+	 * expected times to compute. Moving a gene re-scores a chromosome from the two affected
+	 * vms. The PEs of the vms are ignored, so the times are an upper bound of the simulated ones.
+	 */
+	ETC,
+
+	/**
+	 * Replicates CloudletSchedulerSpaceShared: a vm runs as many cloudlets at once as it has
+	 * PEs, each cloudlet on the PEs it requests at the mips of a PE, and starts the others in
+	 * submission order as PEs free up. See {@link SpaceSharedModel}. Moving a gene replays the
+	 * queues of the two affected vms, a pass over the genes, so operators changing many genes
+	 * re-score their chromosomes in full.
+	 */
+	SPACE_SHARED
+}
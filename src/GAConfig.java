@@ -0,0 +1,404 @@
+package geneticalgo;
+
+/**
+ * Parameters of a Genetic Algorithm run, passed to a {@link GAEngine}.
+ * Population size and number of generations are independent of the number of cloudlets,
+ * so the running time of the algorithm stays bounded for large workloads.
+ * Provides setter and getter methods for every parameter.
+ */
+public class GAConfig {
+
+	/** Value of stagnationLimit and of targetFitness when they are not used */
+	public static final int DISABLED = -1;
+
+	/** Number of chromosomes in the population */
+	private int populationSize = 100;
+
+	/** Maximum number of generations */
+	private int maxGenerations = 1000;
+
+	/** Number of generations without improvement after which the run stops */
+	private int stagnationLimit = DISABLED;
+
+	/** Fitness at or below which the run stops */
+	private double targetFitness = DISABLED;
+
+	/** Number of most fit chromosomes copied unchanged into the next generation */
+	private int eliteCount = 1;
+
+	/** Probability that two selected parents are cross-breeded instead of copied */
+	private double crossoverProbability = 0.9;
+
+	/** Probability that a child is mutated */
+	private double mutationProbability = 0.5;
+
+	/** Weight of total time added to the makespan in the fitness */
+	private double totalTimeWeight = FitnessEvaluator.NO_TOTAL_TIME;
+
+	/** How the fitness predicts completion times */
+	private FitnessModel fitnessModel = FitnessModel.ETC;
+
+	/** Operator picking the parents of the next generation */
+	private SelectionOperator.Type selection = SelectionOperator.Type.TOURNAMENT;
+
+	/** Operator breeding the children of the next generation */
+	private CrossoverOperator.Type crossover = CrossoverOperator.Type.ONE_POINT;
+
+	/** Whether the initial population is seeded with list-scheduling heuristics */
+	private boolean heuristicSeeding = false;
+
+	/** Largest fraction of genes moved at random in the copies of the heuristic schedules */
+	private double seedPerturbation = 0.1;
+
+	/** Number of threads used to evaluate the population */
+	private int parallelism = 1;
+
+	/** Number of islands of an {@link IslandModel} run, 1 for a single population */
+	private int islands = 1;
+
+	/** Number of generations between two migrations of an island model */
+	private int migrationInterval = 20;
+
+	/** Number of chromosomes sent by an island to each neighbour */
+	private int migrants = 2;
+
+	/** Which islands receive the migrants of an island */
+	private IslandModel.Topology migrationTopology = IslandModel.Topology.RING;
+
+	/** Seed of the Random of the run */
+	private long seed = System.nanoTime();
+
+	/**
+	 * Getter method for number of chromosomes in the population.
+	 * @return population size
+	 */
+	public int getPopulationSize() {
+		return populationSize;
+	}
+
+	/**
+	 * Setter method for number of chromosomes in the population.
+	 * @param populationSize - at least 2
+	 */
+	public void setPopulationSize(int populationSize) {
+		if(populationSize < 2)
+			throw new IllegalArgumentException("Population size must be at least 2");
+		this.populationSize = populationSize;
+	}
+
+	/**
+	 * Getter method for maximum number of generations.
+	 * @return max generations
+	 */
+	public int getMaxGenerations() {
+		return maxGenerations;
+	}
+
+	/**
+	 * Setter method for maximum number of generations.
+	 * @param maxGenerations - max generations
+	 */
+	public void setMaxGenerations(int maxGenerations) {
+		this.maxGenerations = maxGenerations;
+	}
+
+	/**
+	 * Getter method for number of generations without improvement after which the run stops.
+	 * @return stagnation limit, {@link #DISABLED} if not used
+	 */
+	public int getStagnationLimit() {
+		return stagnationLimit;
+	}
+
+	/**
+	 * Setter method for number of generations without improvement after which the run stops.
+	 * @param stagnationLimit - stagnation limit, {@link #DISABLED} if not used
+	 */
+	public void setStagnationLimit(int stagnationLimit) {
+		this.stagnationLimit = stagnationLimit;
+	}
+
+	/**
+	 * Getter method for fitness at or below which the run stops.
+	 * @return target fitness, {@link #DISABLED} if not used
+	 */
+	public double getTargetFitness() {
+		return targetFitness;
+	}
+
+	/**
+	 * Setter method for fitness at or below which the run stops.
+	 * @param targetFitness - target fitness, {@link #DISABLED} if not used
+	 */
+	public void setTargetFitness(double targetFitness) {
+		this.targetFitness = targetFitness;
+	}
+
+	/**
+	 * Getter method for number of most fit chromosomes copied unchanged into the next generation.
+	 * @return elite count
+	 */
+	public int getEliteCount() {
+		return eliteCount;
+	}
+
+	/**
+	 * Setter method for number of most fit chromosomes copied unchanged into the next generation.
+	 * @param eliteCount - elite count, 0 for no elitism
+	 */
+	public void setEliteCount(int eliteCount) {
+		this.eliteCount = Math.max(0, eliteCount);
+	}
+
+	/**
+	 * Getter method for probability that two selected parents are cross-breeded.
+	 * @return crossover probability
+	 */
+	public double getCrossoverProbability() {
+		return crossoverProbability;
+	}
+
+	/**
+	 * Setter method for probability that two selected parents are cross-breeded.
+	 * @param crossoverProbability - crossover probability
+	 */
+	public void setCrossoverProbability(double crossoverProbability) {
+		this.crossoverProbability = crossoverProbability;
+	}
+
+	/**
+	 * Getter method for probability that a child is mutated.
+	 * @return mutation probability
+	 */
+	public double getMutationProbability() {
+		return mutationProbability;
+	}
+
+	/**
+	 * Setter method for probability that a child is mutated.
+	 * @param mutationProbability - mutation probability
+	 */
+	public void setMutationProbability(double mutationProbability) {
+		this.mutationProbability = mutationProbability;
+	}
+
+	/**
+	 * Getter method for weight of total time in the fitness.
+	 * @return weight
+	 */
+	public double getTotalTimeWeight() {
+		return totalTimeWeight;
+	}
+
+	/**
+	 * Setter method for weight of total time in the fitness.
+	 * @param totalTimeWeight - weight
+	 */
+	public void setTotalTimeWeight(double totalTimeWeight) {
+		this.totalTimeWeight = totalTimeWeight;
+	}
+
+	/**
+	 * Getter method for how the fitness predicts completion times.
+	 * @return fitness model
+	 */
+	public FitnessModel getFitnessModel() {
+		return fitnessModel;
+	}
+
+	/**
+	 * Setter method for how the fitness predicts completion times.
+	 * @param fitnessModel - ETC, or SPACE_SHARED to replicate the PEs of space-shared vms
+	 */
+	public void setFitnessModel(FitnessModel fitnessModel) {
+		this.fitnessModel = fitnessModel;
+	}
+
+	/**
+	 * Getter method for the operator picking the parents of the next generation.
+	 * @return selection operator type
+	 */
+	public SelectionOperator.Type getSelection() {
+		return selection;
+	}
+
+	/**
+	 * Setter method for the operator picking the parents of the next generation.
+	 * @param selection - TOURNAMENT or ROULETTE
+	 */
+	public void setSelection(SelectionOperator.Type selection) {
+		this.selection = selection;
+	}
+
+	/**
+	 * Getter method for the operator breeding the children of the next generation.
+	 * @return crossover operator type
+	 */
+	public CrossoverOperator.Type getCrossover() {
+		return crossover;
+	}
+
+	/**
+	 * Setter method for the operator breeding the children of the next generation.
+	 * @param crossover - ONE_POINT, TWO_POINT or UNIFORM
+	 */
+	public void setCrossover(CrossoverOperator.Type crossover) {
+		this.crossover = crossover;
+	}
+
+	/**
+	 * Whether the initial population is seeded with list-scheduling heuristics.
+	 * @return true if seeded
+	 */
+	public boolean isHeuristicSeeding() {
+		return heuristicSeeding;
+	}
+
+	/**
+	 * Setter method for seeding the initial population with list-scheduling heuristics.
+	 * @param heuristicSeeding - true to seed with {@link HeuristicSeeder}
+	 */
+	public void setHeuristicSeeding(boolean heuristicSeeding) {
+		this.heuristicSeeding = heuristicSeeding;
+	}
+
+	/**
+	 * Getter method for largest fraction of genes moved in the copies of the heuristic schedules.
+	 * @return seed perturbation
+	 */
+	public double getSeedPerturbation() {
+		return seedPerturbation;
+	}
+
+	/**
+	 * Setter method for largest fraction of genes moved in the copies of the heuristic schedules.
+	 * @param seedPerturbation - fraction between 0 and 1
+	 */
+	public void setSeedPerturbation(double seedPerturbation) {
+		this.seedPerturbation = seedPerturbation;
+	}
+
+	/**
+	 * Getter method for number of threads used to evaluate the population.
+	 * @return parallelism
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Setter method for number of threads used to evaluate the population.
+	 * @param parallelism - 1 for sequential evaluation
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = Math.max(1, parallelism);
+	}
+
+	/**
+	 * Getter method for number of islands of an island model run.
+	 * @return islands
+	 */
+	public int getIslands() {
+		return islands;
+	}
+
+	/**
+	 * Setter method for number of islands of an island model run.
+	 * @param islands - more than 1 to run an {@link IslandModel}, whose islands each have populationSize chromosomes
+	 */
+	public void setIslands(int islands) {
+		this.islands = Math.max(1, islands);
+	}
+
+	/**
+	 * Getter method for number of generations between two migrations.
+	 * @return migration interval
+	 */
+	public int getMigrationInterval() {
+		return migrationInterval;
+	}
+
+	/**
+	 * Setter method for number of generations between two migrations.
+	 * @param migrationInterval - generations
+	 */
+	public void setMigrationInterval(int migrationInterval) {
+		this.migrationInterval = Math.max(1, migrationInterval);
+	}
+
+	/**
+	 * Getter method for number of chromosomes sent by an island to each neighbour.
+	 * @return migrants
+	 */
+	public int getMigrants() {
+		return migrants;
+	}
+
+	/**
+	 * Setter method for number of chromosomes sent by an island to each neighbour.
+	 * @param migrants - chromosomes, 0 for isolated islands
+	 */
+	public void setMigrants(int migrants) {
+		this.migrants = Math.max(0, migrants);
+	}
+
+	/**
+	 * Getter method for which islands receive the migrants of an island.
+	 * @return topology
+	 */
+	public IslandModel.Topology getMigrationTopology() {
+		return migrationTopology;
+	}
+
+	/**
+	 * Setter method for which islands receive the migrants of an island.
+	 * @param migrationTopology - RING or FULLY_CONNECTED
+	 */
+	public void setMigrationTopology(IslandModel.Topology migrationTopology) {
+		this.migrationTopology = migrationTopology;
+	}
+
+	/**
+	 * Getter method for seed of the Random of the run.
+	 * @return seed
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Setter method for seed of the Random of the run.
+	 * @param seed - seed
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+
+	/**
+	 * Creates a copy of this config.
+	 * @return a new GAConfig with the same parameters
+	 */
+	public GAConfig copy() {
+		GAConfig copy = new GAConfig();
+		copy.populationSize = populationSize;
+		copy.maxGenerations = maxGenerations;
+		copy.stagnationLimit = stagnationLimit;
+		copy.targetFitness = targetFitness;
+		copy.eliteCount = eliteCount;
+		copy.crossoverProbability = crossoverProbability;
+		copy.mutationProbability = mutationProbability;
+		copy.totalTimeWeight = totalTimeWeight;
+		copy.fitnessModel = fitnessModel;
+		copy.selection = selection;
+		copy.crossover = crossover;
+		copy.heuristicSeeding = heuristicSeeding;
+		copy.seedPerturbation = seedPerturbation;
+		copy.parallelism = parallelism;
+		copy.islands = islands;
+		copy.migrationInterval = migrationInterval;
+		copy.migrants = migrants;
+		copy.migrationTopology = migrationTopology;
+		copy.seed = seed;
+		return copy;
+	}
+}
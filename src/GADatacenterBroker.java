@@ -1,10 +1,15 @@
 package geneticalgo;
 
+import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.cloudbus.cloudsim.Cloudlet;
 import org.cloudbus.cloudsim.DatacenterCharacteristics;
@@ -14,10 +19,14 @@ import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.core.CloudSimTags;
 import org.cloudbus.cloudsim.core.SimEntity;
 import org.cloudbus.cloudsim.core.SimEvent;
-import org.cloudbus.cloudsim.lists.CloudletList;
-import org.cloudbus.cloudsim.lists.VmList;
 
 public class GADatacenterBroker extends SimEntity{
+	/** Tag of the event of a cloudlet arrival in online mode. */
+	public static final int CLOUDLET_ARRIVAL = 50001;
+
+	/** Tag of the event that closes a window by time in online mode. */
+	public static final int WINDOW_TIMEOUT = 50002;
+
 	/** The vm list. */
 	protected List<? extends Vm> vmList;
 
@@ -57,6 +66,66 @@ public class GADatacenterBroker extends SimEntity{
 	/** The datacenter characteristics list. */
 	protected Map<Integer, DatacenterCharacteristics> datacenterCharacteristicsList;
 
+	/** The vm list indexed by vm id, kept up to date by the methods that change the list. */
+	protected Map<Integer, Vm> vmsById;
+
+	/** The vms created list indexed by vm id. */
+	protected Map<Integer, Vm> vmsCreatedById;
+
+	/** The cloudlet list indexed by cloudlet id, kept up to date by the methods that change the list. */
+	protected Map<Integer, Cloudlet> cloudletsById;
+
+	/** The ids of the cloudlet submitted list. */
+	protected Set<Integer> cloudletSubmittedIds;
+
+	/** The ids of the cloudlet received list. */
+	protected Set<Integer> cloudletReceivedIds;
+
+	/** The maximum number of cloudlets in flight per vm, 0 for no limit. */
+	protected int maxInFlightPerVm;
+
+	/** The queues of cloudlets held back by the in-flight limit, by vm id. */
+	protected Map<Integer, VmQueue> vmQueues;
+
+	/** The cloudlets held back in vm queues. */
+	protected int cloudletsQueued;
+
+	/** The event log. */
+	protected BrokerEventLog eventLog;
+
+	/** The live metrics, null without metrics. */
+	protected BrokerMetrics metrics;
+
+	/** The scheduler of the windows in online mode, null in batch mode. */
+	protected OnlineScheduler onlineScheduler;
+
+	/** The cloudlets arrived and not yet scheduled. */
+	protected List<Cloudlet> window;
+
+	/** The time of the first arrival of the current window. */
+	protected double windowOpenedAt;
+
+	/** The windows scheduled. */
+	protected int windowsScheduled;
+
+	/** The arrivals submitted before the simulation starts, with their times. */
+	protected List<Cloudlet> arrivalList;
+
+	/** The times of the arrivals submitted before the simulation starts. */
+	protected List<Double> arrivalTimes;
+
+	/** The arrival events scheduled and not yet processed. */
+	protected int arrivalsPending;
+
+	/** The source pulled for the next arrival, null when exhausted or not used. */
+	protected CloudletArrivalSource arrivalSource;
+
+	/** The predicted time at which every vm finishes the cloudlets dispatched to it, by vm id. */
+	protected Map<Integer, Double> vmReadyTimes;
+
+	/** The reports of the windows scheduled. */
+	protected List<WindowReport> windowReports;
+
 	/**
 	 * Created a new DatacenterBroker object.
 	 * 
@@ -84,6 +153,17 @@ public class GADatacenterBroker extends SimEntity{
 		setDatacenterRequestedIdsList(new ArrayList<Integer>());
 		setVmsToDatacentersMap(new HashMap<Integer, Integer>());
 		setDatacenterCharacteristicsList(new HashMap<Integer, DatacenterCharacteristics>());
+
+		vmsCreatedById = new HashMap<Integer, Vm>();
+		cloudletSubmittedIds = new HashSet<Integer>();
+		cloudletReceivedIds = new HashSet<Integer>();
+		vmQueues = new HashMap<Integer, VmQueue>();
+		eventLog = new BrokerEventLog(name, BrokerEventLog.DEFAULT_TEXT_LEVEL);
+		window = new ArrayList<Cloudlet>();
+		arrivalList = new ArrayList<Cloudlet>();
+		arrivalTimes = new ArrayList<Double>();
+		vmReadyTimes = new HashMap<Integer, Double>();
+		windowReports = new ArrayList<WindowReport>();
 	}
 
 	/**
@@ -96,6 +176,9 @@ public class GADatacenterBroker extends SimEntity{
 	 */
 	public void submitVmList(List<? extends Vm> list) {
 		getVmList().addAll(list);
+		for (Vm vm : list) {
+			vmsById.put(vm.getId(), vm);
+		}
 	}
 
 	/**
@@ -107,6 +190,77 @@ public class GADatacenterBroker extends SimEntity{
 	 */
 	public void submitCloudletList(List<? extends Cloudlet> list) {
 		getCloudletList().addAll(list);
+		for (Cloudlet cloudlet : list) {
+			cloudletsById.put(cloudlet.getCloudletId(), cloudlet);
+		}
+	}
+
+	/**
+	 * This method is used to send to the broker a schedule found by the Genetic Algorithm: the
+	 * i-th cloudlet must run on the i-th vm. Every cloudlet is bound to its vm, and every vm is
+	 * submitted once, however many cloudlets it runs.
+	 * 
+	 * @param cloudlets the cloudlets, in schedule order
+	 * @param vms the vm of every cloudlet
+	 * @pre cloudlets.size() == vms.size()
+	 * @post $none
+	 */
+	public void submitSchedule(List<? extends Cloudlet> cloudlets, List<? extends Vm> vms) {
+		if (cloudlets.size() != vms.size()) {
+			throw new IllegalArgumentException("A schedule needs one vm per cloudlet");
+		}
+
+		for (int i = 0; i < cloudlets.size(); i++) {
+			Vm vm = vms.get(i);
+			if (getVm(vm.getId()) == null) {
+				getVmList().add(vm);
+				vmsById.put(vm.getId(), vm);
+			}
+			cloudlets.get(i).setVmId(vm.getId());
+		}
+
+		submitCloudletList(cloudlets);
+	}
+
+	/**
+	 * This method is used to send to the broker the schedule of a chromosome, one
+	 * cloudlet bound to one vm per gene.
+	 * 
+	 * @param chromosome the chromosome
+	 * @pre chromosome !=null
+	 * @post $none
+	 */
+	public void submitSchedule(Chromosomes chromosome) {
+		List<Cloudlet> cloudlets = new ArrayList<Cloudlet>(chromosome.getGeneList().size());
+		List<Vm> vms = new ArrayList<Vm>(chromosome.getGeneList().size());
+		for (Gene gene : chromosome.getGeneList()) {
+			cloudlets.add(gene.getCloudletFromGene());
+			vms.add(gene.getVmFromGene());
+		}
+		submitSchedule(cloudlets, vms);
+	}
+
+	/**
+	 * This method is used to send to the broker a cloudlet that arrives at a given time, in
+	 * online mode. Arrivals are buffered into windows, and every window is scheduled by the
+	 * online scheduler when it is closed.
+	 * 
+	 * @param cloudlet the cloudlet
+	 * @param arrivalTime the simulation time of the arrival
+	 * @pre online mode is enabled
+	 * @post $none
+	 */
+	public void submitCloudletArrival(Cloudlet cloudlet, double arrivalTime) {
+		if (onlineScheduler == null) {
+			throw new IllegalStateException("Cloudlet arrivals need online mode");
+		}
+		if (CloudSim.running()) {
+			schedule(getId(), Math.max(0, arrivalTime - CloudSim.clock()), CLOUDLET_ARRIVAL, cloudlet);
+			arrivalsPending++;
+		} else { // events can only be sent once the simulation runs
+			arrivalList.add(cloudlet);
+			arrivalTimes.add(arrivalTime);
+		}
 	}
 
 	/**
@@ -119,7 +273,50 @@ public class GADatacenterBroker extends SimEntity{
 	 * @post $none
 	 */
 	public void bindCloudletToVm(int cloudletId, int vmId) {
-		CloudletList.getById(getCloudletList(), cloudletId).setVmId(vmId);
+		getCloudlet(cloudletId).setVmId(vmId);
+	}
+
+	/**
+	 * Gets a submitted vm by id in O(1). The index follows the submit methods and
+	 * {@link #setVmList(List)}; a vm added straight to {@link #getVmList()} is not indexed.
+	 * 
+	 * @param vmId the vm id
+	 * @return the vm, or null if no vm with this id was submitted
+	 */
+	public Vm getVm(int vmId) {
+		return vmsById.get(vmId);
+	}
+
+	/**
+	 * Gets a cloudlet waiting for submission by id in O(1). The index follows the submit
+	 * methods and {@link #setCloudletList(List)}; a cloudlet added straight to
+	 * {@link #getCloudletList()} is not indexed.
+	 * 
+	 * @param cloudletId the cloudlet id
+	 * @return the cloudlet, or null if no waiting cloudlet has this id
+	 */
+	public Cloudlet getCloudlet(int cloudletId) {
+		return cloudletsById.get(cloudletId);
+	}
+
+	/**
+	 * Checks whether a cloudlet has been submitted to a datacenter, in O(1).
+	 * 
+	 * @param cloudletId the cloudlet id
+	 * @return true if submitted
+	 */
+	public boolean isCloudletSubmitted(int cloudletId) {
+		return cloudletSubmittedIds.contains(cloudletId);
+	}
+
+	/**
+	 * Checks whether a cloudlet has returned from a datacenter, in O(1).
+	 * 
+	 * @param cloudletId the cloudlet id
+	 * @return true if received
+	 */
+	public boolean isCloudletReceived(int cloudletId) {
+		return cloudletReceivedIds.contains(cloudletId);
 	}
 
 	/**
@@ -148,6 +345,14 @@ public class GADatacenterBroker extends SimEntity{
 			case CloudSimTags.CLOUDLET_RETURN:
 				processCloudletReturn(ev);
 				break;
+			// A cloudlet arrived in online mode
+			case CLOUDLET_ARRIVAL:
+				processCloudletArrival(ev);
+				break;
+			// The time bound of a window passed
+			case WINDOW_TIMEOUT:
+				processWindowTimeout(ev);
+				break;
 			// if the simulation finishes
 			case CloudSimTags.END_OF_SIMULATION:
 				shutdownEntity();
@@ -157,6 +362,10 @@ public class GADatacenterBroker extends SimEntity{
 				processOtherEvent(ev);
 				break;
 		}
+		if (metrics != null) {
+			metrics.update(cloudletsSubmitted, cloudletsQueued, getCloudletReceivedList().size(),
+					vmsAcks, getVmsCreatedList().size(), CloudSim.clock());
+		}
 	}
 
 	/**
@@ -187,8 +396,7 @@ public class GADatacenterBroker extends SimEntity{
 		setDatacenterIdsList(CloudSim.getCloudResourceList());
 		setDatacenterCharacteristicsList(new HashMap<Integer, DatacenterCharacteristics>());
 
-		Log.printLine(CloudSim.clock() + ": " + getName() + ": Cloud Resource List received with "
-				+ getDatacenterIdsList().size() + " resource(s)");
+		eventLog.record(BrokerEvent.RESOURCE_LIST_RECEIVED, getDatacenterIdsList().size());
 
 		for (Integer datacenterId : getDatacenterIdsList()) {
 			sendNow(datacenterId, CloudSimTags.RESOURCE_CHARACTERISTICS, getId());
@@ -209,11 +417,11 @@ public class GADatacenterBroker extends SimEntity{
 		int result = data[2];
 
 		if (result == CloudSimTags.TRUE) {
+			Vm vm = getVm(vmId);
 			getVmsToDatacentersMap().put(vmId, datacenterId);
-			getVmsCreatedList().add(VmList.getById(getVmList(), vmId));
-			Log.printLine(CloudSim.clock() + ": " + getName() + ": VM #" + vmId
-					+ " has been created in Datacenter #" + datacenterId + ", Host #"
-					+ VmList.getById(getVmsCreatedList(), vmId).getHost().getId());
+			getVmsCreatedList().add(vm);
+			vmsCreatedById.put(vmId, vm);
+			eventLog.record(BrokerEvent.VM_CREATED, vmId, datacenterId, vm.getHost().getId());
 		} 
 		/*else {
 			Log.printLine(CloudSim.clock() + ": " + getName() + ": Creation of VM #" + vmId
@@ -226,6 +434,7 @@ public class GADatacenterBroker extends SimEntity{
 		// all the requested VMs have been created
 		if (getVmsCreatedList().size() == getVmList().size() - getVmsDestroyed()) {
 			submitCloudlets();
+			scheduleWindow();
 		} else {
 			// all the acks received, but some VMs were not created
 			if (getVmsRequested() == getVmsAcks()) {
@@ -240,9 +449,9 @@ public class GADatacenterBroker extends SimEntity{
 				// all datacenters already queried
 				if (getVmsCreatedList().size() > 0) { // if some vm were created
 					submitCloudlets();
+					scheduleWindow();
 				} else { // no vms created. abort
-					Log.printLine(CloudSim.clock() + ": " + getName()
-							+ ": none of the required VMs could be created. Aborting");
+					eventLog.record(BrokerEvent.NO_VM_CREATED);
 					finishExecution();
 				}
 			}
@@ -259,11 +468,19 @@ public class GADatacenterBroker extends SimEntity{
 	protected void processCloudletReturn(SimEvent ev) {
 		Cloudlet cloudlet = (Cloudlet) ev.getData();
 		getCloudletReceivedList().add(cloudlet);
-		Log.printLine(CloudSim.clock() + ": " + getName() + ": Cloudlet " + cloudlet.getCloudletId()
-				+ " received");
+		cloudletReceivedIds.add(cloudlet.getCloudletId());
+		eventLog.record(BrokerEvent.CLOUDLET_RECEIVED, cloudlet.getCloudletId());
 		cloudletsSubmitted--;
-		if (getCloudletList().size() == 0 && cloudletsSubmitted == 0) { // all cloudlets executed
-			Log.printLine(CloudSim.clock() + ": " + getName() + ": All Cloudlets executed. Finishing...");
+		if (maxInFlightPerVm > 0) {
+			VmQueue queue = vmQueues.get(cloudlet.getVmId());
+			if (queue != null) {
+				queue.inFlight--;
+				drainQueue(queue);
+			}
+		}
+		if (getCloudletList().size() == 0 && cloudletsSubmitted == 0
+				&& cloudletsQueued == 0 && !isOnlineWorkPending()) { // all cloudlets executed
+			eventLog.record(BrokerEvent.ALL_CLOUDLETS_EXECUTED);
 			clearDatacenters();
 			finishExecution();
 		} else { // some cloudlets haven't finished yet
@@ -277,6 +494,130 @@ public class GADatacenterBroker extends SimEntity{
 		}
 	}
 
+	/**
+	 * Process a cloudlet arrival in online mode. The first arrival of a window starts its time
+	 * bound; the window is scheduled once it is full or no more arrivals are expected.
+	 * 
+	 * @param ev a SimEvent object
+	 * @pre ev != $null
+	 * @post $none
+	 */
+	protected void processCloudletArrival(SimEvent ev) {
+		Cloudlet cloudlet = (Cloudlet) ev.getData();
+		arrivalsPending--;
+		eventLog.record(BrokerEvent.CLOUDLET_ARRIVED, cloudlet.getCloudletId());
+		scheduleNextArrival();
+
+		if (window.isEmpty()) {
+			windowOpenedAt = CloudSim.clock();
+			if (onlineScheduler.getWindowTime() > 0) {
+				schedule(getId(), onlineScheduler.getWindowTime(), WINDOW_TIMEOUT, windowsScheduled);
+			}
+		}
+		window.add(cloudlet);
+
+		int windowSize = onlineScheduler.getWindowSize();
+		if ((windowSize > 0 && window.size() >= windowSize) || arrivalsPending == 0) {
+			scheduleWindow();
+		}
+	}
+
+	/**
+	 * Pull the next cloudlet of the arrival source and schedule its arrival, so that a single
+	 * arrival of the source is pending at any time.
+	 * 
+	 * @pre $none
+	 * @post $none
+	 */
+	protected void scheduleNextArrival() {
+		if (arrivalSource == null) {
+			return;
+		}
+		Cloudlet cloudlet = arrivalSource.nextArrival(getId());
+		if (cloudlet == null) { // source exhausted
+			arrivalSource = null;
+			return;
+		}
+		schedule(getId(), Math.max(0, arrivalSource.getArrivalTime() - CloudSim.clock()),
+				CLOUDLET_ARRIVAL, cloudlet);
+		arrivalsPending++;
+	}
+
+	/**
+	 * Process the end of the time bound of a window. The window is scheduled unless it was
+	 * already closed by size.
+	 * 
+	 * @param ev a SimEvent object
+	 * @pre ev != $null
+	 * @post $none
+	 */
+	protected void processWindowTimeout(SimEvent ev) {
+		if ((Integer) ev.getData() == windowsScheduled) {
+			scheduleWindow();
+		}
+	}
+
+	/**
+	 * Schedule the cloudlets of the current window with the online scheduler and dispatch
+	 * them. The cloudlets are sorted by ascending length and the vms by descending mips, like
+	 * the offline schedule. Every vm starts from the predicted completion time of the cloudlets
+	 * already dispatched to it, predicted with the PEs of the vm by a {@link SpaceSharedModel}.
+	 * The window is kept until some vms are created.
+	 * 
+	 * @pre $none
+	 * @post $none
+	 */
+	protected void scheduleWindow() {
+		if (window.isEmpty() || getVmsCreatedList().isEmpty()) {
+			return;
+		}
+
+		double now = CloudSim.clock();
+		List<Vm> vms = new ArrayList<Vm>(getVmsCreatedList());
+		Collections.sort(vms, Workload.VM_ORDER);
+		double[] readyTimes = new double[vms.size()];
+		for (int k = 0; k < readyTimes.length; k++) {
+			Double readyTime = vmReadyTimes.get(vms.get(k).getId());
+			readyTimes[k] = readyTime == null ? 0 : Math.max(0, readyTime - now);
+		}
+
+		List<Cloudlet> cloudlets = new ArrayList<Cloudlet>(window);
+		window.clear();
+		Collections.sort(cloudlets, Workload.CLOUDLET_ORDER);
+		Workload workload = new Workload(cloudlets, vms, readyTimes);
+
+		long start = System.nanoTime();
+		GAResult result = onlineScheduler.schedule(workload);
+		long schedulingNanos = System.nanoTime() - start;
+
+		int[] genes = result.getBest().getGenes();
+		for (int i = 0; i < genes.length; i++) {
+			cloudlets.get(i).setVmId(vms.get(genes[i]).getId());
+		}
+		new SpaceSharedModel(workload.getEtcMatrix()).evaluate(genes, readyTimes, null);
+		for (int k = 0; k < readyTimes.length; k++) {
+			vmReadyTimes.put(vms.get(k).getId(), now + readyTimes[k]);
+		}
+
+		submitCloudletList(cloudlets);
+		submitCloudlets();
+
+		int backlog = cloudletsSubmitted + cloudletsQueued;
+		windowReports.add(new WindowReport(windowsScheduled, windowOpenedAt, now, cloudlets.size(),
+				schedulingNanos, result.getMakespan(), backlog));
+		eventLog.record(BrokerEvent.WINDOW_SCHEDULED, windowsScheduled, cloudlets.size(), backlog);
+		windowsScheduled++;
+	}
+
+	/**
+	 * Checks whether cloudlets are still expected or buffered in online mode.
+	 * 
+	 * @return true if some arrivals are pending or the window is not empty
+	 */
+	protected boolean isOnlineWorkPending() {
+		return arrivalsPending > 0 || !window.isEmpty();
+	}
+
 	/**
 	 * Overrides this method when making a new and different type of Broker. This method is called
 	 * by {@link #body()} for incoming unknown tags.
@@ -287,12 +628,11 @@ public class GADatacenterBroker extends SimEntity{
 	 */
 	protected void processOtherEvent(SimEvent ev) {
 		if (ev == null) {
-			Log.printLine(getName() + ".processOtherEvent(): " + "Error - an event is null.");
+			eventLog.record(BrokerEvent.NULL_EVENT);
 			return;
 		}
 
-		Log.printLine(getName() + ".processOtherEvent(): "
-				+ "Error - event unknown by this DatacenterBroker.");
+		eventLog.record(BrokerEvent.UNKNOWN_EVENT, ev.getTag());
 	}
 
 	/**
@@ -305,11 +645,9 @@ public class GADatacenterBroker extends SimEntity{
 	protected void createVmsInDatacenter(int datacenterId) {
 		// send as much vms as possible for this datacenter before trying the next one
 		int requestedVms = 0;
-		String datacenterName = CloudSim.getEntityName(datacenterId);
 		for (Vm vm : getVmList()) {
 			if (!getVmsToDatacentersMap().containsKey(vm.getId())) {
-				Log.printLine(CloudSim.clock() + ": " + getName() + ": Trying to Create VM #" + vm.getId()
-						+ " in " + datacenterName);
+				eventLog.record(BrokerEvent.VM_CREATE_REQUESTED, vm.getId(), datacenterId, 0);
 				sendNow(datacenterId, CloudSimTags.VM_CREATE_ACK, vm);
 				requestedVms++;
 			}
@@ -329,35 +667,89 @@ public class GADatacenterBroker extends SimEntity{
 	 */
 	protected void submitCloudlets() {
 		int vmIndex = 0;
+		List<Cloudlet> postponed = new ArrayList<Cloudlet>();
 		for (Cloudlet cloudlet : getCloudletList()) {
 			Vm vm;
 			// if user didn't bind this cloudlet and it has not been executed yet
 			if (cloudlet.getVmId() == -1) {
 				vm = getVmsCreatedList().get(vmIndex);
 			} else { // submit to the specific vm
-				vm = VmList.getById(getVmsCreatedList(), cloudlet.getVmId());
+				vm = vmsCreatedById.get(cloudlet.getVmId());
 				if (vm == null) { // vm was not created
-					Log.printLine(CloudSim.clock() + ": " + getName() + ": Postponing execution of cloudlet "
-							+ cloudlet.getCloudletId() + ": bount VM not available");
+					eventLog.record(BrokerEvent.CLOUDLET_POSTPONED, cloudlet.getCloudletId());
+					postponed.add(cloudlet);
 					continue;
 				}
 			}
 
-			Log.printLine(CloudSim.clock() + ": " + getName() + ": Sending cloudlet "
-					+ cloudlet.getCloudletId() + " to VM #" + vm.getId());
-			cloudlet.setVmId(vm.getId());
-			sendNow(getVmsToDatacentersMap().get(vm.getId()), CloudSimTags.CLOUDLET_SUBMIT, cloudlet);
-			cloudletsSubmitted++;
 			vmIndex = (vmIndex + 1) % getVmsCreatedList().size();
-			getCloudletSubmittedList().add(cloudlet);
+			cloudletsById.remove(cloudlet.getCloudletId());
+			if (maxInFlightPerVm > 0) { // hold back in the queue of the vm
+				cloudlet.setVmId(vm.getId());
+				getVmQueue(vm).waiting.add(cloudlet);
+				cloudletsQueued++;
+			} else {
+				sendCloudlet(cloudlet, vm);
+			}
 		}
 
-		// remove submitted cloudlets from waiting list
-		for (Cloudlet cloudlet : getCloudletSubmittedList()) {
-			getCloudletList().remove(cloudlet);
+		// keep only the postponed cloudlets in the waiting list
+		getCloudletList().clear();
+		getCloudletList().addAll(postponed);
+
+		// fill every vm up to the in-flight limit
+		for (VmQueue queue : vmQueues.values()) {
+			drainQueue(queue);
 		}
 	}
 
+	/**
+	 * Send a cloudlet to the datacenter of its vm.
+	 * 
+	 * @param cloudlet the cloudlet
+	 * @param vm the vm that runs the cloudlet
+	 * @pre $none
+	 * @post $none
+	 */
+	protected void sendCloudlet(Cloudlet cloudlet, Vm vm) {
+		eventLog.record(BrokerEvent.CLOUDLET_SENT, cloudlet.getCloudletId(), vm.getId(), 0);
+		cloudlet.setVmId(vm.getId());
+		sendNow(getVmsToDatacentersMap().get(vm.getId()), CloudSimTags.CLOUDLET_SUBMIT, cloudlet);
+		cloudletsSubmitted++;
+		getCloudletSubmittedList().add(cloudlet);
+		cloudletSubmittedIds.add(cloudlet.getCloudletId());
+	}
+
+	/**
+	 * Send cloudlets held back in the queue of a vm until the vm reaches the in-flight limit.
+	 * 
+	 * @param queue the queue of the vm
+	 * @pre $none
+	 * @post $none
+	 */
+	protected void drainQueue(VmQueue queue) {
+		while (queue.inFlight < maxInFlightPerVm && !queue.waiting.isEmpty()) {
+			sendCloudlet(queue.waiting.poll(), queue.vm);
+			queue.inFlight++;
+			cloudletsQueued--;
+		}
+	}
+
+	/**
+	 * Gets the queue of a vm, creating it on first use.
+	 * 
+	 * @param vm the vm
+	 * @return the queue of the vm
+	 */
+	protected VmQueue getVmQueue(Vm vm) {
+		VmQueue queue = vmQueues.get(vm.getId());
+		if (queue == null) {
+			queue = new VmQueue(vm);
+			vmQueues.put(vm.getId(), queue);
+		}
+		return queue;
+	}
+
 	/**
 	 * Destroy the virtual machines running in datacenters.
 	 * 
@@ -366,11 +758,12 @@ public class GADatacenterBroker extends SimEntity{
 	 */
 	protected void clearDatacenters() {
 		for (Vm vm : getVmsCreatedList()) {
-			Log.printLine(CloudSim.clock() + ": " + getName() + ": Destroying VM #" + vm.getId());
+			eventLog.record(BrokerEvent.VM_DESTROYED, vm.getId());
 			sendNow(getVmsToDatacentersMap().get(vm.getId()), CloudSimTags.VM_DESTROY, vm);
 		}
 
 		getVmsCreatedList().clear();
+		vmsCreatedById.clear();
 	}
 
 	/**
@@ -389,7 +782,12 @@ public class GADatacenterBroker extends SimEntity{
 	 */
 	@Override
 	public void shutdownEntity() {
-		Log.printLine(getName() + " is shutting down...");
+		eventLog.record(BrokerEvent.SHUTTING_DOWN);
+		try {
+			eventLog.close();
+		} catch (IOException e) {
+			Log.printLine(getName() + ": event log could not be written: " + e.getMessage());
+		}
 	}
 
 	/*
@@ -398,8 +796,142 @@ public class GADatacenterBroker extends SimEntity{
 	 */
 	@Override
 	public void startEntity() {
-		Log.printLine(getName() + " is starting...");
+		eventLog.record(BrokerEvent.STARTING);
 		schedule(getId(), 0, CloudSimTags.RESOURCE_CHARACTERISTICS_REQUEST);
+		for (int i = 0; i < arrivalList.size(); i++) {
+			schedule(getId(), arrivalTimes.get(i), CLOUDLET_ARRIVAL, arrivalList.get(i));
+			arrivalsPending++;
+		}
+		arrivalList.clear();
+		arrivalTimes.clear();
+		scheduleNextArrival();
+	}
+
+	/**
+	 * Gets the maximum number of cloudlets in flight per vm.
+	 * 
+	 * @return the limit, 0 if cloudlets are all sent at once
+	 */
+	public int getMaxInFlightPerVm() {
+		return maxInFlightPerVm;
+	}
+
+	/**
+	 * Sets the maximum number of cloudlets in flight per vm. With a limit, the broker keeps the
+	 * other cloudlets in a queue per vm and sends the next one when a cloudlet of the vm returns,
+	 * so the number of pending events stays bounded by the limit times the number of vms.
+	 * A limit below the number of PEs of a space-shared vm leaves some of its PEs idle.
+	 * 
+	 * @param maxInFlightPerVm the limit, 0 to send all the cloudlets at once
+	 * @pre must be called before the simulation starts
+	 */
+	public void setMaxInFlightPerVm(int maxInFlightPerVm) {
+		this.maxInFlightPerVm = Math.max(0, maxInFlightPerVm);
+	}
+
+	/**
+	 * Gets the number of cloudlets held back in vm queues.
+	 * 
+	 * @return the cloudlets queued
+	 */
+	public int getCloudletsQueued() {
+		return cloudletsQueued;
+	}
+
+	/**
+	 * Gets the scheduler of online mode.
+	 * 
+	 * @return the scheduler, null in batch mode
+	 */
+	public OnlineScheduler getOnlineScheduler() {
+		return onlineScheduler;
+	}
+
+	/**
+	 * Enables online mode: cloudlets submitted with
+	 * {@link #submitCloudletArrival(Cloudlet, double)} are buffered into windows and every
+	 * window is scheduled by this scheduler.
+	 * 
+	 * @param onlineScheduler the scheduler of the windows
+	 * @pre must be called before the first arrival is submitted
+	 */
+	public void setOnlineScheduler(OnlineScheduler onlineScheduler) {
+		this.onlineScheduler = onlineScheduler;
+	}
+
+	/**
+	 * Sets the source of the cloudlets arriving in online mode. The source is pulled one
+	 * cloudlet at a time as the simulation advances, instead of submitting every arrival
+	 * upfront with {@link #submitCloudletArrival(Cloudlet, double)}.
+	 * 
+	 * @param arrivalSource the source, in order of arrival time
+	 * @pre online mode is enabled
+	 * @pre must be called before the simulation starts
+	 */
+	public void setArrivalSource(CloudletArrivalSource arrivalSource) {
+		if (onlineScheduler == null) {
+			throw new IllegalStateException("Cloudlet arrivals need online mode");
+		}
+		this.arrivalSource = arrivalSource;
+	}
+
+	/**
+	 * Gets the reports of the windows scheduled in online mode.
+	 * 
+	 * @return the window reports, in scheduling order
+	 */
+	public List<WindowReport> getWindowReports() {
+		return windowReports;
+	}
+
+	/**
+	 * Gets the number of cloudlets arrived and not yet scheduled.
+	 * 
+	 * @return the size of the current window
+	 */
+	public int getWindowBacklog() {
+		return window.size();
+	}
+
+	/**
+	 * Gets the event log.
+	 *
+	 * @return the event log
+	 */
+	public BrokerEventLog getEventLog() {
+		return eventLog;
+	}
+
+	/**
+	 * Sets the event log. The default log only prints warnings and errors as text through the
+	 * CloudSim Log; a log with a file records binary events, rendered offline by
+	 * {@link BrokerEventRenderer}, and prints no text unless asked to.
+	 *
+	 * @param eventLog the event log
+	 * @pre must be called before the simulation starts
+	 */
+	public void setEventLog(BrokerEventLog eventLog) {
+		this.eventLog = eventLog;
+	}
+
+	/**
+	 * Gets the live metrics.
+	 *
+	 * @return the metrics, null without metrics
+	 */
+	public BrokerMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Sets the live metrics, published after every event. They can be registered over JMX and
+	 * served by a {@link MetricsHttpServer} while the simulation runs.
+	 *
+	 * @param metrics the metrics, null for none
+	 * @pre must be called before the simulation starts
+	 */
+	public void setMetrics(BrokerMetrics metrics) {
+		this.metrics = metrics;
 	}
 
 	/**
@@ -414,13 +946,17 @@ public class GADatacenterBroker extends SimEntity{
 	}
 
 	/**
-	 * Sets the vm list.
+	 * Sets the vm list, and indexes it by vm id.
 	 * 
 	 * @param <T> the generic type
 	 * @param vmList the new vm list
 	 */
 	protected <T extends Vm> void setVmList(List<T> vmList) {
 		this.vmList = vmList;
+		vmsById = new HashMap<Integer, Vm>();
+		for (Vm vm : vmList) {
+			vmsById.put(vm.getId(), vm);
+		}
 	}
 
 	/**
@@ -435,13 +971,17 @@ public class GADatacenterBroker extends SimEntity{
 	}
 
 	/**
-	 * Sets the cloudlet list.
+	 * Sets the cloudlet list, and indexes it by cloudlet id.
 	 * 
 	 * @param <T> the generic type
 	 * @param cloudletList the new cloudlet list
 	 */
 	protected <T extends Cloudlet> void setCloudletList(List<T> cloudletList) {
 		this.cloudletList = cloudletList;
+		cloudletsById = new HashMap<Integer, Cloudlet>();
+		for (Cloudlet cloudlet : cloudletList) {
+			cloudletsById.put(cloudlet.getCloudletId(), cloudlet);
+		}
 	}
 
 	/**
@@ -640,4 +1180,28 @@ public class GADatacenterBroker extends SimEntity{
 	protected void setDatacenterRequestedIdsList(List<Integer> datacenterRequestedIdsList) {
 		this.datacenterRequestedIdsList = datacenterRequestedIdsList;
 	}
+
+	/**
+	 * Cloudlets held back for a vm by the in-flight limit.
+	 */
+	protected static class VmQueue {
+
+		/** The vm. */
+		protected final Vm vm;
+
+		/** The cloudlets not sent yet. */
+		protected final ArrayDeque<Cloudlet> waiting = new ArrayDeque<Cloudlet>();
+
+		/** The cloudlets sent and not returned yet. */
+		protected int inFlight;
+
+		/**
+		 * Creates the queue of a vm.
+		 * 
+		 * @param vm the vm
+		 */
+		protected VmQueue(Vm vm) {
+			this.vm = vm;
+		}
+	}
 }
@@ -22,53 +22,47 @@ import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
  */
 public class GADatacenterCreator {
 	
+	/** Number of hosts of the default datacenter */
+	public static final int DEFAULT_HOSTS = 3;
+	
 	/**
 	 * Creates a power datacenter using characteristics like host, architecture, cost, os etc.
 	 * @param name - name of the datacenter
 	 * @return Datacenter
 	 */
 	public static Datacenter createDatacenter(String name) {
+		return createDatacenter(name, DEFAULT_HOSTS);
+	}
+	
+	/**
+	 * Creates a power datacenter of identical 7-core hosts.
+	 * @param name - name of the datacenter
+	 * @param numHosts - number of hosts
+	 * @return Datacenter
+	 */
+	public static Datacenter createDatacenter(String name, int numHosts) {
 
 		
 		List<Host> hostList = new ArrayList<Host>();			// a list to store our machines
 
-		List<Pe> peList1 = new ArrayList<Pe>();					// a list to store PEs or CPUs/Cores
-
 		int mips = 10000;
 
-		// Create PEs and add these into the list.
-		for(int id = 0; id < 7; id++)							// an octa-core machine
-			peList1.add(new Pe(id, new PeProvisionerSimple(mips)));
-
-		List<Pe> peList2 = new ArrayList<Pe>();					// an octa-core machine
-		for(int id = 0; id < 7; id++)
-			peList2.add(new Pe(id, new PeProvisionerSimple(mips)));
-		
-		List<Pe> peList3 = new ArrayList<Pe>();					// a quad-core machine
-		for(int id = 0; id < 7; id++)
-			peList3.add(new Pe(id, new PeProvisionerSimple(mips)));
-
 		// Parameters for Host
-		int hostId = 0;
 		int ram = 24800; 				// host memory (MB)
 		long storage = 10000000; 		// host storage
 		int bw = 100000;				// bandwidth
 
-		hostList.add(new Host(hostId, new RamProvisionerSimple(ram),
-				new BwProvisionerSimple(bw), storage, peList1,
-				new VmSchedulerTimeShared(peList1))); // This is our first machine
-
-		hostId++;
-
-		hostList.add(new Host(hostId, new RamProvisionerSimple(ram),
-				new BwProvisionerSimple(bw), storage, peList2,
-				new VmSchedulerTimeShared(peList2))); // Second machine
-		
-		hostId++;
-
-		hostList.add(new Host(hostId, new RamProvisionerSimple(ram),
-				new BwProvisionerSimple(bw), storage, peList3,
-				new VmSchedulerTimeShared(peList3))); // Third machine
+		for(int hostId = 0; hostId < numHosts; hostId++){
+			
+			// Create PEs and add these into the list.
+			List<Pe> peList = new ArrayList<Pe>();				// a list to store PEs or CPUs/Cores
+			for(int id = 0; id < 7; id++)						// a 7-core machine
+				peList.add(new Pe(id, new PeProvisionerSimple(mips)));
+			
+			hostList.add(new Host(hostId, new RamProvisionerSimple(ram),
+					new BwProvisionerSimple(bw), storage, peList,
+					new VmSchedulerTimeShared(peList)));
+		}
 
 		// Create a DatacenterCharacteristics object that stores the properties of a data center
 		String arch = "x86"; 				// system architecture
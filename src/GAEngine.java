@@ -0,0 +1,597 @@
+package geneticalgo;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Reusable Genetic Algorithm loop.
+ * Population size, number of generations and stopping rules come from a {@link GAConfig}
+ * instead of the number of cloudlets. A run stops as soon as one of its
+ * {@link TerminationCondition}s is satisfied.
+ *
+ * Every generation is a new population: the elite chromosomes are copied, and the rest are
+ * children of parents picked by the {@link SelectionOperator}, bred by the
+ * {@link CrossoverOperator} and mutated by the {@link MutationOperator}. The two generations
+ * are preallocated and swapped, so producing a generation does not create chromosomes.
+ *
+ * The engine can be driven in one call with {@link #run(Workload)}, or generation by generation
+ * with {@link #initialise(Workload)}, {@link #isTerminated()} and {@link #nextGeneration()}.
+ *
+ * In anytime mode, {@link #runWithDeadline(Workload, long)}, the run also stops at a wall-clock
+ * deadline, as {@link OnlineScheduler} does with its window budget. Any run stops when
+ * {@link #cancel()} is called from another thread, or when the running thread is interrupted,
+ * and returns the most fit chromosome found so far.
+ *
+ * With a {@link ScheduleCache}, the initial population is seeded from the schedules cached for
+ * the closest earlier workload, and {@link #run(Workload)} stores the final population in it.
+ *
+ * The evaluations of a run are counted by the engine, not by the {@link FitnessEvaluator}, so
+ * that scoring stays free of shared counters: the chromosomes re-scored by the
+ * {@link PopulationEvaluator}, plus two per crossover and one per mutation, whose operators
+ * re-score their chromosomes themselves. Copies of a chromosome are not counted.
+ *
+ * With {@link GAMetrics}, the engine publishes the generation, the best makespan and the
+ * evaluations of the initial population and of every generation, a few lazySets per generation.
+ * With a {@link TelemetrySink}, it also records the {@link GenerationStats} of the population,
+ * whose diversity is a pass over every gene. Without either, no statistics are computed.
+ */
+public class GAEngine {
+
+	/** Parameters of the run */
+	private final GAConfig config;
+
+	/** Creates the initial population */
+	private final GeneticFunctions gf = new GeneticFunctions();
+
+	/** Picks the parents of the next generation */
+	private SelectionOperator selectionOperator;
+
+	/** Breeds the children of the next generation */
+	private CrossoverOperator crossoverOperator;
+
+	/** Mutates the children of the next generation */
+	private MutationOperator mutationOperator = new RandomVmMutation();
+
+	/** Warm-start cache seeding and storing the runs, null without a cache */
+	private ScheduleCache scheduleCache;
+
+	/** Conditions built from the config plus those added by the caller */
+	private final List<TerminationCondition> terminationConditions = new ArrayList<TerminationCondition>();
+
+	/** Sorted Cloudlets and Vms of the current run */
+	private Workload workload;
+
+	/** Fitness evaluator of the current workload */
+	private FitnessEvaluator evaluator;
+
+	/** Population evaluator of the current workload */
+	private PopulationEvaluator populationEvaluator;
+
+	/** Pool used when parallelism is more than 1 */
+	private ForkJoinPool pool;
+
+	/** Random of the run */
+	private Random rand;
+
+	/** The population */
+	private CompactChromosome[] population;
+
+	/** The next generation, swapped with the population after every generation */
+	private CompactChromosome[] nextPopulation;
+
+	/** Second child of a crossover when only one slot of the next generation is left */
+	private CompactChromosome spareChild;
+
+	/** Indices of the elite chromosomes of the current generation */
+	private int[] eliteIndices;
+
+	/** Index of the most fit chromosome in the population */
+	private int firstFitIndex;
+
+	/** Copy of the most fit chromosome found so far */
+	private CompactChromosome best;
+
+	/** Chromosomes re-scored by the crossover and mutation operators of the run */
+	private long operatorEvaluations;
+
+	/** Number of generations produced */
+	private int generation;
+
+	/** Number of generations since the best fitness last improved */
+	private int generationsWithoutImprovement;
+
+	/** Start of the run */
+	private long startNanos;
+
+	/** Set by another thread to stop the run after the current generation */
+	private volatile boolean cancelled;
+
+	/** Receives the telemetry of every generation, null without telemetry */
+	private TelemetrySink telemetrySink;
+
+	/** Live metrics updated after every generation, null without metrics */
+	private GAMetrics metrics;
+
+	/** Time of the last generation published */
+	private long telemetryNanos;
+
+	/** Evaluations at the last generation published */
+	private long telemetryEvaluations;
+
+	/** Bytes allocated by the running thread at the last telemetry record */
+	private long telemetryAllocatedBytes;
+
+	/**
+	 * Create a new GAEngine.
+	 * @param config - parameters of the runs
+	 */
+	public GAEngine(GAConfig config) {
+		this.config = config;
+		this.selectionOperator = config.getSelection().create();
+		this.crossoverOperator = config.getCrossover().create();
+
+		terminationConditions.add(new TerminationCondition.MaxGenerations(config.getMaxGenerations()));
+		if(config.getStagnationLimit() > 0)
+			terminationConditions.add(new TerminationCondition.Stagnation(config.getStagnationLimit()));
+		if(config.getTargetFitness() >= 0)
+			terminationConditions.add(new TerminationCondition.TargetFitness(config.getTargetFitness()));
+	}
+
+	/**
+	 * Adds a condition that stops the run.
+	 * @param condition - termination condition
+	 */
+	public void addTerminationCondition(TerminationCondition condition) {
+		terminationConditions.add(condition);
+	}
+
+	/**
+	 * Runs the Genetic Algorithm on a workload until a termination condition is satisfied.
+	 * A {@link #cancel()} received from the start of the call stops the run; an earlier one
+	 * is cleared. The pool used for parallel evaluation is kept for the next run, until
+	 * {@link #shutdown()} is called.
+	 * @param workload - sorted Cloudlets and Vms
+	 * @return the most fit chromosome found
+	 */
+	public GAResult run(Workload workload) {
+		cancelled = false;
+		initialise(workload);
+		while(!isTerminated())
+			nextGeneration();
+		if(scheduleCache != null)
+			scheduleCache.put(workload, population);
+		return getResult();
+	}
+
+	/**
+	 * Runs the Genetic Algorithm on a workload until a termination condition is satisfied or the
+	 * time budget is spent, whichever comes first. The budget covers initialisation, but a
+	 * generation that has started is always completed, so the run may overshoot the deadline by
+	 * the time of one generation.
+	 *
+	 * @param workload - sorted Cloudlets and Vms
+	 * @param budgetMillis - time budget in milliseconds
+	 * @return the most fit chromosome found before the deadline
+	 */
+	public GAResult runWithDeadline(Workload workload, long budgetMillis) {
+		TerminationCondition deadline = TerminationCondition.Deadline.inMillis(budgetMillis);
+		terminationConditions.add(deadline);
+		try {
+			return run(workload);
+		} finally {
+			terminationConditions.remove(deadline);
+		}
+	}
+
+	/**
+	 * Stops the current run after the generation in progress, or right after initialisation
+	 * if it is called during it. Can be called from any thread.
+	 * The flag is cleared when the next {@link #run(Workload)} starts; a run driven generation
+	 * by generation stays terminated.
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	/**
+	 * Creates and evaluates the initial population of a workload.
+	 * The first chromosomes are the rotations of {@link GeneticFunctions#initialisePopulation(Workload, int)},
+	 * one per Vm, and the rest are random schedules. With heuristic seeding, the population is
+	 * instead made of the {@link HeuristicSeeder} schedules and perturbed copies of them. The
+	 * last quarter then comes from the {@link ScheduleCache}, if it holds a close enough entry.
+	 * @param workload - sorted Cloudlets and Vms
+	 */
+	public void initialise(Workload workload) {
+		this.workload = workload;
+		this.evaluator = new FitnessEvaluator(workload, config.getTotalTimeWeight(), config.getFitnessModel());
+		if(config.getParallelism() > 1 && pool == null)
+			pool = new ForkJoinPool(config.getParallelism());
+		this.populationEvaluator = new PopulationEvaluator(evaluator, pool, PopulationEvaluator.DEFAULT_GRAIN);
+		this.rand = new Random(config.getSeed());
+		this.startNanos = System.nanoTime();
+		telemetryNanos = startNanos;
+		telemetryEvaluations = 0;
+		if(telemetrySink != null)
+			telemetryAllocatedBytes = allocatedBytes();
+
+		int numVms = workload.getNumVms();
+		int numCloudlets = workload.getNumCloudlets();
+		population = gf.initialisePopulation(workload, config.getPopulationSize());
+		for(int j = numVms; j < population.length; j++){
+			int[] genes = population[j].getGenes();
+			for(int i = 0; i < genes.length; i++)
+				genes[i] = rand.nextInt(numVms);
+		}
+
+		if(config.isHeuristicSeeding())
+			new HeuristicSeeder(workload.getEtcMatrix()).seed(population, rand, config.getSeedPerturbation());
+		if(scheduleCache != null)
+			scheduleCache.seed(workload, population, rand, config.getSeedPerturbation());
+
+		nextPopulation = new CompactChromosome[population.length];
+		for(int j = 0; j < nextPopulation.length; j++)
+			nextPopulation[j] = new CompactChromosome(numCloudlets);
+		spareChild = new CompactChromosome(numCloudlets);
+		eliteIndices = new int[Math.min(config.getEliteCount(), population.length)];
+
+		generation = 0;
+		generationsWithoutImprovement = 0;
+		operatorEvaluations = 0;
+		best = new CompactChromosome(workload.getNumCloudlets());
+		rank(true);
+		if(telemetrySink != null || metrics != null)
+			publish();
+	}
+
+	/**
+	 * Whether a termination condition is satisfied, the run was cancelled or the running thread
+	 * was interrupted. The interrupt status is left set.
+	 * @return true if the run should stop
+	 */
+	public boolean isTerminated() {
+		if(cancelled || Thread.currentThread().isInterrupted())
+			return true;
+		for(TerminationCondition condition : terminationConditions)
+			if(condition.isSatisfied(this))
+				return true;
+		return false;
+	}
+
+	/**
+	 * Produces one generation: copies the elite chromosomes, fills the rest of the next
+	 * generation with children of selected parents, mutates them with the configured
+	 * probability and ranks the new population.
+	 */
+	public void nextGeneration() {
+		int size = population.length;
+		int eliteCount = eliteIndices.length;
+
+		findElite();
+		for(int e = 0; e < eliteCount; e++)
+			nextPopulation[e].copyFrom(population[eliteIndices[e]]);
+
+		selectionOperator.prepare(population);
+		int i = eliteCount;
+		while(i < size){
+			CompactChromosome parent1 = population[selectionOperator.select(population, rand)];
+			CompactChromosome parent2 = population[selectionOperator.select(population, rand)];
+
+			if(rand.nextDouble() < config.getCrossoverProbability()){
+				CompactChromosome child2 = i + 1 < size ? nextPopulation[i + 1] : spareChild;
+				crossoverOperator.crossover(parent1, parent2, nextPopulation[i], child2, evaluator, rand);
+				operatorEvaluations += 2;
+				i += 2;
+			} else {
+				nextPopulation[i++].copyFrom(parent1);
+				if(i < size)
+					nextPopulation[i++].copyFrom(parent2);
+			}
+		}
+
+		for(int j = eliteCount; j < size; j++){
+			if(rand.nextDouble() < config.getMutationProbability()){
+				mutationOperator.mutate(nextPopulation[j], evaluator, rand);
+				operatorEvaluations++;
+			}
+		}
+
+		CompactChromosome[] previous = population;
+		population = nextPopulation;
+		nextPopulation = previous;
+
+		if(!rank(false))
+			generationsWithoutImprovement++;
+		generation++;
+		if(telemetrySink != null || metrics != null)
+			publish();
+	}
+
+	/**
+	 * Publishes the generation to the metrics, and records its statistics in the telemetry sink.
+	 */
+	private void publish() {
+		long now = System.nanoTime();
+		long evaluations = getEvaluations();
+		long elapsed = now - telemetryNanos;
+		double evaluationsPerSecond = elapsed > 0 ? (evaluations - telemetryEvaluations) * 1e9 / elapsed : 0;
+		telemetryNanos = now;
+		telemetryEvaluations = evaluations;
+
+		if(metrics != null)
+			metrics.publish(generation, best.getMakespan(), evaluations, evaluationsPerSecond);
+		if(telemetrySink != null)
+			recordTelemetry(now, evaluations, evaluationsPerSecond);
+	}
+
+	/**
+	 * Sends the statistics of the current population to the telemetry sink: best, mean and
+	 * worst fitness, diversity, evaluation rate and allocations since the last record. The
+	 * diversity is also published to the metrics.
+	 * @param now - time of the record
+	 * @param evaluations - evaluations of the run
+	 * @param evaluationsPerSecond - evaluation rate since the last record
+	 */
+	private void recordTelemetry(long now, long evaluations, double evaluationsPerSecond) {
+		CompactChromosome fittest = population[firstFitIndex];
+		int[] fittestGenes = fittest.getGenes();
+		double sum = 0;
+		double worst = fittest.getFitness();
+		long differences = 0;
+		for(CompactChromosome chromosome : population){
+			double fitness = chromosome.getFitness();
+			sum += fitness;
+			worst = Math.max(worst, fitness);
+			int[] genes = chromosome.getGenes();
+			for(int i = 0; i < genes.length; i++)
+				if(genes[i] != fittestGenes[i])
+					differences++;
+		}
+
+		long allocated = allocatedBytes();
+		long allocatedDelta = allocated < 0 || telemetryAllocatedBytes < 0 ? -1 : allocated - telemetryAllocatedBytes;
+		telemetryAllocatedBytes = allocated;
+
+		double diversity = (double) differences / ((long) population.length * Math.max(1, fittestGenes.length));
+		if(metrics != null)
+			metrics.setDiversity(diversity);
+		telemetrySink.record(new GenerationStats(generation, now - startNanos, fittest.getFitness(),
+				sum / population.length, worst, best.getMakespan(), diversity,
+				generationsWithoutImprovement, evaluations, evaluationsPerSecond, allocatedDelta));
+	}
+
+	/**
+	 * Bytes allocated by the current thread since it started.
+	 * @return bytes, -1 if the JVM does not measure allocations
+	 */
+	private static long allocatedBytes() {
+		java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if(threads instanceof com.sun.management.ThreadMXBean){
+			com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+			if(allocations.isThreadAllocatedMemorySupported() && allocations.isThreadAllocatedMemoryEnabled())
+				return allocations.getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return -1;
+	}
+
+	/**
+	 * Finds the indices of the most fit chromosomes of the population, fittest first.
+	 * The elite is small, so an insertion into the sorted elite is enough.
+	 */
+	private void findElite() {
+		int count = 0;
+		for(int i = 0; i < population.length && eliteIndices.length > 0; i++){
+			double fitness = population[i].getFitness();
+			if(count == eliteIndices.length && fitness >= population[eliteIndices[count - 1]].getFitness())
+				continue;
+
+			int pos = Math.min(count, eliteIndices.length - 1);
+			while(pos > 0 && fitness < population[eliteIndices[pos - 1]].getFitness()){
+				eliteIndices[pos] = eliteIndices[pos - 1];
+				pos--;
+			}
+			eliteIndices[pos] = i;
+			if(count < eliteIndices.length)
+				count++;
+		}
+	}
+
+	/**
+	 * Produces a number of generations, whatever the termination conditions.
+	 * @param generations - number of generations
+	 */
+	public void evolve(int generations) {
+		for(int itr = 0; itr < generations; itr++)
+			nextGeneration();
+	}
+
+	/**
+	 * Evaluates the stale chromosomes, finds the most fit one and records the best
+	 * chromosome found so far.
+	 * @param force - re-score every chromosome
+	 * @return true if the best chromosome found so far improved
+	 */
+	public boolean rank(boolean force) {
+		int[] fittest = populationEvaluator.evaluate(population, force);
+		firstFitIndex = fittest[0];
+
+		if(!best.isEvaluated() || population[firstFitIndex].getFitness() < best.getFitness()){
+			best.copyFrom(population[firstFitIndex]);
+			generationsWithoutImprovement = 0;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Builds the result of the run so far. The best chromosome is copied.
+	 * @return result
+	 */
+	public GAResult getResult() {
+		CompactChromosome copy = new CompactChromosome(best.size());
+		copy.copyFrom(best);
+		return new GAResult(copy, generation, getEvaluations(),
+							System.nanoTime() - startNanos);
+	}
+
+	/**
+	 * Shuts down the pool used for parallel evaluation, if any.
+	 */
+	public void shutdown() {
+		if(pool != null){
+			pool.shutdown();
+			pool = null;
+		}
+	}
+
+	/**
+	 * Setter method for the operator that picks the parents of the next generation, in place of
+	 * the one named by the config.
+	 * @param selectionOperator - selection operator
+	 */
+	public void setSelectionOperator(SelectionOperator selectionOperator) {
+		this.selectionOperator = selectionOperator;
+	}
+
+	/**
+	 * Setter method for the operator that breeds the children of the next generation, in place
+	 * of the one named by the config.
+	 * @param crossoverOperator - crossover operator
+	 */
+	public void setCrossoverOperator(CrossoverOperator crossoverOperator) {
+		this.crossoverOperator = crossoverOperator;
+	}
+
+	/**
+	 * Setter method for the operator that mutates the children of the next generation.
+	 * @param mutationOperator - mutation operator
+	 */
+	public void setMutationOperator(MutationOperator mutationOperator) {
+		this.mutationOperator = mutationOperator;
+	}
+
+	/**
+	 * Setter method for the warm-start cache.
+	 * @param scheduleCache - cache seeding and storing the runs, null for none
+	 */
+	public void setScheduleCache(ScheduleCache scheduleCache) {
+		this.scheduleCache = scheduleCache;
+	}
+
+	/**
+	 * Setter method for the telemetry sink. The sink is not closed by the engine.
+	 * @param telemetrySink - receives the telemetry of every generation, null for none
+	 */
+	public void setTelemetrySink(TelemetrySink telemetrySink) {
+		this.telemetrySink = telemetrySink;
+	}
+
+	/**
+	 * Setter method for the live metrics, updated after the initial population and after every
+	 * generation without computing any statistics. Their diversity is only updated when a
+	 * telemetry sink is set too.
+	 * @param metrics - live metrics, null for none
+	 */
+	public void setMetrics(GAMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Getter method for the operator that picks the parents of the next generation.
+	 * @return selection operator
+	 */
+	public SelectionOperator getSelectionOperator() {
+		return selectionOperator;
+	}
+
+	/**
+	 * Getter method for the operator that breeds the children of the next generation.
+	 * @return crossover operator
+	 */
+	public CrossoverOperator getCrossoverOperator() {
+		return crossoverOperator;
+	}
+
+	/**
+	 * Getter method for the population.
+	 * @return array of compact chromosomes
+	 */
+	public CompactChromosome[] getPopulation() {
+		return population;
+	}
+
+	/**
+	 * Getter method for the most fit chromosome found so far. The chromosome is not copied.
+	 * @return chromosome
+	 */
+	public CompactChromosome getBest() {
+		return best;
+	}
+
+	/**
+	 * Getter method for fitness of the most fit chromosome found so far.
+	 * @return fitness
+	 */
+	public double getBestFitness() {
+		return best.getFitness();
+	}
+
+	/**
+	 * Getter method for number of generations produced.
+	 * @return generations
+	 */
+	public int getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * Getter method for number of chromosomes scored by the current run: re-scored by the
+	 * population evaluator, bred by a crossover or mutated, in full or incrementally.
+	 * @return evaluations, 0 before the first run
+	 */
+	public long getEvaluations() {
+		return populationEvaluator == null ? 0 : populationEvaluator.getEvaluations() + operatorEvaluations;
+	}
+
+	/**
+	 * Getter method for number of generations since the best fitness last improved.
+	 * @return generations without improvement
+	 */
+	public int getGenerationsWithoutImprovement() {
+		return generationsWithoutImprovement;
+	}
+
+	/**
+	 * Getter method for the workload of the current run.
+	 * @return workload
+	 */
+	public Workload getWorkload() {
+		return workload;
+	}
+
+	/**
+	 * Getter method for the fitness evaluator of the current run.
+	 * @return fitness evaluator
+	 */
+	public FitnessEvaluator getEvaluator() {
+		return evaluator;
+	}
+
+	/**
+	 * Getter method for the population evaluator, which holds the evaluation statistics.
+	 * @return population evaluator
+	 */
+	public PopulationEvaluator getPopulationEvaluator() {
+		return populationEvaluator;
+	}
+
+	/**
+	 * Getter method for the parameters of the runs.
+	 * @return config
+	 */
+	public GAConfig getConfig() {
+		return config;
+	}
+}
@@ -0,0 +1,125 @@
+package geneticalgo;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Live metrics of the {@link GAEngine} runs, read over JMX or by a {@link MetricsHttpServer}.
+ * The engine publishes the generation, best makespan and evaluations of every generation, set
+ * with {@link GAEngine#setMetrics(GAMetrics)}, without computing any statistics. The diversity
+ * is a statistic of the telemetry, so it stays NaN unless the engine also has a
+ * {@link TelemetrySink}.
+ *
+ * Every metric is an atomic written with lazySet by the thread running the engine and read with
+ * a volatile read by the scrapers, so neither side ever takes a lock or waits on the other.
+ * Doubles are stored as their raw long bits. The metrics of one engine running at a time are
+ * consistent; several engines sharing an instance interleave their generations.
+ */
+public class GAMetrics implements GAMetricsMBean {
+
+	/** Name the metrics are registered under */
+	public static final String OBJECT_NAME = "geneticalgo:type=GAMetrics";
+
+	/** Generation of the current run */
+	private final AtomicInteger generation = new AtomicInteger();
+
+	/** Best makespan of the current run, as raw long bits */
+	private final AtomicLong bestMakespan = new AtomicLong(Double.doubleToRawLongBits(Double.NaN));
+
+	/** Evaluations per second of the last generation, as raw long bits */
+	private final AtomicLong evaluationsPerSecond = new AtomicLong();
+
+	/** Diversity of the last generation, as raw long bits */
+	private final AtomicLong diversity = new AtomicLong(Double.doubleToRawLongBits(Double.NaN));
+
+	/** Chromosomes scored by all runs */
+	private final AtomicLong evaluations = new AtomicLong();
+
+	/** Runs started */
+	private final AtomicLong runs = new AtomicLong();
+
+	/** Chromosomes scored by the current run, only touched by the engine thread */
+	private long runEvaluations;
+
+	/**
+	 * Publishes a generation of the current run, on the thread running the engine. Generation 0
+	 * starts a new run.
+	 * @param generation - generation, 0 for the initial population
+	 * @param bestMakespan - makespan of the most fit chromosome found by the run
+	 * @param runEvaluations - chromosomes scored since the run started
+	 * @param evaluationsPerSecond - chromosomes scored per second during the generation
+	 */
+	void publish(int generation, double bestMakespan, long runEvaluations, double evaluationsPerSecond) {
+		if(generation == 0){
+			runs.lazySet(runs.get() + 1);
+			this.runEvaluations = 0;
+		}
+		evaluations.lazySet(evaluations.get() + runEvaluations - this.runEvaluations);
+		this.runEvaluations = runEvaluations;
+		this.generation.lazySet(generation);
+		this.bestMakespan.lazySet(Double.doubleToRawLongBits(bestMakespan));
+		this.evaluationsPerSecond.lazySet(Double.doubleToRawLongBits(evaluationsPerSecond));
+	}
+
+	/**
+	 * Publishes the diversity of the last generation, computed by the telemetry of the engine.
+	 * @param diversity - mean fraction of genes that differ from the most fit chromosome
+	 */
+	void setDiversity(double diversity) {
+		this.diversity.lazySet(Double.doubleToRawLongBits(diversity));
+	}
+
+	public int getGeneration() {
+		return generation.get();
+	}
+
+	public double getBestMakespan() {
+		return Double.longBitsToDouble(bestMakespan.get());
+	}
+
+	public double getEvaluationsPerSecond() {
+		return Double.longBitsToDouble(evaluationsPerSecond.get());
+	}
+
+	public long getEvaluations() {
+		return evaluations.get();
+	}
+
+	public double getDiversity() {
+		return Double.longBitsToDouble(diversity.get());
+	}
+
+	public long getRuns() {
+		return runs.get();
+	}
+
+	/**
+	 * Registers the metrics with the platform MBean server, replacing the metrics registered
+	 * before under the same name.
+	 * @return name of the MBean
+	 * @throws JMException if the metrics cannot be registered
+	 */
+	public ObjectName register() throws JMException {
+		return register(this, new ObjectName(OBJECT_NAME));
+	}
+
+	/**
+	 * Registers an MBean with the platform MBean server, replacing any MBean of the same name.
+	 * @param mbean - the MBean
+	 * @param name - name of the MBean
+	 * @return name of the MBean
+	 * @throws JMException if the MBean cannot be registered
+	 */
+	static ObjectName register(Object mbean, ObjectName name) throws JMException {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		if(server.isRegistered(name))
+			server.unregisterMBean(name);
+		server.registerMBean(mbean, name);
+		return name;
+	}
+}
@@ -0,0 +1,38 @@
+package geneticalgo;
+
+/**
+ * Management interface of {@link GAMetrics}, registered as geneticalgo:type=GAMetrics.
+ */
+public interface GAMetricsMBean {
+
+	/**
+	 * @return generation of the current run, 0 for the initial population
+	 */
+	int getGeneration();
+
+	/**
+	 * @return makespan of the most fit chromosome found by the current run
+	 */
+	double getBestMakespan();
+
+	/**
+	 * @return chromosomes scored per second during the last generation
+	 */
+	double getEvaluationsPerSecond();
+
+	/**
+	 * @return chromosomes scored by all runs
+	 */
+	long getEvaluations();
+
+	/**
+	 * @return diversity of the population of the last generation, from 0 to 1, NaN when the
+	 * engine records no telemetry
+	 */
+	double getDiversity();
+
+	/**
+	 * @return runs started
+	 */
+	long getRuns();
+}
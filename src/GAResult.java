@@ -0,0 +1,81 @@
+package geneticalgo;
+
+/**
+ * Outcome of a {@link GAEngine} run: the most fit chromosome found and how it was reached.
+ */
+public class GAResult {
+
+	/** Most fit chromosome found */
+	private final CompactChromosome best;
+
+	/** Number of generations produced */
+	private final int generations;
+
+	/** Number of chromosomes scored, see {@link GAEngine#getEvaluations()} */
+	private final long evaluations;
+
+	/** Wall time of the run */
+	private final long elapsedNanos;
+
+	/**
+	 * Create a new GAResult.
+	 * @param best - most fit chromosome found
+	 * @param generations - number of generations produced
+	 * @param evaluations - number of chromosomes scored
+	 * @param elapsedNanos - wall time of the run
+	 */
+	public GAResult(CompactChromosome best, int generations, long evaluations, long elapsedNanos) {
+		this.best = best;
+		this.generations = generations;
+		this.evaluations = evaluations;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * Getter method for the most fit chromosome found.
+	 * @return chromosome
+	 */
+	public CompactChromosome getBest() {
+		return best;
+	}
+
+	/**
+	 * Getter method for fitness of the most fit chromosome.
+	 * @return fitness
+	 */
+	public double getFitness() {
+		return best.getFitness();
+	}
+
+	/**
+	 * Getter method for makespan of the most fit chromosome.
+	 * @return makespan
+	 */
+	public double getMakespan() {
+		return best.getMakespan();
+	}
+
+	/**
+	 * Getter method for number of generations produced.
+	 * @return generations
+	 */
+	public int getGenerations() {
+		return generations;
+	}
+
+	/**
+	 * Getter method for number of chromosomes scored, in full or incrementally.
+	 * @return evaluations
+	 */
+	public long getEvaluations() {
+		return evaluations;
+	}
+
+	/**
+	 * Getter method for wall time of the run.
+	 * @return elapsed time in nanoseconds
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+}
@@ -0,0 +1,163 @@
+package geneticalgo;
+
+/**
+ * Telemetry of one generation of a {@link GAEngine} run, passed to a {@link TelemetrySink}.
+ * Generation 0 is the initial population.
+ */
+public class GenerationStats {
+
+	/** Generation, 0 for the initial population */
+	private final int generation;
+
+	/** Wall time since the run started */
+	private final long elapsedNanos;
+
+	/** Fitness of the most fit chromosome of the population */
+	private final double bestFitness;
+
+	/** Mean fitness of the population */
+	private final double meanFitness;
+
+	/** Fitness of the least fit chromosome of the population */
+	private final double worstFitness;
+
+	/** Makespan of the most fit chromosome found so far */
+	private final double bestMakespan;
+
+	/** Mean fraction of genes that differ from the most fit chromosome of the population */
+	private final double diversity;
+
+	/** Number of generations since the best fitness last improved */
+	private final int generationsWithoutImprovement;
+
+	/** Number of chromosomes scored since the run started, full or incremental */
+	private final long evaluations;
+
+	/** Chromosomes scored per second during the generation */
+	private final double evaluationsPerSecond;
+
+	/** Bytes allocated by the running thread during the generation, -1 if not supported */
+	private final long allocatedBytes;
+
+	/**
+	 * Create a new GenerationStats.
+	 * @param generation - generation, 0 for the initial population
+	 * @param elapsedNanos - wall time since the run started
+	 * @param bestFitness - fitness of the most fit chromosome of the population
+	 * @param meanFitness - mean fitness of the population
+	 * @param worstFitness - fitness of the least fit chromosome of the population
+	 * @param bestMakespan - makespan of the most fit chromosome found so far
+	 * @param diversity - mean fraction of genes that differ from the most fit chromosome
+	 * @param generationsWithoutImprovement - generations since the best fitness last improved
+	 * @param evaluations - chromosomes scored since the run started, full or incremental
+	 * @param evaluationsPerSecond - chromosomes scored per second during the generation
+	 * @param allocatedBytes - bytes allocated by the running thread during the generation, or -1
+	 */
+	public GenerationStats(int generation, long elapsedNanos, double bestFitness, double meanFitness,
+						double worstFitness, double bestMakespan, double diversity,
+						int generationsWithoutImprovement, long evaluations,
+						double evaluationsPerSecond, long allocatedBytes) {
+		this.generation = generation;
+		this.elapsedNanos = elapsedNanos;
+		this.bestFitness = bestFitness;
+		this.meanFitness = meanFitness;
+		this.worstFitness = worstFitness;
+		this.bestMakespan = bestMakespan;
+		this.diversity = diversity;
+		this.generationsWithoutImprovement = generationsWithoutImprovement;
+		this.evaluations = evaluations;
+		this.evaluationsPerSecond = evaluationsPerSecond;
+		this.allocatedBytes = allocatedBytes;
+	}
+
+	/**
+	 * Getter method for generation.
+	 * @return generation, 0 for the initial population
+	 */
+	public int getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * Getter method for wall time since the run started.
+	 * @return nanoseconds
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * Getter method for fitness of the most fit chromosome of the population.
+	 * @return best fitness
+	 */
+	public double getBestFitness() {
+		return bestFitness;
+	}
+
+	/**
+	 * Getter method for mean fitness of the population.
+	 * @return mean fitness
+	 */
+	public double getMeanFitness() {
+		return meanFitness;
+	}
+
+	/**
+	 * Getter method for fitness of the least fit chromosome of the population.
+	 * @return worst fitness
+	 */
+	public double getWorstFitness() {
+		return worstFitness;
+	}
+
+	/**
+	 * Getter method for makespan of the most fit chromosome found so far.
+	 * @return makespan
+	 */
+	public double getBestMakespan() {
+		return bestMakespan;
+	}
+
+	/**
+	 * Getter method for diversity of the population: the mean fraction of genes of a chromosome
+	 * that differ from the most fit chromosome. 0 once the population has converged.
+	 * @return diversity, from 0 to 1
+	 */
+	public double getDiversity() {
+		return diversity;
+	}
+
+	/**
+	 * Getter method for number of generations since the best fitness last improved.
+	 * @return generations without improvement
+	 */
+	public int getGenerationsWithoutImprovement() {
+		return generationsWithoutImprovement;
+	}
+
+	/**
+	 * Getter method for number of chromosomes scored since the run started, as counted by
+	 * {@link GAEngine#getEvaluations()}. Elite copies are not scored.
+	 * @return evaluations
+	 */
+	public long getEvaluations() {
+		return evaluations;
+	}
+
+	/**
+	 * Getter method for chromosomes scored per second during the generation.
+	 * @return evaluations per second
+	 */
+	public double getEvaluationsPerSecond() {
+		return evaluationsPerSecond;
+	}
+
+	/**
+	 * Getter method for bytes allocated by the thread running the engine during the generation.
+	 * Allocations of the threads of a parallel evaluation are not included.
+	 * @return bytes, -1 if the JVM does not measure allocations
+	 */
+	public long getAllocatedBytes() {
+		return allocatedBytes;
+	}
+}
@@ -1,20 +1,16 @@
 package geneticalgo;
 
+import java.io.File;
+import java.io.IOException;
 import java.text.DecimalFormat;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Random;
 import java.util.Calendar;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.LinkedList;
 import java.util.List;
 
 import org.cloudbus.cloudsim.Cloudlet;
-import org.cloudbus.cloudsim.CloudletSchedulerSpaceShared;
 import org.cloudbus.cloudsim.Datacenter;
 import org.cloudbus.cloudsim.Log;
-import org.cloudbus.cloudsim.UtilizationModel;
-import org.cloudbus.cloudsim.UtilizationModelFull;
 import org.cloudbus.cloudsim.Vm;
 import org.cloudbus.cloudsim.core.CloudSim;
 
@@ -33,71 +29,36 @@ public class GeneticAlgorithm {
 	/** The list of VMs */
 	private static List<Vm> vmlist;
 	
+	/** Parameters of the generated Cloudlets and VMs, seeded by -Dgeneticalgo.seed */
+	private static ScenarioConfig scenario = new ScenarioConfig();
+	
 	
 	/**
-	 * Creates a container to store VMs. This list is passed to the broker later.
+	 * Creates the VMs. They are passed to the broker later.
 	 * @param userId - the id of user
 	 * @param vms - number of Vms
-	 * @return list of Vms
+	 * @return array of Vms
 	 */
-	private static List<Vm> createVM(int userId, int vms) {
-
-		LinkedList<Vm> list = new LinkedList<Vm>();
+	private static Vm[] createVM(int userId, int vms) {
 
-		// VM Parameters
-		long size = 10000; 		// image size (MB)
-		int ram = 512; 			// vm memory (MB)
-		int mips = 500;			// Million Instructions Per Sec
-		long bw = 10;			// bandwidth
-		int pesNumber = 4;		// number of cpus
-		String vmm = "Xen"; 	// VMM name
-		Random rOb = new Random();
-		
-		// Create VMs
-		Vm[] vm = new Vm[vms];
-		for (int i = 0; i < vms; i++) {
-			
-			vm[i] = new Vm(i, userId, mips + rOb.nextInt(500), 
-							pesNumber, ram, 
-							bw, size, vmm, 
-							new CloudletSchedulerSpaceShared());
-			
-			list.add(vm[i]);
-		}
-
-		return list;
+		// VM Parameters are the defaults of ScenarioConfig:
+		// 500 to 999 mips, 4 cpus, 512 MB memory, 10 bandwidth, 10000 MB image, Xen
+		scenario.setNumVms(vms);
+		return new WorkloadGenerator(scenario).createVms(userId);
 	}
 	
 	/**
-	 * Creates a container to store cloudlets
+	 * Creates the cloudlets
 	 * @param userId - id of user
 	 * @param cloudlets - number of cloudlets
-	 * @return list of Cloudlets
+	 * @return array of Cloudlets
 	 */
-	private static List<Cloudlet> createCloudlet(int userId, int cloudlets) {
-		LinkedList<Cloudlet> list = new LinkedList<Cloudlet>();
-
-		// Cloudlet parameters
-		long length = 1000;			// million instructions(MI)
-		long fileSize = 300;		// file size before submitting (in bytes)
-		long outputSize = 300;		// file size after submitting (in bytes)
-		int pesNumber = 1;			// cpu
-		UtilizationModel utilizationModel = new UtilizationModelFull();
-
-		Cloudlet[] cloudlet = new Cloudlet[cloudlets];
+	private static Cloudlet[] createCloudlet(int userId, int cloudlets) {
 
-		for (int i = 0; i < cloudlets; i++) {
-			
-			int x = (int) (Math.random() * ((1000 - 1) + 1)) + 1;
-			cloudlet[i] = new Cloudlet(i, (length + x), pesNumber, fileSize,
-								outputSize, utilizationModel, utilizationModel, utilizationModel);
-			
-			// Setting the owner of these Cloudlets
-			cloudlet[i].setUserId(userId);
-			list.add(cloudlet[i]);
-		}
-
-		return list;
+		// Cloudlet parameters are the defaults of ScenarioConfig:
+		// 1001 to 2000 million instructions, 1 cpu, 300 bytes before and after submitting
+		scenario.setNumCloudlets(cloudlets);
+		return new WorkloadGenerator(scenario).createCloudlets(userId);
 	}
 
 	/**
@@ -116,6 +77,12 @@ public class GeneticAlgorithm {
 
 			// Initialize the CloudSim library
 			CloudSim.init(num_user, calendar, trace_flag);
+			
+			// A seed reproduces the Cloudlets and VMs of an earlier run
+			String seed = System.getProperty("geneticalgo.seed");
+			if(seed != null)
+				scenario.setSeed(Long.parseLong(seed));
+			Log.printLine("Scenario seed: " + scenario.getSeed());
 
 			//Create Datacenters
 			@SuppressWarnings("unused")
@@ -124,113 +91,155 @@ public class GeneticAlgorithm {
 			//Create Broker
 			GADatacenterBroker broker = createBroker();
 			int brokerId = broker.getId();
-
-			// Create VMs and Cloudlets and send them to broker
-			vmlist = createVM(brokerId, 10); // creating 10 vms
-			cloudletList = createCloudlet(brokerId, 50); // creating 50 cloudlets
 			
-			// Create a list to contain Cloudlets in sorted order of length
-			List<Cloudlet> sortedCloudletList = new ArrayList<Cloudlet>();
-			for(Cloudlet cloudlet : cloudletList)
-				sortedCloudletList.add(cloudlet);
-			
-			// Sort sortedCloudletList based on length in ascending order
-			Collections.sort(sortedCloudletList, new Comparator<Cloudlet>(){
-				public int compare(Cloudlet c1, Cloudlet c2) {
-					return (int)(c1.getCloudletLength() - c2.getCloudletLength());
-				}
-			});
+			// Binary event log of the broker with -Dgeneticalgo.events=<file>, decoded by BrokerEventRenderer.
+			// Every event is also printed as text with -Dgeneticalgo.events.text=true, only warnings otherwise
+			BrokerEventLog eventLog = null;
+			String eventsPath = System.getProperty("geneticalgo.events");
+			boolean eventsText = Boolean.getBoolean("geneticalgo.events.text");
+			if(eventsPath != null){
+				eventLog = new BrokerEventLog(broker.getName(), BrokerEventLog.Level.DEBUG, eventsPath,
+						BrokerEventLog.DEFAULT_CAPACITY, eventsText);
+				broker.setEventLog(eventLog);
+			} else if(eventsText){
+				broker.getEventLog().setLevel(BrokerEventLog.Level.DEBUG);
+			}
 			
-			// Create a list to contain the VMs in sorted order by of mips(descending)
-			ArrayList<Vm> sortedVmList = new ArrayList<Vm>();		
-			for(Vm vm : vmlist)
-				sortedVmList.add(vm);
+			// Live metrics over JMX, and over HTTP on localhost with -Dgeneticalgo.metrics.port=<port>
+			GAMetrics gaMetrics = new GAMetrics();
+			gaMetrics.register();
+			BrokerMetrics brokerMetrics = new BrokerMetrics(broker.getName());
+			brokerMetrics.register();
+			broker.setMetrics(brokerMetrics);
+			MetricsHttpServer metricsServer = null;
+			String metricsPort = System.getProperty("geneticalgo.metrics.port");
+			if(metricsPort != null){
+				metricsServer = new MetricsHttpServer(Integer.parseInt(metricsPort), gaMetrics, brokerMetrics);
+				Log.printLine("Metrics: http://localhost:" + metricsServer.getPort() + "/metrics");
+			}
+
+			// Create VMs and Cloudlets and send them to broker
+			Vm[] vms = createVM(brokerId, 10); // creating 10 vms
+			Cloudlet[] cloudlets = createCloudlet(brokerId, 50); // creating 50 cloudlets
+			vmlist = Arrays.asList(vms);
+			cloudletList = Arrays.asList(cloudlets);
 			
-			// Sorting sortedVmList based on mips, descending order			
-			Collections.sort(sortedVmList, new Comparator<Vm>() {
-				public int compare(Vm v1, Vm v2) {
-					return (int)(v2.getMips() - v1.getMips());
-				}
-			});
+			// Online mode: cloudlets arrive over time and are scheduled window by window,
+			// either the 50 cloudlets or the jobs of a SWF / GWF trace: online [trace [maxJobs]]
+			if(args.length > 0 && args[0].equals("online")){
+				String tracePath = args.length > 1 ? args[1] : null;
+				long maxJobs = args.length > 2 ? Long.parseLong(args[2]) : Long.MAX_VALUE;
+				runOnline(broker, tracePath, maxJobs, gaMetrics);
+				if(eventLog != null)
+					eventLog.close();
+				if(metricsServer != null)
+					metricsServer.close();
+				Log.printLine("Process finished!");
+				return;
+			}
 			
-			int numVms = sortedVmList.size();	
-			int numCloudlets = sortedCloudletList.size();
+			// Sort the Cloudlets by ascending length and the VMs by descending mips, in place
+			Workload workload = Workload.sort(cloudlets, vms);
 			
-			GeneticFunctions gf = new GeneticFunctions();
+			int numCloudlets = workload.getNumCloudlets();
 			
-			/*
-			 * INITIALISE POPULATION
-			 */
-			ArrayList<Chromosomes> initialPopulation = gf.initialisePopulation(numCloudlets, numVms, 
-											sortedVmList, sortedCloudletList);
+			// Population size and number of generations are set explicitly instead of numCloudlets
+			GAConfig config = new GAConfig();
+			config.setPopulationSize(Math.max(2, Math.min(numCloudlets, 100)));
+			config.setMaxGenerations(Math.max(numCloudlets, 1000));
+			config.setStagnationLimit(200);
+			config.setHeuristicSeeding(true);
+			config.setParallelism(Runtime.getRuntime().availableProcessors());
+			config.setSeed(scenario.getSeed());
+			// The vms are space-shared: score schedules with their PEs, unless -Dgeneticalgo.model=etc
+			config.setFitnessModel(FitnessModel.valueOf(
+					System.getProperty("geneticalgo.model", "space_shared").toUpperCase()));
+			// Parents are picked by tournament, or by roulette with -Dgeneticalgo.selection=roulette
+			config.setSelection(SelectionOperator.Type.valueOf(
+					System.getProperty("geneticalgo.selection", "tournament").toUpperCase()));
+			// One-point crossover, or -Dgeneticalgo.crossover=two_point or uniform
+			config.setCrossover(CrossoverOperator.Type.valueOf(
+					System.getProperty("geneticalgo.crossover", "one_point").toUpperCase()));
+			// An island model of that many islands, each of the population size, with -Dgeneticalgo.islands=<n>
+			config.setIslands(Integer.getInteger("geneticalgo.islands", 1));
+			GAEngine engine = new GAEngine(config);
+			engine.setMutationOperator(new RebalancingMutation());
 			
-			int firstFitIndex = 0;		// denotes the most fit chromosome in the population
-			int secondFitIndex = 0;		// denotes the second most fit chromosome in the population
-			double time = 1000000;		// upper bound of time to process all cloudlets
-			int populationSize = initialPopulation.size();
+			// Warm start from the schedules of earlier runs when a cache file is given
+			ScheduleCache scheduleCache = null;
+			String cachePath = System.getProperty("geneticalgo.cache");
+			if(cachePath != null){
+				scheduleCache = new ScheduleCache(new File(cachePath));
+				engine.setScheduleCache(scheduleCache);
+			}
 			
-			/*
-			 * INITIAL FITNESS CHECK
-			 */
-			double[] parameters = gf.calculateFitness(initialPopulation, firstFitIndex, 
-										secondFitIndex, time, numCloudlets, populationSize);
-			firstFitIndex = (int)parameters[0];	
-			secondFitIndex = (int)parameters[1];
-			time = parameters[2];
+			// Per-generation telemetry, as JSON lines for a .jsonl file and as CSV otherwise
+			TelemetrySink telemetrySink = null;
+			String telemetryPath = System.getProperty("geneticalgo.telemetry");
+			if(telemetryPath != null){
+				File telemetryFile = new File(telemetryPath);
+				if(config.getIslands() > 1)
+					Log.printLine("Telemetry is not recorded by the island model, " + telemetryPath + " is not written");
+				else if(telemetryPath.endsWith(".jsonl"))
+					telemetrySink = new TelemetrySink.JsonLines(telemetryFile);
+				else
+					telemetrySink = new TelemetrySink.Csv(telemetryFile);
+			}
+			engine.setTelemetrySink(telemetrySink);
+			engine.setMetrics(gaMetrics);
 			
-			/*
-			 * START PRODUCING GENERATIONS 
-			 * run for "numVms" number of generations
-			 */
-			for(int itr = 0; itr < numCloudlets; itr++){				
-				
+			GAResult gaResult;
+			if(config.getIslands() > 1){
+				// Island model: every island evolves a population of its own, with migrations
+				gaResult = runIslands(workload, config, scheduleCache, gaMetrics);
+			} else {
 				/*
-				 * SELECTION AND CROSSOVER
+				 * INITIALISE POPULATION AND INITIAL FITNESS CHECK
 				 */
-				gf.selectionAndCrossOver(initialPopulation, firstFitIndex, 
-										secondFitIndex, numCloudlets);
-			    
-				double rangeMin = 0.0f;
-			    double rangeMax = 1.0f;
-			    Random r = new Random();
-				double mutProb = rangeMin + (rangeMax - rangeMin) * r.nextDouble();
+				engine.initialise(workload);
 				
 				/*
-				 * MUTATION
+				 * START PRODUCING GENERATIONS 
+				 * until max generations, or no improvement for the stagnation limit
 				 */
-				if(mutProb < 0.5)
-					gf.mutation(r, initialPopulation, populationSize, 
-									sortedVmList, numCloudlets);
-				
-				/*
-				 * UPDATE FITNESS CHECK
-				 */
-				parameters = gf.calculateFitness(initialPopulation, firstFitIndex, 
-										secondFitIndex, time, numCloudlets, populationSize);
-				
-				firstFitIndex = (int)parameters[0];	
-				secondFitIndex = (int)parameters[1];
-				time = parameters[2];
-				System.out.println("Time at "+ itr + "-th " + time);
-			}			
-			System.out.println("Final time: " + time);
+				while(!engine.isTerminated()){
+					
+					/*
+					 * SELECTION, CROSSOVER, MUTATION AND UPDATE FITNESS CHECK
+					 */
+					engine.nextGeneration();
+					System.out.println("Time at "+ (engine.getGeneration() - 1) + "-th " + engine.getBest().getMakespan());
+				}
+				gaResult = engine.getResult();
+			}
+			// Speedup of the parallel evaluation, from a sequential and a parallel pass over the final population
+			PopulationEvaluator populationEvaluator = engine.getPopulationEvaluator();
+			double speedup = populationEvaluator != null ? populationEvaluator.measureSpeedup(engine.getPopulation()) : 1;
+			engine.shutdown();
+			if(telemetrySink != null)
+				telemetrySink.close();
 			
-			// Store most fit chromosome's genelist
-			ArrayList<Gene> final_Gene_list = new ArrayList<Gene>();
-			final_Gene_list = initialPopulation.get(firstFitIndex).getGeneList();
-		
-			List<Cloudlet> final_Cloudlet_list = new ArrayList<Cloudlet>();		//for storing final cloudlets in order
-			List<Vm> final_Vm_list = new ArrayList<Vm>();						//for storing final Vms in order
+			System.out.println("Final time: " + gaResult.getMakespan() + " after " + gaResult.getGenerations() 
+					+ " generations (population of " + config.getPopulationSize() + ")");
+			System.out.println("Evaluations: " + gaResult.getEvaluations() + ", " 
+					+ (long)(gaResult.getEvaluations() * 1e9 / Math.max(1, gaResult.getElapsedNanos())) + "/s" 
+					+ (populationEvaluator != null ? ", utilisation " + populationEvaluator.getUtilisation() 
+						+ ", speedup " + speedup + " over sequential" : " over " + config.getIslands() + " islands"));
 			
-			// Store the most fit cloudlets and Vms into respective lists
-			for(Gene g : final_Gene_list){
-				final_Cloudlet_list.add(g.getCloudletFromGene());
-				final_Vm_list.add(g.getVmFromGene());
+			if(scheduleCache != null){
+				// the island model stores its populations itself
+				if(engine.getPopulation() != null)
+					scheduleCache.put(workload, engine.getPopulation());
+				scheduleCache.save();
+				double seedMakespan = scheduleCache.getSeedMakespan();
+				System.out.println("Schedule cache: " + (Double.isNaN(seedMakespan) ? "cold start" 
+						: "warm start from a cached makespan of " + seedMakespan + ", gap " + (gaResult.getMakespan() - seedMakespan)) 
+						+ ", " + scheduleCache.size() + " entries, " + scheduleCache.getBytes() + " bytes");
 			}
 			
-			// Submit to broker
-			broker.submitVmList(final_Vm_list);
-			broker.submitCloudletList(final_Cloudlet_list);
+			// Materialize the most fit chromosome and submit it to broker, 
+			// each cloudlet bound to the Vm chosen for it
+			broker.submitSchedule(workload.toChromosomes(gaResult.getBest()));
 
 			// Start the simulation
 			CloudSim.startSimulation();
@@ -241,7 +250,18 @@ public class GeneticAlgorithm {
 			CloudSim.stopSimulation();
 
 			printCloudletList(result);
+			
+			// Predicted against simulated finish times, for the model of the run and the other one
+			int[] bestGenes = gaResult.getBest().getGenes();
+			for(FitnessModel model : FitnessModel.values())
+				if(model != config.getFitnessModel())
+					printFinishTimeReport(new FinishTimeReport(workload, bestGenes, model), false);
+			printFinishTimeReport(new FinishTimeReport(workload, bestGenes, config.getFitnessModel()), true);
 
+			if(eventLog != null)
+				eventLog.close();
+			if(metricsServer != null)
+				metricsServer.close();
 			Log.printLine("Process finished!");
 		} 
 		catch (Exception e) {
@@ -250,6 +270,85 @@ public class GeneticAlgorithm {
 		}
 	}
 	
+	/**
+	 * Runs an island model of the config, every island mutating with its own RebalancingMutation.
+	 * @param workload - sorted Cloudlets and Vms
+	 * @param config - parameters of every island and of the migration
+	 * @param scheduleCache - warm-start cache of the islands, or null
+	 * @param gaMetrics - live metrics of the run
+	 * @return the most fit chromosome over all islands
+	 * @throws InterruptedException if interrupted while waiting for the islands
+	 */
+	private static GAResult runIslands(Workload workload, GAConfig config, ScheduleCache scheduleCache,
+										GAMetrics gaMetrics) throws InterruptedException {
+		IslandModel islandModel = new IslandModel(workload, config);
+		islandModel.setScheduleCache(scheduleCache);
+		islandModel.setMetrics(gaMetrics);
+		MutationOperator[] mutationOperators = new MutationOperator[config.getIslands()];
+		for(int k = 0; k < mutationOperators.length; k++)
+			mutationOperators[k] = new RebalancingMutation();
+		islandModel.setMutationOperators(mutationOperators);
+		return islandModel.run();
+	}
+	
+	/**
+	 * Runs the simulation in online mode: the cloudlets arrive one after the other and every
+	 * window of arrivals is scheduled by the Genetic Algorithm when it closes.
+	 * @param broker - broker of the vms and cloudlets
+	 * @param tracePath - trace replayed instead of the cloudlets, or null
+	 * @param maxJobs - largest number of jobs replayed from the trace
+	 * @param gaMetrics - live metrics of the runs
+	 * @throws IOException if the trace cannot be read
+	 */
+	private static void runOnline(GADatacenterBroker broker, String tracePath, long maxJobs,
+									GAMetrics gaMetrics) throws IOException {
+		GAConfig config = new GAConfig();
+		config.setPopulationSize(50);
+		config.setMaxGenerations(200);
+		config.setStagnationLimit(50);
+		config.setHeuristicSeeding(true);
+		config.setSeed(scenario.getSeed());
+		config.setFitnessModel(FitnessModel.valueOf(
+				System.getProperty("geneticalgo.model", "space_shared").toUpperCase()));
+		
+		// A window closes after 10 cloudlets or 0.5 time units
+		OnlineScheduler scheduler = new OnlineScheduler(config, 10, 0.5);
+		scheduler.setMetrics(gaMetrics);
+		// Every window is scheduled within 200 ms of wall time, unless -Dgeneticalgo.window.budget=<ms>
+		scheduler.setWindowBudgetMillis(Long.getLong("geneticalgo.window.budget", 200));
+		broker.setOnlineScheduler(scheduler);
+		broker.submitVmList(vmlist);
+		
+		TraceReader trace = null;
+		if(tracePath != null){
+			// Jobs are read lazily as the simulation reaches their submit time
+			trace = new TraceReader(new File(tracePath));
+			trace.setMaxPes(vmlist.get(0).getNumberOfPes());
+			trace.setMaxJobs(maxJobs);
+			broker.setArrivalSource(trace);
+		} else {
+			// Exponential inter-arrival times, 0.1 on average, drawn from the scenario seed
+			Random rOb = new Random(scenario.getSeed());
+			double arrivalTime = 0;
+			for(Cloudlet cloudlet : cloudletList){
+				arrivalTime += -0.1 * Math.log(1 - rOb.nextDouble());
+				broker.submitCloudletArrival(cloudlet, arrivalTime);
+			}
+		}
+		
+		CloudSim.startSimulation();
+		List<Cloudlet> result = broker.getCloudletReceivedList();
+		CloudSim.stopSimulation();
+		scheduler.shutdown();
+		if(trace != null){
+			trace.close();
+			Log.printLine("Trace: " + trace.getJobs() + " jobs replayed, " + trace.getSkipped() + " skipped");
+		}
+		
+		printCloudletList(result);
+		printWindowReports(broker.getWindowReports());
+	}
+	
 	/**
 	 * Creates a new Broker
 	 * @return broker
@@ -304,4 +403,65 @@ public class GeneticAlgorithm {
 		}
 
 	}
+
+	/**
+	 * Prints the predicted and simulated finish times of the cloudlets of a schedule
+	 * 
+	 * @param report - predicted and simulated finish times
+	 * @param rows - print a row per cloudlet, not only the errors
+	 */
+	private static void printFinishTimeReport(FinishTimeReport report, boolean rows) {
+		String indent = "    ";
+		DecimalFormat dft = new DecimalFormat("###.##");
+		Log.printLine();
+		Log.printLine("========== " + report.getModel() + " MODEL ==========");
+		if (rows) {
+			Log.printLine("Cloudlet ID" + indent + "VM ID" + indent + "Predicted" + indent 
+					+ "Simulated" + indent + "Error");
+			for (int i = 0; i < report.size(); i++) {
+				Cloudlet cloudlet = report.getCloudlet(i);
+				double predicted = report.getPredictedFinishTime(i);
+				double simulated = report.getSimulatedFinishTime(i);
+				Log.printLine(indent + cloudlet.getCloudletId() + indent + indent + cloudlet.getVmId()
+						+ indent + indent + dft.format(predicted) + indent + indent
+						+ (Double.isNaN(simulated) ? "-" : dft.format(simulated) + indent + indent 
+								+ dft.format(predicted - simulated)));
+			}
+		}
+		Log.printLine("Makespan: predicted " + dft.format(report.getPredictedMakespan()) + ", simulated "
+				+ dft.format(report.getSimulatedMakespan()) + " (dispatch at " + dft.format(report.getDispatchTime()) + ")");
+		Log.printLine("Finish time error: mean " + dft.format(report.getMeanAbsoluteError()) + ", max "
+				+ dft.format(report.getMaxAbsoluteError()) + " over " + report.getCompleted() + " cloudlets");
+	}
+
+	/**
+	 * Prints the scheduling latency and backlog of every window of online mode
+	 * 
+	 * @param reports - reports of the windows
+	 */
+	private static void printWindowReports(List<WindowReport> reports) {
+		String indent = "    ";
+		Log.printLine();
+		Log.printLine("========== WINDOWS ==========");
+		Log.printLine("Window" + indent + "Cloudlets" + indent + "Opened" + indent + "Wait"
+				+ indent + "GA Latency (ms)" + indent + "Makespan" + indent + "Backlog");
+
+		DecimalFormat dft = new DecimalFormat("###.##");
+		long totalNanos = 0;
+		long maxNanos = 0;
+		for (WindowReport report : reports) {
+			totalNanos += report.getSchedulingNanos();
+			maxNanos = Math.max(maxNanos, report.getSchedulingNanos());
+			Log.printLine(indent + report.getIndex() + indent + indent + report.getSize()
+					+ indent + indent + dft.format(report.getOpenedAt())
+					+ indent + dft.format(report.getWaitTime())
+					+ indent + indent + dft.format(report.getSchedulingNanos() / 1e6)
+					+ indent + indent + indent + dft.format(report.getPredictedMakespan())
+					+ indent + indent + report.getBacklog());
+		}
+		if (!reports.isEmpty()) {
+			Log.printLine("GA latency: mean " + dft.format(totalNanos / 1e6 / reports.size())
+					+ " ms, max " + dft.format(maxNanos / 1e6) + " ms");
+		}
+	}
 }
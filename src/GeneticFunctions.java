@@ -169,4 +169,120 @@ public class GeneticFunctions {
 		n = rand.nextInt(numCloudlets) % numCloudlets; 
 		mutchromosome.updateGene(n, highestMipsVM);		
 	}
+
+	/**
+	 * Creates a population of compact chromosomes with the same rotation as
+	 * {@link #initialisePopulation(int, int, ArrayList, List)}: the j-th chromosome's gene list
+	 * starts with the j-th vm of the sorted Vm list.
+	 * Genes are Vm indices into the workload, so no Gene objects are created.
+	 * 
+	 * @param workload - sorted Cloudlets and Vms
+	 * @param populationSize - number of chromosomes in the population
+	 * 
+	 * @return an array of CompactChromosome
+	 */
+	public CompactChromosome[] initialisePopulation(Workload workload, int populationSize) {
+		
+		int numCloudlets = workload.getNumCloudlets();
+		int numVms = workload.getNumVms();
+		CompactChromosome[] initialPopulation = new CompactChromosome[populationSize];
+		
+		for(int j = 0; j < populationSize; j++){
+			CompactChromosome chromosome = new CompactChromosome(numCloudlets);
+			int[] genes = chromosome.getGenes();
+			
+			for(int i = 0; i < numCloudlets; i++)
+				genes[i] = (i + j) % numVms;
+			
+			initialPopulation[j] = chromosome;
+		}
+		return initialPopulation;
+	}
+	
+	/**
+	 * Calculates fitness of every compact chromosome in the population.
+	 * Assigns fit index to those chromosomes whose makespan, the completion time of the most
+	 * loaded Vm, is the least. Chromosomes whose cached fitness is up to date are not re-scored.
+	 * 
+	 * @param population - array of compact chromosomes
+	 * @param evaluator - makespan fitness evaluator of the workload
+	 * @param firstFitIndex - index denoting most fit chromosome
+	 * @param secondFitIndex - index denoting second most fit chromosome
+	 * @param time - upper bound of fitness of the most fit chromosome, the second most fit
+	 * chromosome is searched for regardless of it
+	 * 
+	 * @return an array of parameters
+	 */
+	public double[] calculateFitness(CompactChromosome[] population, FitnessEvaluator evaluator, 
+							int firstFitIndex, int secondFitIndex, double time) {
+		
+		double secondTime = Double.MAX_VALUE;
+		for(int i = 0; i < population.length; i++){
+			
+			double fitness = evaluator.fitnessOf(population[i]);
+			
+			//if this i-th chromosome finishes earliest, then mark it the fittest
+			//and the previous fittest the second, otherwise it may still be the second
+			if(fitness < time){
+				if(firstFitIndex != i){
+					secondTime = time;
+					secondFitIndex = firstFitIndex;
+				}
+				time = fitness;
+				firstFitIndex = i;
+			} else if(fitness < secondTime && i != firstFitIndex){
+				secondTime = fitness;
+				secondFitIndex = i;
+			}
+		}
+		
+		return new double[] {firstFitIndex, secondFitIndex, time};
+	}
+	
+	/**
+	 * Selects the first and second, most fit compact chromosomes and cross-breeds them in place
+	 * by swapping the Vm indices up to a random point.
+	 * Only the genes that differ are moved, and their cached fitness is updated incrementally.
+	 * 
+	 * @param population - array of compact chromosomes
+	 * @param firstFitIndex - index denoting most fit chromosome
+	 * @param secondFitIndex - index denoting second most fit chromosome
+	 * @param rand - an object of class Random
+	 * @param evaluator - fitness evaluator of the workload
+	 */
+	public void selectionAndCrossOver(CompactChromosome[] population, int firstFitIndex, int secondFitIndex,
+										Random rand, FitnessEvaluator evaluator) {
+		// SELECTION
+		CompactChromosome chromosome1 = population[firstFitIndex];
+		CompactChromosome chromosome2 = population[secondFitIndex];
+		int[] l1 = chromosome1.getGenes();
+		int[] l2 = chromosome2.getGenes();
+		
+		// CROSSOVER
+		int swap_index_limit = rand.nextInt(l1.length);	// generate a random point
+		
+		// Swap VMs among two genelist
+		for(int j = 0; j <= swap_index_limit; j++) {
+			int vm1 = l1[j];
+			int vm2 = l2[j];
+			if(vm1 != vm2){
+				evaluator.moveGene(chromosome1, j, vm2);
+				evaluator.moveGene(chromosome2, j, vm1);
+			}
+		}
+	}
+	
+	/**
+	 * Mutates a random compact chromosome by replacing a random VM by the VM with most mips,
+	 * which is index 0 of the sorted Vm list. The cached fitness is updated incrementally.
+	 * 
+	 * @param rand - an object of class Random
+	 * @param population - array of compact chromosomes
+	 * @param evaluator - fitness evaluator of the workload
+	 */
+	public void mutation(Random rand, CompactChromosome[] population, FitnessEvaluator evaluator) {
+		
+		CompactChromosome mutchromosome = population[rand.nextInt(population.length)];
+		evaluator.moveGene(mutchromosome, rand.nextInt(mutchromosome.size()), 0);
+	}
 }
@@ -0,0 +1,248 @@
+package geneticalgo;
+
+import java.util.Random;
+
+/**
+ * Builds schedules with classic list-scheduling heuristics and seeds a population with them.
+ * Every heuristic reads the {@link EtcMatrix} of the workload, starting every vm from its ready
+ * time, and writes a gene array:
+ * <ul>
+ * <li>Min-Min: repeatedly schedules the task with the earliest possible completion time.</li>
+ * <li>Max-Min: repeatedly schedules the task whose earliest completion time is the latest.</li>
+ * <li>LPT: schedules the longest task first, on the vm that completes it earliest.</li>
+ * <li>Sufferage: repeatedly schedules the task that would lose most by not getting its best vm.</li>
+ * </ul>
+ * LPT takes the cloudlets in the sorted order of the workload and runs in O(n V). The other
+ * three keep the best vms of every unscheduled task and only recompute the tasks whose best
+ * vms were just loaded, but still scan all tasks for every step, which is O(n^2); they are
+ * skipped above maxQuadraticTasks.
+ */
+public class HeuristicSeeder {
+
+	/** Default largest number of tasks for which the O(n^2) heuristics are run */
+	public static final int DEFAULT_MAX_QUADRATIC_TASKS = 5000;
+
+	/** Expected time to compute of every cloudlet on every vm */
+	private final EtcMatrix etc;
+
+	/** Largest number of tasks for which the O(n^2) heuristics are run */
+	private final int maxQuadraticTasks;
+
+	/** Completion time of every vm while a heuristic runs */
+	private final double[] loads;
+
+	/**
+	 * Create a new HeuristicSeeder.
+	 * @param etc - expected time to compute of the workload
+	 */
+	public HeuristicSeeder(EtcMatrix etc) {
+		this(etc, DEFAULT_MAX_QUADRATIC_TASKS);
+	}
+
+	/**
+	 * Create a new HeuristicSeeder.
+	 * @param etc - expected time to compute of the workload
+	 * @param maxQuadraticTasks - largest number of tasks for which the O(n^2) heuristics are run
+	 */
+	public HeuristicSeeder(EtcMatrix etc, int maxQuadraticTasks) {
+		this.etc = etc;
+		this.maxQuadraticTasks = maxQuadraticTasks;
+		this.loads = new double[etc.getNumVms()];
+	}
+
+	/**
+	 * Overwrites the first chromosomes of a population with the heuristic schedules, and the
+	 * rest with copies of them where a random fraction of the genes, up to maxPerturbation,
+	 * is moved to random vms. Cached fitness is invalidated.
+	 *
+	 * @param population - array of compact chromosomes
+	 * @param rand - Random of the run
+	 * @param maxPerturbation - largest fraction of genes moved in a copy
+	 * @return number of heuristic schedules injected
+	 */
+	public int seed(CompactChromosome[] population, Random rand, double maxPerturbation) {
+		int numCloudlets = etc.getNumCloudlets();
+		int numVms = etc.getNumVms();
+
+		int seeds = 0;
+		if(seeds < population.length)
+			lpt(population[seeds++]);
+		if(numCloudlets <= maxQuadraticTasks){
+			if(seeds < population.length)
+				minMin(population[seeds++]);
+			if(seeds < population.length)
+				maxMin(population[seeds++]);
+			if(seeds < population.length)
+				sufferage(population[seeds++]);
+		}
+
+		for(int j = seeds; j < population.length; j++){
+			CompactChromosome chromosome = population[j];
+			chromosome.copyGenesFrom(population[j % seeds]);
+			int[] genes = chromosome.getGenes();
+			int moves = (int) (rand.nextDouble() * maxPerturbation * numCloudlets) + 1;
+			for(int m = 0; m < moves; m++)
+				genes[rand.nextInt(numCloudlets)] = rand.nextInt(numVms);
+		}
+		return seeds;
+	}
+
+	/**
+	 * Longest Processing Time first: the longest task is scheduled first, on the vm that
+	 * completes it earliest. Cloudlets of the workload are sorted by ascending length, so they
+	 * are taken from the last one.
+	 * @param chromosome - overwritten with the schedule
+	 */
+	public void lpt(CompactChromosome chromosome) {
+		int[] genes = chromosome.getGenes();
+		etc.resetLoads(loads);
+		for(int i = genes.length - 1; i >= 0; i--){
+			int vm = earliestVm(i);
+			genes[i] = vm;
+			loads[vm] += etc.time(i, vm);
+		}
+		chromosome.evaluated = false;
+	}
+
+	/**
+	 * Min-Min: schedules the task with the earliest possible completion time first.
+	 * @param chromosome - overwritten with the schedule
+	 */
+	public void minMin(CompactChromosome chromosome) {
+		minMax(chromosome, false);
+	}
+
+	/**
+	 * Max-Min: schedules the task whose earliest possible completion time is the latest first.
+	 * @param chromosome - overwritten with the schedule
+	 */
+	public void maxMin(CompactChromosome chromosome) {
+		minMax(chromosome, true);
+	}
+
+	/**
+	 * Min-Min and Max-Min. Completion times start from the ready time of every vm. The earliest
+	 * completion time of a task only changes when its best vm receives a task, so only those
+	 * tasks are recomputed after every step.
+	 */
+	private void minMax(CompactChromosome chromosome, boolean max) {
+		int[] genes = chromosome.getGenes();
+		int n = genes.length;
+		etc.resetLoads(loads);
+
+		int[] bestVm = new int[n];
+		double[] bestFinish = new double[n];
+		boolean[] scheduled = new boolean[n];
+		for(int i = 0; i < n; i++){
+			bestVm[i] = earliestVm(i);
+			bestFinish[i] = loads[bestVm[i]] + etc.time(i, bestVm[i]);
+		}
+
+		for(int step = 0; step < n; step++){
+			int task = -1;
+			for(int i = 0; i < n; i++){
+				if(scheduled[i])
+					continue;
+				if(task < 0 || (max ? bestFinish[i] > bestFinish[task] : bestFinish[i] < bestFinish[task]))
+					task = i;
+			}
+
+			int vm = bestVm[task];
+			genes[task] = vm;
+			scheduled[task] = true;
+			loads[vm] += etc.time(task, vm);
+
+			for(int i = 0; i < n; i++){
+				if(!scheduled[i] && bestVm[i] == vm){
+					bestVm[i] = earliestVm(i);
+					bestFinish[i] = loads[bestVm[i]] + etc.time(i, bestVm[i]);
+				}
+			}
+		}
+		chromosome.evaluated = false;
+	}
+
+	/**
+	 * Sufferage: schedules first the task with the largest gap between its earliest and second
+	 * earliest completion times, on its best vm. Only the tasks whose best or second best vm
+	 * receives a task are recomputed after every step.
+	 * @param chromosome - overwritten with the schedule
+	 */
+	public void sufferage(CompactChromosome chromosome) {
+		int[] genes = chromosome.getGenes();
+		int n = genes.length;
+		int numVms = loads.length;
+		etc.resetLoads(loads);
+
+		int[] bestVm = new int[n];
+		int[] secondVm = new int[n];
+		double[] bestFinish = new double[n];
+		double[] sufferage = new double[n];
+		boolean[] scheduled = new boolean[n];
+		for(int i = 0; i < n; i++)
+			rankVms(i, numVms, bestVm, secondVm, bestFinish, sufferage);
+
+		for(int step = 0; step < n; step++){
+			int task = -1;
+			for(int i = 0; i < n; i++){
+				if(scheduled[i])
+					continue;
+				if(task < 0 || sufferage[i] > sufferage[task])
+					task = i;
+			}
+
+			int vm = bestVm[task];
+			genes[task] = vm;
+			scheduled[task] = true;
+			loads[vm] = bestFinish[task];
+
+			for(int i = 0; i < n; i++)
+				if(!scheduled[i] && (bestVm[i] == vm || secondVm[i] == vm))
+					rankVms(i, numVms, bestVm, secondVm, bestFinish, sufferage);
+		}
+		chromosome.evaluated = false;
+	}
+
+	/**
+	 * Finds the best and second best vms of a task under the current loads.
+	 */
+	private void rankVms(int task, int numVms, int[] bestVm, int[] secondVm,
+							double[] bestFinish, double[] sufferage) {
+		int best = -1;
+		int second = -1;
+		double bestTime = Double.MAX_VALUE;
+		double secondTime = Double.MAX_VALUE;
+		for(int k = 0; k < numVms; k++){
+			double finish = loads[k] + etc.time(task, k);
+			if(finish < bestTime){
+				second = best;
+				secondTime = bestTime;
+				best = k;
+				bestTime = finish;
+			} else if(finish < secondTime){
+				second = k;
+				secondTime = finish;
+			}
+		}
+		bestVm[task] = best;
+		secondVm[task] = second;
+		bestFinish[task] = bestTime;
+		sufferage[task] = second < 0 ? 0 : secondTime - bestTime;
+	}
+
+	/**
+	 * Vm that completes a task earliest under the current loads.
+	 */
+	private int earliestVm(int task) {
+		int best = 0;
+		double bestTime = Double.MAX_VALUE;
+		for(int k = 0; k < loads.length; k++){
+			double finish = loads[k] + etc.time(task, k);
+			if(finish < bestTime){
+				bestTime = finish;
+				best = k;
+			}
+		}
+		return best;
+	}
+}
@@ -0,0 +1,389 @@
+package geneticalgo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Island model Genetic Algorithm.
+ * The population is split in islands that evolve concurrently, one thread per island, each
+ * driven by its own {@link GAEngine}. Every migrationInterval generations the most fit
+ * chromosomes of every island replace the least fit chromosomes of its neighbours in the
+ * migration topology.
+ *
+ * Every island owns its Random, seeded from the config seed, and migration happens between
+ * epochs on the calling thread, so a run is reproducible for a given seed whatever the
+ * number of threads.
+ *
+ * {@link #run()} takes the number of islands, the migration and the termination rules from the
+ * {@link GAConfig}, as set by GeneticAlgorithm with -Dgeneticalgo.islands=&lt;n&gt;.
+ *
+ * The islands are initialised when the first run starts. With a {@link ScheduleCache}, every
+ * island is seeded from it, and {@link #run()} stores the most fit chromosomes over all islands
+ * in it. With {@link GAMetrics}, the generation, best makespan and evaluations over all islands
+ * are published after the initialisation and after every epoch, on the calling thread. A
+ * {@link TelemetrySink} is not supported, as the islands of an epoch run concurrently.
+ */
+public class IslandModel {
+
+	/**
+	 * Which islands receive the migrants of an island.
+	 */
+	public enum Topology {
+		/** Island i sends to island i + 1 */
+		RING,
+		/** Every island sends to every other island */
+		FULLY_CONNECTED
+	}
+
+	/** Sorted Cloudlets and Vms */
+	private final Workload workload;
+
+	/** The islands */
+	private final Island[] islands;
+
+	/** Number of generations between two migrations */
+	private final int migrationInterval;
+
+	/** Number of chromosomes sent by an island to each neighbour */
+	private final int migrants;
+
+	/** Migration topology */
+	private final Topology topology;
+
+	/** Number of generations evolved so far */
+	private int generation;
+
+	/** Parameters of every island */
+	private final GAConfig config;
+
+	/** Warm-start cache seeding the islands and storing the runs, null without a cache */
+	private ScheduleCache scheduleCache;
+
+	/** Live metrics updated after every epoch, null without metrics */
+	private GAMetrics metrics;
+
+	/** Time of the last epoch published */
+	private long publishedNanos;
+
+	/** Evaluations at the last epoch published */
+	private long publishedEvaluations;
+
+	/**
+	 * Create a new IslandModel with the islands and migration of a config.
+	 * @param workload - sorted Cloudlets and Vms
+	 * @param config - parameters of every island and of the migration
+	 */
+	public IslandModel(Workload workload, GAConfig config) {
+		this(workload, config, config.getIslands(), config.getMigrationInterval(),
+				config.getMigrants(), config.getMigrationTopology());
+	}
+
+	/**
+	 * Create a new IslandModel. Every island is initialised from a copy of the config with
+	 * its own seed; the population size of the config is the size of an island.
+	 *
+	 * @param workload - sorted Cloudlets and Vms
+	 * @param config - parameters of every island
+	 * @param numIslands - number of islands
+	 * @param migrationInterval - number of generations between two migrations
+	 * @param migrants - number of chromosomes sent by an island to each neighbour
+	 * @param topology - migration topology
+	 */
+	public IslandModel(Workload workload, GAConfig config, int numIslands,
+						int migrationInterval, int migrants, Topology topology) {
+		if(numIslands < 1)
+			throw new IllegalArgumentException("At least one island is required");
+
+		this.workload = workload;
+		this.config = config;
+		this.migrationInterval = Math.max(1, migrationInterval);
+		this.migrants = Math.min(migrants, config.getPopulationSize() / 2);
+		this.topology = topology;
+
+		Random seeds = new Random(config.getSeed());
+		this.islands = new Island[numIslands];
+		for(int k = 0; k < numIslands; k++){
+			GAConfig islandConfig = config.copy();
+			islandConfig.setSeed(seeds.nextLong());
+			islandConfig.setParallelism(1);
+			islandConfig.setIslands(1);
+			islands[k] = new Island(islandConfig);
+		}
+	}
+
+	/**
+	 * Sets the operators that mutate the children of every island. Operators may keep state
+	 * between calls, so every island needs its own.
+	 * @param operators - one mutation operator per island
+	 */
+	public void setMutationOperators(MutationOperator... operators) {
+		if(operators.length != islands.length)
+			throw new IllegalArgumentException("One mutation operator per island is required");
+		for(int k = 0; k < islands.length; k++)
+			islands[k].engine.setMutationOperator(operators[k]);
+	}
+
+	/**
+	 * Setter method for the warm-start cache of every island. Islands already initialised are
+	 * not seeded again.
+	 * @param scheduleCache - cache seeding the islands and storing the runs, null for none
+	 */
+	public void setScheduleCache(ScheduleCache scheduleCache) {
+		this.scheduleCache = scheduleCache;
+		for(Island island : islands)
+			island.engine.setScheduleCache(scheduleCache);
+	}
+
+	/**
+	 * Setter method for the live metrics, updated after every epoch.
+	 * @param metrics - live metrics, null for none
+	 */
+	public void setMetrics(GAMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Evolves every island until the max generations of the config, or until the best fitness
+	 * over all islands has not improved for the stagnation limit or reached the target fitness.
+	 * The rules are checked between migrations, and the islands run on parallelism threads.
+	 * With a cache, the most fit chromosomes over all islands are then stored in it.
+	 *
+	 * @return the most fit chromosome over all islands, and the evaluations of every island
+	 * @throws InterruptedException if interrupted while waiting for the islands
+	 */
+	public GAResult run() throws InterruptedException {
+		long start = System.nanoTime();
+		evolve(config.getMaxGenerations(), config.getStagnationLimit(), config.getTargetFitness(),
+				config.getParallelism());
+		if(scheduleCache != null){
+			List<CompactChromosome> population = new ArrayList<CompactChromosome>();
+			for(Island island : islands)
+				population.addAll(Arrays.asList(island.engine.getPopulation()));
+			scheduleCache.put(workload, population.toArray(new CompactChromosome[population.size()]));
+		}
+		return new GAResult(getBest(), generation, getEvaluations(), System.nanoTime() - start);
+	}
+
+	/**
+	 * Evolves every island for a number of generations, migrating every migrationInterval
+	 * generations.
+	 *
+	 * @param generations - number of generations
+	 * @param threads - number of threads, at most one per island is used
+	 * @return the most fit chromosome over all islands
+	 * @throws InterruptedException if interrupted while waiting for the islands
+	 */
+	public CompactChromosome run(int generations, int threads) throws InterruptedException {
+		evolve(generations, GAConfig.DISABLED, GAConfig.DISABLED, threads);
+		return getBest();
+	}
+
+	/**
+	 * Evolves every island in epochs of migrationInterval generations, migrating between epochs.
+	 */
+	private void evolve(int generations, int stagnationLimit, double targetFitness, int threads)
+			throws InterruptedException {
+		initialise();
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, islands.length)));
+		try {
+			List<Callable<Void>> epochs = new ArrayList<Callable<Void>>(islands.length);
+			double bestFitness = bestFitness();
+			int stagnation = 0;
+			while(generation < generations){
+				final int epoch = Math.min(migrationInterval, generations - generation);
+				epochs.clear();
+				for(final Island island : islands){
+					epochs.add(new Callable<Void>() {
+						public Void call() {
+							island.evolve(epoch);
+							return null;
+						}
+					});
+				}
+				for(Future<Void> future : executor.invokeAll(epochs)){
+					try {
+						future.get();
+					} catch (ExecutionException e) {
+						throw new IllegalStateException("Island failed", e.getCause());
+					}
+				}
+				generation += epoch;
+				publish();
+
+				double fitness = bestFitness();
+				stagnation = fitness < bestFitness ? 0 : stagnation + epoch;
+				bestFitness = fitness;
+				if((stagnationLimit > 0 && stagnation >= stagnationLimit) || (targetFitness >= 0 && fitness <= targetFitness))
+					break;
+
+				if(generation < generations)
+					migrate();
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Initialises the islands that have not been yet, in order, and publishes the initial
+	 * populations.
+	 */
+	private void initialise() {
+		boolean initialised = false;
+		for(Island island : islands){
+			if(island.engine.getPopulation() == null){
+				island.engine.initialise(workload);
+				initialised = true;
+			}
+		}
+		if(initialised){
+			publishedNanos = System.nanoTime();
+			publishedEvaluations = 0;
+			publish();
+		}
+	}
+
+	/**
+	 * Publishes the generation, best makespan and evaluations over all islands to the metrics.
+	 */
+	private void publish() {
+		if(metrics == null)
+			return;
+		long now = System.nanoTime();
+		long evaluations = getEvaluations();
+		long elapsed = now - publishedNanos;
+		metrics.publish(generation, fittest().getMakespan(), evaluations,
+				elapsed > 0 ? (evaluations - publishedEvaluations) * 1e9 / elapsed : 0);
+		publishedNanos = now;
+		publishedEvaluations = evaluations;
+	}
+
+	/**
+	 * Copies the most fit chromosomes of every island over the least fit chromosomes of its
+	 * neighbours. Migrants are copied out of every island before any island is overwritten.
+	 */
+	private void migrate() {
+		int numIslands = islands.length;
+		if(numIslands < 2 || migrants < 1)
+			return;
+
+		CompactChromosome[][] outgoing = new CompactChromosome[numIslands][];
+		for(int k = 0; k < numIslands; k++)
+			outgoing[k] = islands[k].copyBest(migrants);
+
+		for(int k = 0; k < numIslands; k++){
+			if(topology == Topology.RING){
+				islands[(k + 1) % numIslands].receive(outgoing[k]);
+			} else {
+				for(int j = 0; j < numIslands; j++)
+					if(j != k)
+						islands[j].receive(outgoing[k]);
+			}
+		}
+	}
+
+	/**
+	 * Getter method for the most fit chromosome over all islands. The chromosome is copied.
+	 * @return most fit chromosome
+	 */
+	public CompactChromosome getBest() {
+		CompactChromosome best = fittest();
+		CompactChromosome copy = new CompactChromosome(best.size());
+		copy.copyFrom(best);
+		return copy;
+	}
+
+	/**
+	 * Most fit chromosome over all islands, not copied.
+	 */
+	private CompactChromosome fittest() {
+		CompactChromosome best = null;
+		for(Island island : islands){
+			CompactChromosome candidate = island.engine.getBest();
+			if(best == null || candidate.getFitness() < best.getFitness())
+				best = candidate;
+		}
+		return best;
+	}
+
+	/**
+	 * Fitness of the most fit chromosome over all islands.
+	 */
+	private double bestFitness() {
+		return fittest().getFitness();
+	}
+
+	/**
+	 * Getter method for number of chromosomes scored by all islands.
+	 * @return evaluations
+	 */
+	public long getEvaluations() {
+		long evaluations = 0;
+		for(Island island : islands)
+			evaluations += island.engine.getEvaluations();
+		return evaluations;
+	}
+
+	/**
+	 * Getter method for number of generations evolved so far.
+	 * @return generations
+	 */
+	public int getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * A sub-population evolved by a single thread at a time.
+	 */
+	private class Island {
+
+		private final GAEngine engine;
+
+		Island(GAConfig config) {
+			this.engine = new GAEngine(config);
+		}
+
+		void evolve(int generations) {
+			engine.evolve(generations);
+		}
+
+		CompactChromosome[] copyBest(int count) {
+			CompactChromosome[] population = engine.getPopulation();
+			Integer[] order = sortedIndices(population);
+			CompactChromosome[] best = new CompactChromosome[count];
+			for(int i = 0; i < count; i++){
+				best[i] = new CompactChromosome(workload.getNumCloudlets());
+				best[i].copyFrom(population[order[i]]);
+			}
+			return best;
+		}
+
+		void receive(CompactChromosome[] migrants) {
+			CompactChromosome[] population = engine.getPopulation();
+			Integer[] order = sortedIndices(population);
+			for(int i = 0; i < migrants.length; i++)
+				population[order[order.length - 1 - i]].copyFrom(migrants[i]);
+			engine.rank(false);
+		}
+
+		private Integer[] sortedIndices(final CompactChromosome[] population) {
+			Integer[] order = new Integer[population.length];
+			for(int i = 0; i < order.length; i++)
+				order[i] = i;
+			Arrays.sort(order, new Comparator<Integer>() {
+				public int compare(Integer i1, Integer i2) {
+					return Double.compare(population[i1].getFitness(), population[i2].getFitness());
+				}
+			});
+			return order;
+		}
+	}
+}
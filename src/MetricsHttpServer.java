@@ -0,0 +1,131 @@
+package geneticalgo;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Serves {@link GAMetrics} and {@link BrokerMetrics} in the Prometheus text format on
+ * http://localhost:&lt;port&gt;/metrics. The server only listens on the loopback address.
+ *
+ * A scrape reads the atomics of the metrics and never blocks the engine or the simulation;
+ * the values of one scrape are each up to date but not taken at the same instant.
+ */
+public class MetricsHttpServer implements Closeable {
+
+	/** Content type of the Prometheus text format */
+	public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+	/** Metrics of the Genetic Algorithm, null if not served */
+	private final GAMetrics gaMetrics;
+
+	/** Metrics of the broker, null if not served */
+	private volatile BrokerMetrics brokerMetrics;
+
+	/** The server */
+	private final HttpServer server;
+
+	/**
+	 * Create and start a new MetricsHttpServer.
+	 * @param port - port on the loopback address, 0 for any free port
+	 * @param gaMetrics - metrics of the Genetic Algorithm, or null
+	 * @param brokerMetrics - metrics of the broker, or null
+	 * @throws IOException if the port cannot be bound
+	 */
+	public MetricsHttpServer(int port, GAMetrics gaMetrics, BrokerMetrics brokerMetrics) throws IOException {
+		this.gaMetrics = gaMetrics;
+		this.brokerMetrics = brokerMetrics;
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+		server.createContext("/metrics", new HttpHandler() {
+			public void handle(HttpExchange exchange) throws IOException {
+				byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+				exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+				exchange.sendResponseHeaders(200, body.length);
+				OutputStream out = exchange.getResponseBody();
+				try {
+					out.write(body);
+				} finally {
+					out.close();
+				}
+			}
+		});
+		server.start();
+	}
+
+	/**
+	 * Renders the metrics in the Prometheus text format.
+	 * @return metrics, one sample per line
+	 */
+	public String scrape() {
+		StringBuilder text = new StringBuilder(1024);
+		GAMetrics ga = gaMetrics;
+		if(ga != null){
+			sample(text, "geneticalgo_ga_generation", "gauge", "Generation of the current run", "", ga.getGeneration());
+			sample(text, "geneticalgo_ga_best_makespan", "gauge", "Makespan of the most fit chromosome of the current run", "", ga.getBestMakespan());
+			sample(text, "geneticalgo_ga_evaluations_per_second", "gauge", "Chromosomes scored per second in the last generation", "", ga.getEvaluationsPerSecond());
+			sample(text, "geneticalgo_ga_evaluations_total", "counter", "Chromosomes scored by all runs", "", ga.getEvaluations());
+			sample(text, "geneticalgo_ga_diversity", "gauge", "Mean fraction of genes that differ from the most fit chromosome", "", ga.getDiversity());
+			sample(text, "geneticalgo_ga_runs_total", "counter", "Runs started", "", ga.getRuns());
+		}
+		BrokerMetrics broker = brokerMetrics;
+		if(broker != null){
+			String labels = "{broker=\"" + escape(broker.getBrokerName()) + "\"}";
+			sample(text, "geneticalgo_broker_cloudlets_in_flight", "gauge", "Cloudlets sent to a datacenter and not yet returned", labels, broker.getCloudletsInFlight());
+			sample(text, "geneticalgo_broker_cloudlets_queued", "gauge", "Cloudlets held back in vm queues", labels, broker.getCloudletsQueued());
+			sample(text, "geneticalgo_broker_cloudlets_received_total", "counter", "Cloudlets returned", labels, broker.getCloudletsReceived());
+			sample(text, "geneticalgo_broker_vm_create_acks_total", "counter", "Vm creation acks received", labels, broker.getVmCreateAcks());
+			sample(text, "geneticalgo_broker_vms_created", "gauge", "Vms created and not yet destroyed", labels, broker.getVmsCreated());
+			sample(text, "geneticalgo_cloudsim_clock", "gauge", "CloudSim clock at the last event of the broker", labels, broker.getClock());
+		}
+		return text.toString();
+	}
+
+	private static void sample(StringBuilder text, String name, String type, String help, String labels, double value) {
+		text.append("# HELP ").append(name).append(' ').append(help).append('\n');
+		text.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+		text.append(name).append(labels).append(' ');
+		if(Double.isNaN(value))
+			text.append("NaN");
+		else if(Double.isInfinite(value))
+			text.append(value > 0 ? "+Inf" : "-Inf");
+		else if(value == (long) value)
+			text.append((long) value);
+		else
+			text.append(value);
+		text.append('\n');
+	}
+
+	private static String escape(String label) {
+		return label.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+	}
+
+	/**
+	 * Setter method for metrics of the broker, for a broker created after the server.
+	 * @param brokerMetrics - metrics of the broker, or null
+	 */
+	public void setBrokerMetrics(BrokerMetrics brokerMetrics) {
+		this.brokerMetrics = brokerMetrics;
+	}
+
+	/**
+	 * Getter method for the port the server listens on.
+	 * @return port
+	 */
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 * Stops the server, waiting for no exchange in progress.
+	 */
+	public void close() {
+		server.stop(0);
+	}
+}
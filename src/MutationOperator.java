@@ -0,0 +1,19 @@
+package geneticalgo;
+
+import java.util.Random;
+
+/**
+ * Mutates a child of the next generation of a {@link GAEngine} in place.
+ * An operator must keep the cached fitness of the chromosome up to date, normally through
+ * {@link FitnessEvaluator#moveGene(CompactChromosome, int, int)}.
+ */
+public interface MutationOperator {
+
+	/**
+	 * Mutates a chromosome.
+	 * @param chromosome - chromosome to mutate
+	 * @param evaluator - fitness evaluator of the workload
+	 * @param rand - Random of the run
+	 */
+	void mutate(CompactChromosome chromosome, FitnessEvaluator evaluator, Random rand);
+}
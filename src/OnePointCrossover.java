@@ -0,0 +1,44 @@
+package geneticalgo;
+
+import java.util.Random;
+
+/**
+ * Swaps the Vms of the genes up to a random point, as
+ * {@link GeneticFunctions#selectionAndCrossOver(CompactChromosome[], int, int, Random, FitnessEvaluator)}
+ * does, but into new children instead of the parents.
+ *
+ * Like {@link TwoPointCrossover}, a short prefix is applied gene by gene through
+ * {@link FitnessEvaluator#moveGene(CompactChromosome, int, int)}, and a prefix longer than
+ * numGenes / {@link CrossoverOperator#INCREMENTAL_DIVISOR} is copied with System.arraycopy
+ * before the children are evaluated in full. Every prefix is copied when moves are not
+ * incremental, see {@link FitnessEvaluator#isIncremental()}.
+ */
+public class OnePointCrossover implements CrossoverOperator {
+
+	@Override
+	public void crossover(CompactChromosome parent1, CompactChromosome parent2, CompactChromosome child1,
+							CompactChromosome child2, FitnessEvaluator evaluator, Random rand) {
+		int[] l1 = parent1.getGenes();
+		int[] l2 = parent2.getGenes();
+		int swap_index_limit = rand.nextInt(l1.length);	// generate a random point
+
+		if(evaluator.isIncremental() && (swap_index_limit + 1) * INCREMENTAL_DIVISOR <= l1.length
+				&& parent1.isEvaluated() && parent2.isEvaluated()){
+			child1.copyFrom(parent1);
+			child2.copyFrom(parent2);
+			for(int j = 0; j <= swap_index_limit; j++) {
+				if(l1[j] != l2[j]){
+					evaluator.moveGene(child1, j, l2[j]);
+					evaluator.moveGene(child2, j, l1[j]);
+				}
+			}
+		} else {
+			child1.copyGenesFrom(parent1);
+			child2.copyGenesFrom(parent2);
+			System.arraycopy(l2, 0, child1.getGenes(), 0, swap_index_limit + 1);
+			System.arraycopy(l1, 0, child2.getGenes(), 0, swap_index_limit + 1);
+			evaluator.evaluate(child1);
+			evaluator.evaluate(child2);
+		}
+	}
+}
@@ -0,0 +1,137 @@
+package geneticalgo;
+
+import java.util.Random;
+
+/**
+ * Schedules the windows of cloudlets buffered by a {@link GADatacenterBroker} in online mode.
+ * A window closes when it holds windowSize cloudlets or windowTime after its first arrival,
+ * whichever comes first, and is then scheduled by a Genetic Algorithm run on a {@link Workload}
+ * whose vms start from the work already dispatched to them.
+ *
+ * One {@link GAEngine} is kept for all windows, so its thread pool is created once; every
+ * window gets its own seed, drawn from the seed of the config. With a window budget, a run
+ * also stops once it has taken that much wall time, so that a burst of arrivals does not stall
+ * the simulation; the run then returns the most fit schedule found so far.
+ */
+public class OnlineScheduler {
+
+	/** Value of windowSize or windowTime when that bound is not used */
+	public static final int UNBOUNDED = 0;
+
+	/** Parameters of every run, seeded per window */
+	private final GAConfig config;
+
+	/** Number of cloudlets that closes a window */
+	private final int windowSize;
+
+	/** Simulation time after its first arrival that closes a window */
+	private final double windowTime;
+
+	/** Seeds of the runs */
+	private final Random seeds;
+
+	/** Wall time in milliseconds after which a run stops, or UNBOUNDED */
+	private long windowBudgetMillis = UNBOUNDED;
+
+	/** Engine shared by the runs, created on first use */
+	private GAEngine engine;
+
+	/** Receives the telemetry of the runs, null without telemetry */
+	private TelemetrySink telemetrySink;
+
+	/** Live metrics of the runs, null without metrics */
+	private GAMetrics metrics;
+
+	/**
+	 * Create a new OnlineScheduler.
+	 * @param config - parameters of every run, copied
+	 * @param windowSize - number of cloudlets that closes a window, or UNBOUNDED
+	 * @param windowTime - simulation time after its first arrival that closes a window, or UNBOUNDED
+	 */
+	public OnlineScheduler(GAConfig config, int windowSize, double windowTime) {
+		if(windowSize <= 0 && windowTime <= 0)
+			throw new IllegalArgumentException("A window needs a size or a time bound");
+		this.config = config.copy();
+		this.windowSize = Math.max(UNBOUNDED, windowSize);
+		this.windowTime = Math.max(UNBOUNDED, windowTime);
+		this.seeds = new Random(config.getSeed());
+	}
+
+	/**
+	 * Runs the Genetic Algorithm on the cloudlets of a window.
+	 * @param workload - cloudlets of the window, and vms with their ready times
+	 * @return the most fit schedule found
+	 */
+	public GAResult schedule(Workload workload) {
+		config.setSeed(seeds.nextLong());
+		if(engine == null){
+			engine = new GAEngine(config);
+			engine.setMutationOperator(new RebalancingMutation());
+			engine.setTelemetrySink(telemetrySink);
+			engine.setMetrics(metrics);
+		}
+		if(windowBudgetMillis > 0)
+			return engine.runWithDeadline(workload, windowBudgetMillis);
+		return engine.run(workload);
+	}
+
+	/**
+	 * Releases the threads of the engine. Must be called once the simulation is over.
+	 */
+	public void shutdown() {
+		if(engine != null)
+			engine.shutdown();
+	}
+
+	/**
+	 * Setter method for the telemetry sink of the runs.
+	 * @param telemetrySink - receives the telemetry of every generation, null for none
+	 */
+	public void setTelemetrySink(TelemetrySink telemetrySink) {
+		this.telemetrySink = telemetrySink;
+		if(engine != null)
+			engine.setTelemetrySink(telemetrySink);
+	}
+
+	/**
+	 * Setter method for the live metrics of the runs.
+	 * @param metrics - updated after every generation, null for none
+	 */
+	public void setMetrics(GAMetrics metrics) {
+		this.metrics = metrics;
+		if(engine != null)
+			engine.setMetrics(metrics);
+	}
+
+	/**
+	 * Getter method for wall time after which a run stops.
+	 * @return window budget in milliseconds, UNBOUNDED if runs only stop on the config
+	 */
+	public long getWindowBudgetMillis() {
+		return windowBudgetMillis;
+	}
+
+	/**
+	 * Setter method for wall time after which a run stops.
+	 * @param windowBudgetMillis - window budget in milliseconds, or UNBOUNDED
+	 */
+	public void setWindowBudgetMillis(long windowBudgetMillis) {
+		this.windowBudgetMillis = Math.max(UNBOUNDED, windowBudgetMillis);
+	}
+
+	/**
+	 * Getter method for number of cloudlets that closes a window.
+	 * @return window size, UNBOUNDED if windows are only closed by time
+	 */
+	public int getWindowSize() {
+		return windowSize;
+	}
+
+	/**
+	 * Getter method for simulation time after its first arrival that closes a window.
+	 * @return window time, UNBOUNDED if windows are only closed by size
+	 */
+	public double getWindowTime() {
+		return windowTime;
+	}
+}
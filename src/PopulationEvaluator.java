@@ -0,0 +1,246 @@
+package geneticalgo;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Evaluates a population of compact chromosomes, sequentially or split across a ForkJoinPool,
+ * and finds the most fit and second most fit chromosomes.
+ *
+ * Ties are broken by the lower index, and partial results are merged in index order, so the
+ * parallel mode always picks the same two chromosomes as the sequential mode.
+ * Evaluation counts and times are accumulated so that every run can report its evaluation
+ * rate and the utilisation of its workers, the time spent evaluating summed over all workers
+ * divided by the wall time. The utilisation is the mean number of busy workers, an upper bound
+ * of the speedup. The speedup itself is measured by {@link #measureSpeedup(CompactChromosome[])},
+ * which times a sequential and a parallel pass over the same population.
+ */
+public class PopulationEvaluator {
+
+	/** Default number of chromosomes below which a range is not split any further */
+	public static final int DEFAULT_GRAIN = 16;
+
+	/** Fitness evaluator of the workload */
+	private final FitnessEvaluator evaluator;
+
+	/** Pool to evaluate on, null for sequential evaluation */
+	private final ForkJoinPool pool;
+
+	/** Number of chromosomes below which a range is not split any further */
+	private final int grain;
+
+	/** Number of chromosomes evaluated */
+	private final AtomicLong evaluations = new AtomicLong();
+
+	/** Time spent evaluating, summed over all workers */
+	private final AtomicLong busyNanos = new AtomicLong();
+
+	/** Wall time spent in {@link #evaluate(CompactChromosome[], boolean)} */
+	private long wallNanos;
+
+	/**
+	 * Create a new sequential PopulationEvaluator.
+	 * @param evaluator - fitness evaluator of the workload
+	 */
+	public PopulationEvaluator(FitnessEvaluator evaluator) {
+		this(evaluator, null, DEFAULT_GRAIN);
+	}
+
+	/**
+	 * Create a new PopulationEvaluator.
+	 * @param evaluator - fitness evaluator of the workload
+	 * @param pool - pool to evaluate on, null for sequential evaluation
+	 * @param grain - number of chromosomes below which a range is not split any further
+	 */
+	public PopulationEvaluator(FitnessEvaluator evaluator, ForkJoinPool pool, int grain) {
+		this.evaluator = evaluator;
+		this.pool = pool;
+		this.grain = Math.max(1, grain);
+	}
+
+	/**
+	 * Evaluates the chromosomes of a population and finds the two most fit ones.
+	 *
+	 * @param population - array of compact chromosomes
+	 * @param force - re-score every chromosome, otherwise only those whose cached fitness is stale
+	 * @return an array of {firstFitIndex, secondFitIndex}
+	 */
+	public int[] evaluate(CompactChromosome[] population, boolean force) {
+		long start = System.nanoTime();
+		int[] fittest;
+		if(pool == null || population.length <= grain)
+			fittest = evaluateRange(population, 0, population.length, force);
+		else
+			fittest = pool.invoke(new EvaluationTask(population, 0, population.length, force));
+		wallNanos += System.nanoTime() - start;
+		return fittest;
+	}
+
+	/**
+	 * Evaluates a range of the population and finds its two most fit chromosomes.
+	 *
+	 * @param population - array of compact chromosomes
+	 * @param from - first index, inclusive
+	 * @param to - last index, exclusive
+	 * @param force - re-score every chromosome of the range
+	 * @return an array of {firstFitIndex, secondFitIndex}, -1 where the range is too small
+	 */
+	private int[] evaluateRange(CompactChromosome[] population, int from, int to, boolean force) {
+		long start = System.nanoTime();
+		int count = 0;
+		int first = -1;
+		int second = -1;
+		for(int i = from; i < to; i++){
+			CompactChromosome chromosome = population[i];
+			if(force || !chromosome.isEvaluated()){
+				evaluator.evaluate(chromosome);
+				count++;
+			}
+			if(first == -1 || fitter(population, i, first)){
+				second = first;
+				first = i;
+			} else if(second == -1 || fitter(population, i, second)){
+				second = i;
+			}
+		}
+		evaluations.addAndGet(count);
+		busyNanos.addAndGet(System.nanoTime() - start);
+		return new int[] {first, second};
+	}
+
+	/**
+	 * Merges the two most fit chromosomes of two adjacent ranges.
+	 *
+	 * @param population - array of compact chromosomes
+	 * @param left - result of the lower range
+	 * @param right - result of the upper range
+	 * @return an array of {firstFitIndex, secondFitIndex}
+	 */
+	private static int[] merge(CompactChromosome[] population, int[] left, int[] right) {
+		int first = left[0];
+		int second = left[1];
+		for(int k = 0; k < 2; k++){
+			int i = right[k];
+			if(i == -1)
+				continue;
+			if(first == -1 || fitter(population, i, first)){
+				second = first;
+				first = i;
+			} else if(second == -1 || fitter(population, i, second)){
+				second = i;
+			}
+		}
+		return new int[] {first, second};
+	}
+
+	/**
+	 * Compares two chromosomes by cached fitness, then by index.
+	 * @return true if the chromosome at i is fitter than the one at j
+	 */
+	private static boolean fitter(CompactChromosome[] population, int i, int j) {
+		double fi = population[i].getFitness();
+		double fj = population[j].getFitness();
+		return fi < fj || (fi == fj && i < j);
+	}
+
+	/**
+	 * Getter method for number of chromosomes evaluated.
+	 * @return number of evaluations
+	 */
+	public long getEvaluations() {
+		return evaluations.get();
+	}
+
+	/**
+	 * Getter method for wall time spent evaluating.
+	 * @return wall time in nanoseconds
+	 */
+	public long getWallNanos() {
+		return wallNanos;
+	}
+
+	/**
+	 * Number of chromosomes evaluated per second of wall time.
+	 * @return evaluation rate
+	 */
+	public double getEvaluationsPerSecond() {
+		return wallNanos == 0 ? 0 : evaluations.get() * 1e9 / wallNanos;
+	}
+
+	/**
+	 * Time spent evaluating summed over all workers, divided by the wall time.
+	 * @return mean number of workers busy evaluating
+	 */
+	public double getUtilisation() {
+		return wallNanos == 0 ? 1 : (double) busyNanos.get() / wallNanos;
+	}
+
+	/**
+	 * Measures the speedup of the pool over sequential evaluation, by re-scoring a population
+	 * once on the calling thread and once split across the pool. The cached fitness of the
+	 * chromosomes is rewritten with the same values, and the evaluation counts and times are
+	 * left as they were.
+	 * @param population - array of compact chromosomes, evaluated at least once before so that
+	 * both passes run warm
+	 * @return sequential wall time divided by parallel wall time, 1 without a pool
+	 */
+	public double measureSpeedup(CompactChromosome[] population) {
+		if(pool == null || population.length == 0)
+			return 1;
+		long evaluationsBefore = evaluations.get();
+		long busyNanosBefore = busyNanos.get();
+
+		long start = System.nanoTime();
+		evaluateRange(population, 0, population.length, true);
+		long sequentialNanos = System.nanoTime() - start;
+		start = System.nanoTime();
+		pool.invoke(new EvaluationTask(population, 0, population.length, true));
+		long parallelNanos = System.nanoTime() - start;
+
+		evaluations.set(evaluationsBefore);
+		busyNanos.set(busyNanosBefore);
+		return (double) sequentialNanos / Math.max(1, parallelNanos);
+	}
+
+	/**
+	 * Resets the evaluation counts and times.
+	 */
+	public void resetStats() {
+		evaluations.set(0);
+		busyNanos.set(0);
+		wallNanos = 0;
+	}
+
+	/**
+	 * Splits a range of the population in halves until it is smaller than the grain.
+	 */
+	private class EvaluationTask extends RecursiveTask<int[]> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final CompactChromosome[] population;
+		private final int from;
+		private final int to;
+		private final boolean force;
+
+		EvaluationTask(CompactChromosome[] population, int from, int to, boolean force) {
+			this.population = population;
+			this.from = from;
+			this.to = to;
+			this.force = force;
+		}
+
+		@Override
+		protected int[] compute() {
+			if(to - from <= grain)
+				return evaluateRange(population, from, to, force);
+
+			int mid = (from + to) >>> 1;
+			EvaluationTask left = new EvaluationTask(population, from, mid, force);
+			left.fork();
+			int[] right = new EvaluationTask(population, mid, to, force).compute();
+			return merge(population, left.join(), right);
+		}
+	}
+}
@@ -0,0 +1,15 @@
+package geneticalgo;
+
+import java.util.Random;
+
+/**
+ * Moves a random gene to a random Vm.
+ */
+public class RandomVmMutation implements MutationOperator {
+
+	@Override
+	public void mutate(CompactChromosome chromosome, FitnessEvaluator evaluator, Random rand) {
+		int numVms = evaluator.getEtcMatrix().getNumVms();
+		evaluator.moveGene(chromosome, rand.nextInt(chromosome.size()), rand.nextInt(numVms));
+	}
+}
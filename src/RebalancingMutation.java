@@ -0,0 +1,125 @@
+package geneticalgo;
+
+import java.util.Random;
+
+/**
+ * Moves a task off the most loaded Vm to the Vm where it lowers the makespan most.
+ *
+ * A move scans the loads of the chromosome for the most and second most loaded Vms and the
+ * CANDIDATES least loaded Vms, in O(V), since the chromosome may have changed since the last
+ * mutation. It takes a task of the most loaded Vm, scanning the genes from a random position
+ * for one, which is O(n) in the worst case and about n / k genes for a Vm of k tasks, and tries
+ * it on the least loaded Vms and the fastest Vm. The move is applied only if the new makespan
+ * is lower. With the SPACE_SHARED model the finish time on the destination is only estimated
+ * from its load, so a move that turns out to raise the makespan is undone and ends the mutation.
+ * A mutation of m moves therefore costs O(m (n + V)).
+ *
+ * The candidates are kept in an array reused between calls, so an instance must not be shared
+ * between threads.
+ */
+public class RebalancingMutation implements MutationOperator {
+
+	/** Number of least loaded Vms tried as destination */
+	private static final int CANDIDATES = 7;
+
+	/** Maximum number of moves per mutation */
+	private final int maxMoves;
+
+	/** Least loaded Vms of the current move, by ascending load */
+	private final int[] candidates = new int[CANDIDATES];
+
+	/**
+	 * Create a new RebalancingMutation that makes a single move.
+	 */
+	public RebalancingMutation() {
+		this(1);
+	}
+
+	/**
+	 * Create a new RebalancingMutation.
+	 * @param maxMoves - maximum number of moves per mutation
+	 */
+	public RebalancingMutation(int maxMoves) {
+		this.maxMoves = Math.max(1, maxMoves);
+	}
+
+	@Override
+	public void mutate(CompactChromosome chromosome, FitnessEvaluator evaluator, Random rand) {
+		EtcMatrix etc = evaluator.getEtcMatrix();
+		if(etc.getNumVms() < 2)
+			return;
+		if(!chromosome.isEvaluated())
+			evaluator.evaluate(chromosome);
+
+		double[] loads = chromosome.vmLoads;
+		int[] genes = chromosome.getGenes();
+
+		for(int move = 0; move < maxMoves; move++){
+			// most and second most loaded Vms, and the least loaded ones by insertion
+			int source = 0;
+			double secondMaxLoad = Double.NEGATIVE_INFINITY;
+			int numCandidates = 0;
+			for(int vm = 0; vm < loads.length; vm++){
+				double load = loads[vm];
+				if(vm > 0){
+					if(load > loads[source]){
+						secondMaxLoad = loads[source];
+						source = vm;
+					} else if(load > secondMaxLoad){
+						secondMaxLoad = load;
+					}
+				}
+				if(numCandidates < CANDIDATES || load < loads[candidates[numCandidates - 1]]){
+					int c = numCandidates < CANDIDATES ? numCandidates++ : CANDIDATES - 1;
+					for(; c > 0 && loads[candidates[c - 1]] > load; c--)
+						candidates[c] = candidates[c - 1];
+					candidates[c] = vm;
+				}
+			}
+
+			double makespan = loads[source];
+			int task = findTask(genes, source, rand.nextInt(genes.length));
+			if(task < 0)
+				return;
+
+			double remaining = Math.max(loads[source] - etc.time(task, source), secondMaxLoad);
+			int target = -1;
+			double targetFinish = makespan;
+
+			// vm 0 is the fastest in the sorted Vm list
+			for(int c = -1; c < numCandidates; c++){
+				int vm = c < 0 ? 0 : candidates[c];
+				if(vm == source)
+					continue;
+				double finish = loads[vm] + etc.time(task, vm);
+				if(finish < targetFinish){
+					targetFinish = finish;
+					target = vm;
+				}
+			}
+
+			if(target < 0 || Math.max(remaining, targetFinish) >= makespan)
+				return;
+
+			evaluator.moveGene(chromosome, task, target);
+			if(chromosome.getMakespan() >= makespan){
+				evaluator.moveGene(chromosome, task, source);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Finds a gene assigned to a vm, scanning from a start position and wrapping around.
+	 * @return gene position, -1 if no gene is assigned to the vm
+	 */
+	private static int findTask(int[] genes, int vm, int start) {
+		for(int i = start; i < genes.length; i++)
+			if(genes[i] == vm)
+				return i;
+		for(int i = 0; i < start; i++)
+			if(genes[i] == vm)
+				return i;
+		return -1;
+	}
+}
@@ -0,0 +1,44 @@
+package geneticalgo;
+
+import java.util.Random;
+
+/**
+ * Selects chromosomes with a probability proportional to the inverse of their fitness,
+ * so that a schedule finishing twice as early is twice as likely to be picked.
+ * The cumulative weights are computed once per generation in a reused array.
+ */
+public class RouletteSelection implements SelectionOperator {
+
+	/** Cumulative weights of the current generation */
+	private double[] cumulative = new double[0];
+
+	@Override
+	public void prepare(CompactChromosome[] population) {
+		if(cumulative.length != population.length)
+			cumulative = new double[population.length];
+
+		double total = 0;
+		for(int i = 0; i < population.length; i++){
+			double fitness = population[i].getFitness();
+			total += fitness > 0 ? 1.0 / fitness : 1.0;
+			cumulative[i] = total;
+		}
+	}
+
+	@Override
+	public int select(CompactChromosome[] population, Random rand) {
+		double point = rand.nextDouble() * cumulative[cumulative.length - 1];
+
+		// first index whose cumulative weight exceeds the point
+		int low = 0;
+		int high = cumulative.length - 1;
+		while(low < high){
+			int mid = (low + high) >>> 1;
+			if(cumulative[mid] > point)
+				high = mid;
+			else
+				low = mid + 1;
+		}
+		return low;
+	}
+}
@@ -0,0 +1,224 @@
+package geneticalgo;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Locale;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.core.CloudSim;
+
+/**
+ * Runs the whole pipeline of {@link GeneticAlgorithm} (datacenter creation, Genetic Algorithm,
+ * broker submission and simulation) over a grid of vm, cloudlet and host counts, and writes one
+ * CSV row per run, to show where scaling breaks down.
+ *
+ * Every run draws its cloudlets and vms from the same seed, so a row can be reproduced on its
+ * own, and records:
+ * - the wall time of the Genetic Algorithm and of the simulation, in milliseconds
+ * - the peak heap of the run, the sum of the peaks of the heap pools since the run started
+ * - the makespan predicted by the Genetic Algorithm and the simulated makespan
+ * - the throughput, cloudlets completed per simulated second
+ * - the vms created by the datacenter and the cloudlets completed. Vms beyond the capacity of
+ *   the hosts are not created, and their cloudlets never run.
+ *
+ * Usage: ScalingSweep [csv [vms [cloudlets [hosts]]]], with comma separated lists, e.g.
+ * ScalingSweep scaling.csv 10,50,100 100,1000,10000 3,6. The seed is -Dgeneticalgo.seed, 42 by
+ * default.
+ */
+public class ScalingSweep {
+
+	/** Header of the CSV */
+	public static final String HEADER = "vms,cloudlets,hosts,seed,vms_created,completed,ga_generations,"
+			+ "ga_ms,sim_ms,peak_heap_mb,ga_makespan,sim_makespan,throughput,status";
+
+	/** Seed of every scenario */
+	private final long seed;
+
+	/** Parameters of the Genetic Algorithm, copied for every run */
+	private final GAConfig config;
+
+	/**
+	 * Create a new ScalingSweep.
+	 * @param seed - seed of every scenario and of the Genetic Algorithm
+	 * @param config - parameters of the Genetic Algorithm
+	 */
+	public ScalingSweep(long seed, GAConfig config) {
+		this.seed = seed;
+		this.config = config.copy();
+		this.config.setSeed(seed);
+	}
+
+	/**
+	 * Runs every combination of the grid, and writes a row per run to the CSV and to the
+	 * standard output.
+	 * @param csv - output file
+	 * @param vms - vm counts
+	 * @param cloudlets - cloudlet counts
+	 * @param hosts - host counts
+	 * @throws IOException if the CSV cannot be written
+	 */
+	public void sweep(File csv, int[] vms, int[] cloudlets, int[] hosts) throws IOException {
+		PrintWriter out = new PrintWriter(new FileWriter(csv));
+		try {
+			out.println(HEADER);
+			System.out.println(HEADER);
+			for(int numHosts : hosts)
+				for(int numVms : vms)
+					for(int numCloudlets : cloudlets){
+						String row = run(numVms, numCloudlets, numHosts);
+						out.println(row);
+						out.flush();
+						System.out.println(row);
+					}
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Runs the pipeline once. A run that fails, or runs out of memory, gives a row with the
+	 * status of the failure.
+	 * @param numVms - number of vms
+	 * @param numCloudlets - number of cloudlets
+	 * @param numHosts - number of hosts of the datacenter
+	 * @return CSV row of the run
+	 */
+	public String run(int numVms, int numCloudlets, int numHosts) {
+		String prefix = numVms + "," + numCloudlets + "," + numHosts + "," + seed + ",";
+		System.gc();
+		List<MemoryPoolMXBean> heapPools = resetHeapPeaks();
+		boolean logDisabled = Log.isDisabled();
+		Log.disable();
+		try {
+			CloudSim.init(1, Calendar.getInstance(), false);
+			GADatacenterCreator.createDatacenter("Datacenter_0", numHosts);
+			GADatacenterBroker broker = new GADatacenterBroker("Broker");
+
+			ScenarioConfig scenario = new ScenarioConfig();
+			scenario.setNumVms(numVms);
+			scenario.setNumCloudlets(numCloudlets);
+			scenario.setSeed(seed);
+			WorkloadGenerator generator = new WorkloadGenerator(scenario);
+			Vm[] vms = generator.createVms(broker.getId());
+			Cloudlet[] cloudlets = generator.createCloudlets(broker.getId());
+			broker.setMaxInFlightPerVm(scenario.getVmPes());
+
+			Workload workload = Workload.sort(cloudlets, vms);
+			GAEngine engine = new GAEngine(config);
+			engine.setMutationOperator(new RebalancingMutation());
+			GAResult gaResult;
+			try {
+				gaResult = engine.run(workload);
+			} finally {
+				engine.shutdown();
+			}
+			broker.submitSchedule(workload.toChromosomes(gaResult.getBest()));
+
+			long simStart = System.nanoTime();
+			CloudSim.startSimulation();
+			List<Cloudlet> received = broker.getCloudletReceivedList();
+			CloudSim.stopSimulation();
+			long simNanos = System.nanoTime() - simStart;
+
+			int completed = 0;
+			double makespan = 0;
+			for(Cloudlet cloudlet : received){
+				if(cloudlet.getCloudletStatus() == Cloudlet.SUCCESS){
+					completed++;
+					makespan = Math.max(makespan, cloudlet.getFinishTime());
+				}
+			}
+			// the vms created are destroyed when the broker finishes, but keep their datacenter
+			int vmsCreated = broker.getVmsToDatacentersMap().size();
+			String status = completed == numCloudlets ? "ok" : (vmsCreated < numVms ? "vms_not_created" : "incomplete");
+
+			return prefix + vmsCreated + "," + completed + "," + gaResult.getGenerations() + ","
+					+ format(gaResult.getElapsedNanos() / 1e6) + "," + format(simNanos / 1e6) + ","
+					+ format(peakHeap(heapPools) / 1048576.0) + "," + format(gaResult.getMakespan()) + ","
+					+ format(makespan) + "," + format(makespan > 0 ? completed / makespan : 0) + "," + status;
+		} catch (OutOfMemoryError e) {
+			return prefix + ",,,,," + format(peakHeap(heapPools) / 1048576.0) + ",,,,out_of_memory";
+		} catch (Exception e) {
+			return prefix + ",,,,,,,,," + e.getClass().getSimpleName();
+		} finally {
+			if(!logDisabled)
+				Log.enable();
+		}
+	}
+
+	/**
+	 * Resets the peak usage of the heap pools.
+	 * @return heap pools
+	 */
+	private static List<MemoryPoolMXBean> resetHeapPeaks() {
+		List<MemoryPoolMXBean> heapPools = new ArrayList<MemoryPoolMXBean>();
+		for(MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()){
+			if(pool.getType() == MemoryType.HEAP && pool.isValid()){
+				pool.resetPeakUsage();
+				heapPools.add(pool);
+			}
+		}
+		return heapPools;
+	}
+
+	/**
+	 * Sum of the peak usage of the heap pools, in bytes.
+	 */
+	private static long peakHeap(List<MemoryPoolMXBean> heapPools) {
+		long peak = 0;
+		for(MemoryPoolMXBean pool : heapPools)
+			peak += pool.getPeakUsage().getUsed();
+		return peak;
+	}
+
+	private static String format(double value) {
+		return String.format(Locale.ROOT, "%.3f", value);
+	}
+
+	/**
+	 * Parses a comma separated list of counts.
+	 */
+	private static int[] parseCounts(String list) {
+		String[] parts = list.split(",");
+		int[] counts = new int[parts.length];
+		for(int i = 0; i < parts.length; i++)
+			counts[i] = Integer.parseInt(parts[i].trim());
+		return counts;
+	}
+
+	/**
+	 * Main method
+	 * @param args - [csv [vms [cloudlets [hosts]]]]
+	 */
+	public static void main(String[] args) {
+		File csv = new File(args.length > 0 ? args[0] : "scaling.csv");
+		int[] vms = parseCounts(args.length > 1 ? args[1] : "10,50,100");
+		int[] cloudlets = parseCounts(args.length > 2 ? args[2] : "100,1000,10000");
+		int[] hosts = parseCounts(args.length > 3 ? args[3] : "3,6");
+		long seed = Long.parseLong(System.getProperty("geneticalgo.seed", "42"));
+
+		GAConfig config = new GAConfig();
+		config.setPopulationSize(50);
+		config.setMaxGenerations(200);
+		config.setStagnationLimit(50);
+		config.setHeuristicSeeding(true);
+		config.setFitnessModel(FitnessModel.SPACE_SHARED);
+		config.setParallelism(Runtime.getRuntime().availableProcessors());
+
+		try {
+			new ScalingSweep(seed, config).sweep(csv, vms, cloudlets, hosts);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+}
@@ -0,0 +1,261 @@
+package geneticalgo;
+
+/**
+ * Parameters of a generated scenario, passed to a {@link WorkloadGenerator}: the sizes of the
+ * cloudlet and vm fleets, the distributions of cloudlet lengths and vm mips, the fixed
+ * parameters of every cloudlet and vm, and the seed. The defaults are the 50 cloudlets and
+ * 10 vms of {@link GeneticAlgorithm}.
+ * Provides setter and getter methods for every parameter.
+ */
+public class ScenarioConfig {
+
+	/** Number of cloudlets */
+	private int numCloudlets = 50;
+
+	/** Number of vms */
+	private int numVms = 10;
+
+	/** Length of a cloudlet, in million instructions */
+	private Distribution cloudletLength = new Distribution.Uniform(1001, 2001);
+
+	/** Number of cpus of a cloudlet */
+	private int cloudletPes = 1;
+
+	/** File size of a cloudlet before and after submitting, in bytes */
+	private long cloudletFileSize = 300;
+
+	/** Mips of a vm */
+	private Distribution vmMips = new Distribution.Uniform(500, 1000);
+
+	/** Number of cpus of a vm */
+	private int vmPes = 4;
+
+	/** Memory of a vm, in MB */
+	private int vmRam = 512;
+
+	/** Bandwidth of a vm */
+	private long vmBw = 10;
+
+	/** Image size of a vm, in MB */
+	private long vmSize = 10000;
+
+	/** Number of threads generating the scenario */
+	private int parallelism = 1;
+
+	/** Seed of the scenario */
+	private long seed = System.nanoTime();
+
+	/**
+	 * Getter method for number of cloudlets.
+	 * @return number of cloudlets
+	 */
+	public int getNumCloudlets() {
+		return numCloudlets;
+	}
+
+	/**
+	 * Setter method for number of cloudlets.
+	 * @param numCloudlets - number of cloudlets
+	 */
+	public void setNumCloudlets(int numCloudlets) {
+		this.numCloudlets = numCloudlets;
+	}
+
+	/**
+	 * Getter method for number of vms.
+	 * @return number of vms
+	 */
+	public int getNumVms() {
+		return numVms;
+	}
+
+	/**
+	 * Setter method for number of vms.
+	 * @param numVms - number of vms
+	 */
+	public void setNumVms(int numVms) {
+		this.numVms = numVms;
+	}
+
+	/**
+	 * Getter method for distribution of cloudlet lengths.
+	 * @return distribution, in million instructions
+	 */
+	public Distribution getCloudletLength() {
+		return cloudletLength;
+	}
+
+	/**
+	 * Setter method for distribution of cloudlet lengths. Lengths are rounded down, to at least 1.
+	 * @param cloudletLength - distribution, in million instructions
+	 */
+	public void setCloudletLength(Distribution cloudletLength) {
+		this.cloudletLength = cloudletLength;
+	}
+
+	/**
+	 * Getter method for number of cpus of a cloudlet.
+	 * @return pes
+	 */
+	public int getCloudletPes() {
+		return cloudletPes;
+	}
+
+	/**
+	 * Setter method for number of cpus of a cloudlet.
+	 * @param cloudletPes - pes
+	 */
+	public void setCloudletPes(int cloudletPes) {
+		this.cloudletPes = cloudletPes;
+	}
+
+	/**
+	 * Getter method for file size of a cloudlet.
+	 * @return bytes
+	 */
+	public long getCloudletFileSize() {
+		return cloudletFileSize;
+	}
+
+	/**
+	 * Setter method for file size of a cloudlet, before and after submitting.
+	 * @param cloudletFileSize - bytes
+	 */
+	public void setCloudletFileSize(long cloudletFileSize) {
+		this.cloudletFileSize = cloudletFileSize;
+	}
+
+	/**
+	 * Getter method for distribution of vm mips.
+	 * @return distribution
+	 */
+	public Distribution getVmMips() {
+		return vmMips;
+	}
+
+	/**
+	 * Setter method for distribution of vm mips. Mips are rounded down, to at least 1.
+	 * @param vmMips - distribution
+	 */
+	public void setVmMips(Distribution vmMips) {
+		this.vmMips = vmMips;
+	}
+
+	/**
+	 * Getter method for number of cpus of a vm.
+	 * @return pes
+	 */
+	public int getVmPes() {
+		return vmPes;
+	}
+
+	/**
+	 * Setter method for number of cpus of a vm.
+	 * @param vmPes - pes
+	 */
+	public void setVmPes(int vmPes) {
+		this.vmPes = vmPes;
+	}
+
+	/**
+	 * Getter method for memory of a vm.
+	 * @return MB
+	 */
+	public int getVmRam() {
+		return vmRam;
+	}
+
+	/**
+	 * Setter method for memory of a vm.
+	 * @param vmRam - MB
+	 */
+	public void setVmRam(int vmRam) {
+		this.vmRam = vmRam;
+	}
+
+	/**
+	 * Getter method for bandwidth of a vm.
+	 * @return bandwidth
+	 */
+	public long getVmBw() {
+		return vmBw;
+	}
+
+	/**
+	 * Setter method for bandwidth of a vm.
+	 * @param vmBw - bandwidth
+	 */
+	public void setVmBw(long vmBw) {
+		this.vmBw = vmBw;
+	}
+
+	/**
+	 * Getter method for image size of a vm.
+	 * @return MB
+	 */
+	public long getVmSize() {
+		return vmSize;
+	}
+
+	/**
+	 * Setter method for image size of a vm.
+	 * @param vmSize - MB
+	 */
+	public void setVmSize(long vmSize) {
+		this.vmSize = vmSize;
+	}
+
+	/**
+	 * Getter method for number of threads generating the scenario.
+	 * @return threads
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Setter method for number of threads generating the scenario. The scenario does not depend
+	 * on it.
+	 * @param parallelism - threads
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = Math.max(1, parallelism);
+	}
+
+	/**
+	 * Getter method for seed of the scenario.
+	 * @return seed
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Setter method for seed of the scenario.
+	 * @param seed - seed
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+
+	/**
+	 * Creates a copy of this config. Distributions are shared.
+	 * @return a new ScenarioConfig with the same parameters
+	 */
+	public ScenarioConfig copy() {
+		ScenarioConfig copy = new ScenarioConfig();
+		copy.numCloudlets = numCloudlets;
+		copy.numVms = numVms;
+		copy.cloudletLength = cloudletLength;
+		copy.cloudletPes = cloudletPes;
+		copy.cloudletFileSize = cloudletFileSize;
+		copy.vmMips = vmMips;
+		copy.vmPes = vmPes;
+		copy.vmRam = vmRam;
+		copy.vmBw = vmBw;
+		copy.vmSize = vmSize;
+		copy.parallelism = parallelism;
+		copy.seed = seed;
+		return copy;
+	}
+}
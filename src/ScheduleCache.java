@@ -0,0 +1,491 @@
+package geneticalgo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Random;
+
+import org.cloudbus.cloudsim.Log;
+
+/**
+ * Warm-start cache of the best schedules found for earlier workloads, kept in a file.
+ * Entries are keyed by {@link WorkloadFingerprint}. A run on a workload is seeded from the entry
+ * with the same fingerprint or, failing that, from the closest entry within maxDistance.
+ *
+ * Schedules are stored by rank, so that they can be applied to a workload of a different size:
+ * for the r-th shortest cloudlet, the rank of its vm by decreasing mips. When a schedule is
+ * applied, ranks are scaled to the numbers of cloudlets and vms of the new workload. On disk
+ * a rank takes 1, 2 or 4 bytes depending on the number of vms.
+ *
+ * Entries are kept in least recently used order and the eldest are evicted when there are more
+ * than maxEntries or they take more than maxBytes. The file is only written by {@link #save()}.
+ *
+ * A warm start must never stop a run: a file that is corrupt, truncated or of another
+ * {@link #VERSION} is reported through the CloudSim Log, deleted, and the cache starts cold.
+ * Every entry keeps the makespan of its best schedule, so that a run can report how far its
+ * result is from the schedule it was seeded with, see {@link #getSeedMakespan()}.
+ */
+public class ScheduleCache {
+
+	/** First int of a cache file */
+	public static final int MAGIC = 0x47415343;
+
+	/** Format version of a cache file */
+	public static final int VERSION = 1;
+
+	/** Default largest number of entries */
+	public static final int DEFAULT_MAX_ENTRIES = 64;
+
+	/** Default largest size of the entries on disk */
+	public static final long DEFAULT_MAX_BYTES = 16L << 20;
+
+	/** Default number of schedules stored per entry */
+	public static final int DEFAULT_SCHEDULES_PER_ENTRY = 4;
+
+	/** Default largest fingerprint distance of a usable entry */
+	public static final double DEFAULT_MAX_DISTANCE = 0.5;
+
+	/** File of the cache */
+	private final File file;
+
+	/** Largest number of entries */
+	private final int maxEntries;
+
+	/** Largest size of the entries on disk */
+	private final long maxBytes;
+
+	/** Number of schedules stored per entry */
+	private int schedulesPerEntry = DEFAULT_SCHEDULES_PER_ENTRY;
+
+	/** Largest fingerprint distance of a usable entry */
+	private double maxDistance = DEFAULT_MAX_DISTANCE;
+
+	/** Entries from the least to the most recently used */
+	private final LinkedHashMap<WorkloadFingerprint, Entry> entries =
+			new LinkedHashMap<WorkloadFingerprint, Entry>(16, 0.75f, true);
+
+	/** Size of the entries on disk */
+	private long bytes;
+
+	/** Number of seeded runs with an exact or close entry */
+	private int hits;
+
+	/** Number of seeded runs without a usable entry */
+	private int misses;
+
+	/** Cached makespan of the entry used by the last seeded run, NaN without one */
+	private double seedMakespan = Double.NaN;
+
+	/**
+	 * Create a new ScheduleCache with the default limits, loading the file if it exists.
+	 * @param file - file of the cache
+	 */
+	public ScheduleCache(File file) {
+		this(file, DEFAULT_MAX_ENTRIES, DEFAULT_MAX_BYTES);
+	}
+
+	/**
+	 * Create a new ScheduleCache, loading the file if it exists.
+	 * @param file - file of the cache
+	 * @param maxEntries - largest number of entries
+	 * @param maxBytes - largest size of the entries on disk
+	 */
+	public ScheduleCache(File file, int maxEntries, long maxBytes) {
+		this.file = file;
+		this.maxEntries = Math.max(1, maxEntries);
+		this.maxBytes = maxBytes;
+		if(file.exists()){
+			try {
+				load();
+			} catch (IOException e) {
+				discard(e.getMessage());
+			} catch (RuntimeException e) {
+				discard(e.toString());
+			}
+		}
+	}
+
+	/**
+	 * Drops the entries read from an unusable file and deletes it, so that the run starts cold.
+	 * @param reason - why the file cannot be used
+	 */
+	private void discard(String reason) {
+		entries.clear();
+		bytes = 0;
+		Log.printLine("Schedule cache " + file + " discarded, starting cold: " + reason);
+		if(!file.delete())
+			Log.printLine("Schedule cache " + file + " cannot be deleted");
+	}
+
+	/**
+	 * Overwrites the last chromosomes of a population with the schedules of the entry closest
+	 * to the workload, and the chromosomes before them with copies where a random fraction of
+	 * the genes, up to maxPerturbation, is moved to random vms. At most a quarter of the
+	 * population is overwritten, and cached fitness is invalidated.
+	 *
+	 * @param workload - workload of the run
+	 * @param population - array of compact chromosomes
+	 * @param rand - Random of the run
+	 * @param maxPerturbation - largest fraction of genes moved in a copy
+	 * @return number of cached schedules injected, 0 without a usable entry
+	 */
+	public synchronized int seed(Workload workload, CompactChromosome[] population, Random rand,
+									double maxPerturbation) {
+		Entry entry = closest(new WorkloadFingerprint(workload));
+		if(entry == null || entry.schedules.length == 0){
+			misses++;
+			seedMakespan = Double.NaN;
+			return 0;
+		}
+		hits++;
+		seedMakespan = entry.makespan;
+
+		int numCloudlets = workload.getNumCloudlets();
+		int numVms = workload.getNumVms();
+		int[] cloudletOrder = cloudletOrder(workload.getEtcMatrix());
+		int[] vmOrder = vmOrder(workload.getEtcMatrix());
+
+		int slots = Math.max(1, population.length / 4);
+		int seeds = Math.min(entry.schedules.length, slots);
+		for(int s = 0; s < seeds; s++){
+			int[] ranks = entry.schedules[s];
+			int[] genes = population[population.length - 1 - s].getGenes();
+			for(int r = 0; r < numCloudlets; r++){
+				int vmRank = ranks[(int) ((long) r * entry.numCloudlets / numCloudlets)];
+				genes[cloudletOrder[r]] = vmOrder[(int) ((long) vmRank * numVms / entry.numVms)];
+			}
+			population[population.length - 1 - s].evaluated = false;
+		}
+
+		for(int s = seeds; s < slots; s++){
+			CompactChromosome chromosome = population[population.length - 1 - s];
+			chromosome.copyGenesFrom(population[population.length - 1 - (s % seeds)]);
+			int[] genes = chromosome.getGenes();
+			int moves = (int) (rand.nextDouble() * maxPerturbation * numCloudlets) + 1;
+			for(int m = 0; m < moves; m++)
+				genes[rand.nextInt(numCloudlets)] = rand.nextInt(numVms);
+		}
+		return seeds;
+	}
+
+	/**
+	 * Stores the most fit chromosomes of an evaluated population as the entry of the workload,
+	 * replacing the previous entry with the same fingerprint, and evicts the least recently
+	 * used entries over the limits.
+	 * @param workload - workload of the run
+	 * @param population - evaluated population
+	 */
+	public synchronized void put(Workload workload, final CompactChromosome[] population) {
+		Integer[] order = new Integer[population.length];
+		for(int i = 0; i < order.length; i++)
+			order[i] = i;
+		Arrays.sort(order, new Comparator<Integer>() {
+			public int compare(Integer i1, Integer i2) {
+				return Double.compare(population[i1].getFitness(), population[i2].getFitness());
+			}
+		});
+
+		EtcMatrix etc = workload.getEtcMatrix();
+		int numCloudlets = etc.getNumCloudlets();
+		int[] cloudletOrder = cloudletOrder(etc);
+		int[] vmOrder = vmOrder(etc);
+		int[] vmRank = new int[vmOrder.length];
+		for(int r = 0; r < vmOrder.length; r++)
+			vmRank[vmOrder[r]] = r;
+
+		int[][] schedules = new int[Math.min(schedulesPerEntry, population.length)][];
+		for(int s = 0; s < schedules.length; s++){
+			int[] genes = population[order[s]].getGenes();
+			int[] ranks = new int[numCloudlets];
+			for(int r = 0; r < numCloudlets; r++)
+				ranks[r] = vmRank[genes[cloudletOrder[r]]];
+			schedules[s] = ranks;
+		}
+
+		WorkloadFingerprint fingerprint = new WorkloadFingerprint(workload);
+		Entry entry = new Entry(fingerprint, population[order[0]].getMakespan(), schedules);
+		Entry previous = entries.remove(fingerprint);
+		if(previous != null)
+			bytes -= previous.serializedSize();
+		entries.put(fingerprint, entry);
+		bytes += entry.serializedSize();
+		evict();
+	}
+
+	/**
+	 * Entry with the same fingerprint, or the closest entry within maxDistance. The entry
+	 * becomes the most recently used.
+	 * @param fingerprint - fingerprint of the workload
+	 * @return entry, or null if none is close enough
+	 */
+	private Entry closest(WorkloadFingerprint fingerprint) {
+		Entry entry = entries.get(fingerprint);
+		if(entry != null)
+			return entry;
+
+		double bestDistance = maxDistance;
+		WorkloadFingerprint bestKey = null;
+		for(WorkloadFingerprint key : entries.keySet()){
+			double distance = key.distance(fingerprint);
+			if(distance <= bestDistance){
+				bestDistance = distance;
+				bestKey = key;
+			}
+		}
+		return bestKey == null ? null : entries.get(bestKey);
+	}
+
+	/**
+	 * Removes the least recently used entries until the limits are met.
+	 */
+	private void evict() {
+		Iterator<Entry> eldest = entries.values().iterator();
+		while(eldest.hasNext() && (entries.size() > maxEntries || bytes > maxBytes)){
+			bytes -= eldest.next().serializedSize();
+			eldest.remove();
+		}
+	}
+
+	/**
+	 * Gene positions of the cloudlets by increasing length.
+	 */
+	private static int[] cloudletOrder(final EtcMatrix etc) {
+		Integer[] order = new Integer[etc.getNumCloudlets()];
+		for(int i = 0; i < order.length; i++)
+			order[i] = i;
+		Arrays.sort(order, new Comparator<Integer>() {
+			public int compare(Integer i1, Integer i2) {
+				return Double.compare(etc.getLength(i1), etc.getLength(i2));
+			}
+		});
+		int[] positions = new int[order.length];
+		for(int r = 0; r < order.length; r++)
+			positions[r] = order[r];
+		return positions;
+	}
+
+	/**
+	 * Vm indices by decreasing mips.
+	 */
+	private static int[] vmOrder(final EtcMatrix etc) {
+		Integer[] order = new Integer[etc.getNumVms()];
+		for(int k = 0; k < order.length; k++)
+			order[k] = k;
+		Arrays.sort(order, new Comparator<Integer>() {
+			public int compare(Integer k1, Integer k2) {
+				return Double.compare(etc.getInverseMips(k1), etc.getInverseMips(k2));
+			}
+		});
+		int[] indices = new int[order.length];
+		for(int r = 0; r < order.length; r++)
+			indices[r] = order[r];
+		return indices;
+	}
+
+	/**
+	 * Writes the entries to the file, from the least to the most recently used. The file is
+	 * replaced only once the new content is complete.
+	 * @throws IOException if the file cannot be written
+	 */
+	public synchronized void save() throws IOException {
+		File temp = new File(file.getPath() + ".tmp");
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+		try {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(entries.size());
+			for(Entry entry : entries.values())
+				entry.write(out);
+		} finally {
+			out.close();
+		}
+		if(!temp.renameTo(file)){
+			if(!file.delete() || !temp.renameTo(file))
+				throw new IOException("Cannot replace " + file);
+		}
+	}
+
+	/**
+	 * Reads the entries of the file, keeping their order of use.
+	 * @throws IOException if the file cannot be read or is not a cache file
+	 */
+	private void load() throws IOException {
+		long length = file.length();
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+		try {
+			if(in.readInt() != MAGIC)
+				throw new IOException(file + " is not a schedule cache file");
+			int version = in.readInt();
+			if(version != VERSION)
+				throw new IOException("version " + version + " instead of " + VERSION);
+			int count = in.readInt();
+			if(count < 0)
+				throw new IOException("Negative entry count: " + count);
+			for(int e = 0; e < count; e++){
+				Entry entry = Entry.read(in, length);
+				entries.put(entry.fingerprint, entry);
+				bytes += entry.serializedSize();
+			}
+		} finally {
+			in.close();
+		}
+		evict();
+	}
+
+	/**
+	 * Setter method for number of schedules stored per entry.
+	 * @param schedulesPerEntry - at least 1
+	 */
+	public synchronized void setSchedulesPerEntry(int schedulesPerEntry) {
+		this.schedulesPerEntry = Math.max(1, schedulesPerEntry);
+	}
+
+	/**
+	 * Setter method for largest fingerprint distance of a usable entry.
+	 * @param maxDistance - 0 to only use entries with the same fingerprint
+	 */
+	public synchronized void setMaxDistance(double maxDistance) {
+		this.maxDistance = maxDistance;
+	}
+
+	/**
+	 * Getter method for number of entries.
+	 * @return entries
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Getter method for size of the entries on disk.
+	 * @return bytes
+	 */
+	public synchronized long getBytes() {
+		return bytes;
+	}
+
+	/**
+	 * Getter method for number of seeded runs with a usable entry.
+	 * @return hits
+	 */
+	public synchronized int getHits() {
+		return hits;
+	}
+
+	/**
+	 * Getter method for the makespan of the best schedule of the entry the last run was seeded
+	 * from, on the workload the entry was stored for. The gap with the makespan found by the run
+	 * shows what the warm start was worth.
+	 * @return cached makespan, NaN if the last run found no usable entry
+	 */
+	public synchronized double getSeedMakespan() {
+		return seedMakespan;
+	}
+
+	/**
+	 * Getter method for number of seeded runs without a usable entry.
+	 * @return misses
+	 */
+	public synchronized int getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Best schedules of one workload, by rank.
+	 */
+	private static class Entry {
+
+		final WorkloadFingerprint fingerprint;
+
+		final int numCloudlets;
+
+		final int numVms;
+
+		/** Makespan of the best schedule on the workload it was found for */
+		final double makespan;
+
+		/** Vm rank of every cloudlet rank, most fit schedule first */
+		final int[][] schedules;
+
+		Entry(WorkloadFingerprint fingerprint, double makespan, int[][] schedules) {
+			this.fingerprint = fingerprint;
+			this.numCloudlets = fingerprint.getNumCloudlets();
+			this.numVms = fingerprint.getNumVms();
+			this.makespan = makespan;
+			this.schedules = schedules;
+		}
+
+		/** Bytes per rank on disk */
+		int rankWidth() {
+			return rankWidth(numVms);
+		}
+
+		/** Bytes per rank on disk for a number of vms */
+		static int rankWidth(int numVms) {
+			return numVms <= 1 << 8 ? 1 : numVms <= 1 << 16 ? 2 : 4;
+		}
+
+		int serializedSize() {
+			return fingerprint.serializedSize() + 8 + 4 + schedules.length * numCloudlets * rankWidth();
+		}
+
+		void write(DataOutputStream out) throws IOException {
+			fingerprint.write(out);
+			out.writeDouble(makespan);
+			out.writeInt(schedules.length);
+			int width = rankWidth();
+			for(int[] ranks : schedules){
+				for(int r = 0; r < ranks.length; r++){
+					if(width == 1)
+						out.writeByte(ranks[r]);
+					else if(width == 2)
+						out.writeShort(ranks[r]);
+					else
+						out.writeInt(ranks[r]);
+				}
+			}
+		}
+
+		/**
+		 * Reads an entry, checking its sizes before allocating its schedules.
+		 * @param in - cache file
+		 * @param length - length of the file, an upper bound of the size of the schedules
+		 */
+		static Entry read(DataInputStream in, long length) throws IOException {
+			WorkloadFingerprint fingerprint = WorkloadFingerprint.read(in);
+			double makespan = in.readDouble();
+			int count = in.readInt();
+			int numCloudlets = fingerprint.getNumCloudlets();
+			if(numCloudlets <= 0 || fingerprint.getNumVms() <= 0 || count < 0)
+				throw new IOException("Invalid entry: " + numCloudlets + " cloudlets, " + fingerprint.getNumVms()
+										+ " vms, " + count + " schedules");
+			int width = rankWidth(fingerprint.getNumVms());
+			if((long) count * numCloudlets * width > length)
+				throw new IOException("Entry larger than the file: " + count + " schedules of " + numCloudlets + " cloudlets");
+			int[][] schedules = new int[count][numCloudlets];
+			Entry entry = new Entry(fingerprint, makespan, schedules);
+			for(int[] ranks : schedules){
+				for(int r = 0; r < ranks.length; r++){
+					if(width == 1)
+						ranks[r] = in.readUnsignedByte();
+					else if(width == 2)
+						ranks[r] = in.readUnsignedShort();
+					else
+						ranks[r] = in.readInt();
+					if(ranks[r] < 0 || ranks[r] >= entry.numVms)
+						throw new IOException("Vm rank out of range: " + ranks[r]);
+				}
+			}
+			return entry;
+		}
+	}
+}
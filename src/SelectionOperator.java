@@ -0,0 +1,53 @@
+package geneticalgo;
+
+import java.util.Random;
+
+/**
+ * Picks the parents of the next generation of a {@link GAEngine}.
+ * An operator may keep per-generation state, so an instance must not be shared between engines
+ * that run concurrently. The operators of a {@link GAConfig} are named by {@link Type}.
+ */
+public interface SelectionOperator {
+
+	/**
+	 * Called once per generation, before the parents of that generation are selected.
+	 * @param population - evaluated population
+	 */
+	void prepare(CompactChromosome[] population);
+
+	/**
+	 * Selects a parent.
+	 * @param population - evaluated population
+	 * @param rand - Random of the run
+	 * @return index of the selected chromosome
+	 */
+	int select(CompactChromosome[] population, Random rand);
+
+	/**
+	 * Selection operators that can be set in a {@link GAConfig}.
+	 */
+	public enum Type {
+
+		/** {@link TournamentSelection} of the default size */
+		TOURNAMENT {
+			@Override
+			public SelectionOperator create() {
+				return new TournamentSelection();
+			}
+		},
+
+		/** {@link RouletteSelection} */
+		ROULETTE {
+			@Override
+			public SelectionOperator create() {
+				return new RouletteSelection();
+			}
+		};
+
+		/**
+		 * Creates a new operator of this type, for a single engine.
+		 * @return selection operator
+		 */
+		public abstract SelectionOperator create();
+	}
+}
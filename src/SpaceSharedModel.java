@@ -0,0 +1,173 @@
+package geneticalgo;
+
+/**
+ * Analytical model of CloudletSchedulerSpaceShared, used by the SPACE_SHARED
+ * {@link FitnessModel} to predict the finish time of every cloudlet without a simulation.
+ *
+ * Every vm has one slot per PE, holding the time at which the PE becomes free, and the slots of
+ * a vm are kept in a min-heap. The cloudlets are taken in gene order, which is the order the
+ * broker submits them in. A cloudlet requesting p PEs takes the p earliest free slots of its
+ * vm, starts when the last of them is free, runs for its expected time to compute (a cloudlet
+ * of length L on p PEs of m mips each runs L * p instructions at p * m mips) and frees its
+ * slots at its finish time. A vm with PEs left idle therefore runs several cloudlets at once,
+ * and a cloudlet waits for the earlier ones only when every PE is busy.
+ *
+ * With cloudlets of one PE, as generated by {@link WorkloadGenerator}, this is exactly the
+ * first-come first-served queue of the scheduler. Cloudlets of several PEs are not held back
+ * behind a waiting cloudlet, like the scheduler which starts any waiting cloudlet that fits.
+ * Times are relative to the dispatch of the schedule, and slots start at the ready time of
+ * their vm. Cloudlets wider than their vm are run on all of its PEs.
+ *
+ * The queue of a vm only depends on the genes assigned to it, so after genes moved between
+ * two vms, {@link #replay(int[], int, int, double[])} recomputes those two vms alone.
+ *
+ * The slots are reused per thread, so distinct chromosomes can be scored concurrently.
+ */
+public class SpaceSharedModel {
+
+	/** Expected time to compute of every cloudlet on every vm */
+	private final EtcMatrix etc;
+
+	/** Position of the first slot of every vm, and total number of slots at numVms */
+	private final int[] offsets;
+
+	/** Slots of every vm, one array per thread */
+	private final ThreadLocal<double[]> slots;
+
+	/**
+	 * Create a new SpaceSharedModel.
+	 * @param etc - expected time to compute matrix of the workload
+	 */
+	public SpaceSharedModel(EtcMatrix etc) {
+		this.etc = etc;
+		int numVms = etc.getNumVms();
+		this.offsets = new int[numVms + 1];
+		for(int k = 0; k < numVms; k++)
+			offsets[k + 1] = offsets[k] + etc.getVmPes(k);
+		final int numSlots = offsets[numVms];
+		this.slots = new ThreadLocal<double[]>() {
+			@Override
+			protected double[] initialValue() {
+				return new double[numSlots];
+			}
+		};
+	}
+
+	/**
+	 * Predicts the execution of a schedule.
+	 * @param genes - vm index of every gene
+	 * @param loads - overwritten with the completion time of every vm, its ready time if idle
+	 * @param finishTimes - overwritten with the finish time of every cloudlet, or null
+	 * @return total time taken by all the cloudlets
+	 */
+	public double evaluate(int[] genes, double[] loads, double[] finishTimes) {
+		double[] heap = slots.get();
+		int numVms = loads.length;
+		for(int k = 0; k < numVms; k++)
+			reset(heap, k, loads);
+
+		double total = 0;
+		for(int i = 0; i < genes.length; i++){
+			int vm = genes[i];
+			double finish = run(heap, i, vm);
+			if(finish > loads[vm])
+				loads[vm] = finish;
+			if(finishTimes != null)
+				finishTimes[i] = finish;
+			total += etc.time(i, vm);
+		}
+		return total;
+	}
+
+	/**
+	 * Recomputes the completion time of two vms from the genes assigned to them, in one pass
+	 * over the genes. The loads of the other vms are left as they are.
+	 * @param genes - vm index of every gene
+	 * @param vm1 - first vm
+	 * @param vm2 - second vm, may be vm1
+	 * @param loads - completion time of every vm, overwritten at vm1 and vm2
+	 */
+	public void replay(int[] genes, int vm1, int vm2, double[] loads) {
+		double[] heap = slots.get();
+		reset(heap, vm1, loads);
+		reset(heap, vm2, loads);
+		for(int i = 0; i < genes.length; i++){
+			int vm = genes[i];
+			if(vm == vm1 || vm == vm2){
+				double finish = run(heap, i, vm);
+				if(finish > loads[vm])
+					loads[vm] = finish;
+			}
+		}
+	}
+
+	/**
+	 * Frees every slot of a vm at its ready time, which is also its load while idle.
+	 */
+	private void reset(double[] heap, int vm, double[] loads) {
+		double ready = etc.getReadyTime(vm);
+		loads[vm] = ready;
+		for(int s = offsets[vm]; s < offsets[vm + 1]; s++)
+			heap[s] = ready;
+	}
+
+	/**
+	 * Runs a cloudlet on the earliest free slots of its vm.
+	 * @return finish time of the cloudlet
+	 */
+	private double run(double[] heap, int cloudlet, int vm) {
+		double t = etc.time(cloudlet, vm);
+		int off = offsets[vm];
+		int pes = offsets[vm + 1] - off;
+		int requested = Math.min(etc.getCloudletPes(cloudlet), pes);
+
+		if(requested == 1){
+			// the earliest free PE is the root of the heap
+			double finish = heap[off] + t;
+			heap[off] = finish;
+			siftDown(heap, off, pes, 0);
+			return finish;
+		}
+
+		double start = 0;
+		int size = pes;
+		for(int p = 0; p < requested; p++){
+			start = Math.max(start, heap[off]);
+			heap[off] = heap[off + --size];
+			siftDown(heap, off, size, 0);
+		}
+		double finish = start + t;
+		for(int p = 0; p < requested; p++){
+			heap[off + size] = finish;
+			siftUp(heap, off, size++);
+		}
+		return finish;
+	}
+
+	private static void siftDown(double[] heap, int off, int size, int pos) {
+		double value = heap[off + pos];
+		int half = size >>> 1;
+		while(pos < half){
+			int child = 2 * pos + 1;
+			if(child + 1 < size && heap[off + child + 1] < heap[off + child])
+				child++;
+			if(heap[off + child] >= value)
+				break;
+			heap[off + pos] = heap[off + child];
+			pos = child;
+		}
+		heap[off + pos] = value;
+	}
+
+	private static void siftUp(double[] heap, int off, int pos) {
+		double value = heap[off + pos];
+		while(pos > 0){
+			int parent = (pos - 1) >>> 1;
+			if(heap[off + parent] <= value)
+				break;
+			heap[off + pos] = heap[off + parent];
+			pos = parent;
+		}
+		heap[off + pos] = value;
+	}
+}
@@ -0,0 +1,177 @@
+package geneticalgo;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Receives the {@link GenerationStats} of every generation of a {@link GAEngine}, set with
+ * {@link GAEngine#setTelemetrySink(TelemetrySink)}. Without a sink the engine computes no
+ * telemetry at all.
+ * The sinks writing to a CSV file, a JSON lines file or memory, and a sink passing records to
+ * several others, are nested in this interface. The live {@link GAMetrics} are not a sink: the
+ * engine publishes them without computing these statistics.
+ * A sink can receive several runs, each starting again at generation 0, and is closed by its
+ * owner, not by the engine.
+ */
+public interface TelemetrySink extends Closeable {
+
+	/**
+	 * Called by the engine after the initial population and after every generation, on the
+	 * thread running the engine.
+	 * @param stats - telemetry of the generation
+	 */
+	void record(GenerationStats stats);
+
+	/**
+	 * Keeps every record in a list.
+	 */
+	public static class InMemory implements TelemetrySink {
+
+		private final List<GenerationStats> records = new ArrayList<GenerationStats>();
+
+		@Override
+		public void record(GenerationStats stats) {
+			records.add(stats);
+		}
+
+		/**
+		 * Getter method for the records, in the order they were received.
+		 * @return read-only list of records
+		 */
+		public List<GenerationStats> getRecords() {
+			return Collections.unmodifiableList(records);
+		}
+
+		/**
+		 * Removes every record.
+		 */
+		public void clear() {
+			records.clear();
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+
+	/**
+	 * Passes every record to several sinks, in order.
+	 */
+	public static class Tee implements TelemetrySink {
+
+		private final TelemetrySink[] sinks;
+
+		/**
+		 * @param sinks - sinks receiving every record
+		 */
+		public Tee(TelemetrySink... sinks) {
+			this.sinks = sinks.clone();
+		}
+
+		@Override
+		public void record(GenerationStats stats) {
+			for(TelemetrySink sink : sinks)
+				sink.record(stats);
+		}
+
+		/**
+		 * Closes every sink, even if closing one of them fails.
+		 */
+		@Override
+		public void close() throws IOException {
+			IOException failure = null;
+			for(TelemetrySink sink : sinks){
+				try {
+					sink.close();
+				} catch (IOException e) {
+					if(failure == null)
+						failure = e;
+				}
+			}
+			if(failure != null)
+				throw failure;
+		}
+	}
+
+	/**
+	 * Writes a CSV file with a header and one row per record.
+	 */
+	public static class Csv implements TelemetrySink {
+
+		/** Header of the file */
+		public static final String HEADER = "generation,elapsed_ms,best_fitness,mean_fitness,worst_fitness,"
+				+ "best_makespan,diversity,stagnation,evaluations,evaluations_per_s,allocated_bytes";
+
+		private final PrintWriter out;
+
+		/**
+		 * @param file - output file, overwritten
+		 * @throws IOException if the file cannot be created
+		 */
+		public Csv(File file) throws IOException {
+			out = new PrintWriter(new FileWriter(file));
+			out.println(HEADER);
+		}
+
+		@Override
+		public void record(GenerationStats stats) {
+			out.println(stats.getGeneration() + "," + stats.getElapsedNanos() / 1e6 + ","
+					+ stats.getBestFitness() + "," + stats.getMeanFitness() + ","
+					+ stats.getWorstFitness() + "," + stats.getBestMakespan() + ","
+					+ stats.getDiversity() + "," + stats.getGenerationsWithoutImprovement() + ","
+					+ stats.getEvaluations() + "," + stats.getEvaluationsPerSecond() + ","
+					+ stats.getAllocatedBytes());
+		}
+
+		@Override
+		public void close() throws IOException {
+			out.close();
+			if(out.checkError())
+				throw new IOException("Cannot write telemetry");
+		}
+	}
+
+	/**
+	 * Writes a JSON object per record, one per line.
+	 */
+	public static class JsonLines implements TelemetrySink {
+
+		private final PrintWriter out;
+
+		/**
+		 * @param file - output file, overwritten
+		 * @throws IOException if the file cannot be created
+		 */
+		public JsonLines(File file) throws IOException {
+			out = new PrintWriter(new FileWriter(file));
+		}
+
+		@Override
+		public void record(GenerationStats stats) {
+			out.println("{\"generation\":" + stats.getGeneration()
+					+ ",\"elapsedMs\":" + stats.getElapsedNanos() / 1e6
+					+ ",\"bestFitness\":" + stats.getBestFitness()
+					+ ",\"meanFitness\":" + stats.getMeanFitness()
+					+ ",\"worstFitness\":" + stats.getWorstFitness()
+					+ ",\"bestMakespan\":" + stats.getBestMakespan()
+					+ ",\"diversity\":" + stats.getDiversity()
+					+ ",\"stagnation\":" + stats.getGenerationsWithoutImprovement()
+					+ ",\"evaluations\":" + stats.getEvaluations()
+					+ ",\"evaluationsPerSecond\":" + stats.getEvaluationsPerSecond()
+					+ ",\"allocatedBytes\":" + stats.getAllocatedBytes() + "}");
+		}
+
+		@Override
+		public void close() throws IOException {
+			out.close();
+			if(out.checkError())
+				throw new IOException("Cannot write telemetry");
+		}
+	}
+}
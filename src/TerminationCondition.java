@@ -0,0 +1,105 @@
+package geneticalgo;
+
+/**
+ * Decides when a {@link GAEngine} stops producing generations.
+ * The conditions built from a {@link GAConfig} are nested in this interface; more can be
+ * added to an engine with {@link GAEngine#addTerminationCondition(TerminationCondition)}.
+ */
+public interface TerminationCondition {
+
+	/**
+	 * Checked by the engine before every generation.
+	 * @param engine - the running engine
+	 * @return true to stop the run
+	 */
+	boolean isSatisfied(GAEngine engine);
+
+	/**
+	 * Stops after a maximum number of generations.
+	 */
+	public static class MaxGenerations implements TerminationCondition {
+
+		private final int maxGenerations;
+
+		/**
+		 * @param maxGenerations - maximum number of generations
+		 */
+		public MaxGenerations(int maxGenerations) {
+			this.maxGenerations = maxGenerations;
+		}
+
+		@Override
+		public boolean isSatisfied(GAEngine engine) {
+			return engine.getGeneration() >= maxGenerations;
+		}
+	}
+
+	/**
+	 * Stops when the best fitness has not improved for a number of generations.
+	 */
+	public static class Stagnation implements TerminationCondition {
+
+		private final int limit;
+
+		/**
+		 * @param limit - number of generations without improvement
+		 */
+		public Stagnation(int limit) {
+			this.limit = limit;
+		}
+
+		@Override
+		public boolean isSatisfied(GAEngine engine) {
+			return engine.getGenerationsWithoutImprovement() >= limit;
+		}
+	}
+
+	/**
+	 * Stops when the best fitness reaches a target.
+	 */
+	public static class TargetFitness implements TerminationCondition {
+
+		private final double target;
+
+		/**
+		 * @param target - fitness at or below which the run stops
+		 */
+		public TargetFitness(double target) {
+			this.target = target;
+		}
+
+		@Override
+		public boolean isSatisfied(GAEngine engine) {
+			return engine.getBestFitness() <= target;
+		}
+	}
+
+	/**
+	 * Stops when the wall clock passes a deadline.
+	 */
+	public static class Deadline implements TerminationCondition {
+
+		private final long deadlineNanos;
+
+		/**
+		 * @param deadlineNanos - deadline on the {@link System#nanoTime()} clock
+		 */
+		public Deadline(long deadlineNanos) {
+			this.deadlineNanos = deadlineNanos;
+		}
+
+		/**
+		 * Creates a deadline a number of milliseconds from now.
+		 * @param budgetMillis - time budget in milliseconds
+		 * @return deadline condition
+		 */
+		public static Deadline inMillis(long budgetMillis) {
+			return new Deadline(System.nanoTime() + budgetMillis * 1000000L);
+		}
+
+		@Override
+		public boolean isSatisfied(GAEngine engine) {
+			return System.nanoTime() - deadlineNanos >= 0;
+		}
+	}
+}
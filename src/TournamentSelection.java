@@ -0,0 +1,46 @@
+package geneticalgo;
+
+import java.util.Random;
+
+/**
+ * Selects the most fit of a number of chromosomes drawn at random.
+ * Larger tournaments select more greedily.
+ */
+public class TournamentSelection implements SelectionOperator {
+
+	/** Default number of chromosomes in a tournament */
+	public static final int DEFAULT_SIZE = 3;
+
+	/** Number of chromosomes in a tournament */
+	private final int size;
+
+	/**
+	 * Create a new TournamentSelection of the default size.
+	 */
+	public TournamentSelection() {
+		this(DEFAULT_SIZE);
+	}
+
+	/**
+	 * Create a new TournamentSelection.
+	 * @param size - number of chromosomes in a tournament
+	 */
+	public TournamentSelection(int size) {
+		this.size = Math.max(1, size);
+	}
+
+	@Override
+	public void prepare(CompactChromosome[] population) {
+	}
+
+	@Override
+	public int select(CompactChromosome[] population, Random rand) {
+		int winner = rand.nextInt(population.length);
+		for(int k = 1; k < size; k++){
+			int challenger = rand.nextInt(population.length);
+			if(population[challenger].getFitness() < population[winner].getFitness())
+				winner = challenger;
+		}
+		return winner;
+	}
+}
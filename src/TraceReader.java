@@ -0,0 +1,395 @@
+package geneticalgo;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.UtilizationModel;
+import org.cloudbus.cloudsim.UtilizationModelFull;
+
+/**
+ * Reads the jobs of a Standard Workload Format (SWF) or Grid Workloads Archive (GWF) trace.
+ * The file is memory-mapped a chunk at a time and the fields are parsed from the mapped bytes,
+ * so neither the trace nor its lines are copied onto the heap; a trace of millions of jobs is
+ * read in constant memory.
+ *
+ * Jobs are pulled one at a time, either as {@link TraceRecord}s with {@link #next(TraceRecord)}
+ * or as Cloudlets with {@link #nextArrival(int)}, which lets a {@link GADatacenterBroker} in
+ * online mode replay the trace lazily. Jobs without a positive run time and processor count,
+ * such as cancelled jobs, are skipped.
+ *
+ * A job becomes a Cloudlet of runTime * mipsPerProcessor million instructions per processor.
+ * Jobs wider than maxPes are narrowed to maxPes processors, keeping their total work.
+ */
+public class TraceReader implements CloudletArrivalSource, Closeable {
+
+	/**
+	 * Layout of a trace. Both formats share their first 18 columns; GWF adds grid columns.
+	 */
+	public enum Format {
+		/** Standard Workload Format, comments start with ';' */
+		SWF(';', 12),
+		/** Grid Workloads Format, comments start with '#' */
+		GWF('#', 22);
+
+		/** First character of a comment line */
+		private final byte comment;
+
+		/** Number of leading columns parsed */
+		private final int columns;
+
+		private Format(char comment, int columns) {
+			this.comment = (byte) comment;
+			this.columns = columns;
+		}
+
+		/**
+		 * Format of a trace file, from its extension.
+		 * @param file - trace file
+		 * @return GWF for .gwf files, SWF otherwise
+		 */
+		public static Format of(File file) {
+			return file.getName().toLowerCase().endsWith(".gwf") ? GWF : SWF;
+		}
+	}
+
+	/** Default size of a mapped chunk */
+	public static final int DEFAULT_CHUNK_SIZE = 1 << 26;
+
+	/** Default mips of a processor of the traced system */
+	public static final double DEFAULT_MIPS_PER_PROCESSOR = 1000;
+
+	/** File size of a Cloudlet when the trace has none, in bytes */
+	public static final long DEFAULT_FILE_SIZE = 300;
+
+	// 0-based columns shared by SWF and GWF
+	private static final int JOB_ID = 0;
+	private static final int SUBMIT_TIME = 1;
+	private static final int WAIT_TIME = 2;
+	private static final int RUN_TIME = 3;
+	private static final int ALLOCATED_PROCESSORS = 4;
+	private static final int USED_MEMORY = 6;
+	private static final int REQUESTED_PROCESSORS = 7;
+	private static final int STATUS = 10;
+	private static final int USER_ID = 11;
+	// GWF only
+	private static final int DISK_SPACE = 21;
+
+	/** File of the trace */
+	private final RandomAccessFile file;
+
+	/** Channel of the file */
+	private final FileChannel channel;
+
+	/** Size of the file */
+	private final long fileSize;
+
+	/** Layout of the trace */
+	private final Format format;
+
+	/** Size of a mapped chunk */
+	private final int chunkSize;
+
+	/** Mapped chunk, null before the first read */
+	private MappedByteBuffer buffer;
+
+	/** Offset in the file of the first byte of the chunk */
+	private long bufferStart;
+
+	/** Numeric fields of the current line, NaN if not a number */
+	private final double[] fields;
+
+	/** Mips of a processor of the traced system */
+	private double mipsPerProcessor = DEFAULT_MIPS_PER_PROCESSOR;
+
+	/** Largest number of processors of a Cloudlet */
+	private int maxPes = Integer.MAX_VALUE;
+
+	/** Largest number of jobs read */
+	private long maxJobs = Long.MAX_VALUE;
+
+	/** Submit time of the first job, NaN before it is read */
+	private double firstSubmitTime = Double.NaN;
+
+	/** Number of jobs read */
+	private long jobs;
+
+	/** Number of jobs skipped */
+	private long skipped;
+
+	/** Record reused by nextArrival */
+	private final TraceRecord arrival = new TraceRecord();
+
+	/** Arrival time of the last Cloudlet */
+	private double arrivalTime;
+
+	/** Shared by all Cloudlets */
+	private final UtilizationModel utilizationModel = new UtilizationModelFull();
+
+	/**
+	 * Create a new TraceReader, with the format given by the extension of the file.
+	 * @param path - trace file
+	 * @throws IOException if the file cannot be opened
+	 */
+	public TraceReader(File path) throws IOException {
+		this(path, Format.of(path), DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * Create a new TraceReader.
+	 * @param path - trace file
+	 * @param format - layout of the trace
+	 * @param chunkSize - size of a mapped chunk, larger than the longest line
+	 * @throws IOException if the file cannot be opened
+	 */
+	public TraceReader(File path, Format format, int chunkSize) throws IOException {
+		this.file = new RandomAccessFile(path, "r");
+		this.channel = file.getChannel();
+		this.fileSize = channel.size();
+		this.format = format;
+		this.chunkSize = chunkSize;
+		this.fields = new double[format.columns];
+	}
+
+	/**
+	 * Reads the next job of the trace into a record.
+	 * @param record - overwritten with the job
+	 * @return false at the end of the trace or after maxJobs jobs
+	 * @throws IOException if the file cannot be read or a line is longer than a chunk
+	 */
+	public boolean next(TraceRecord record) throws IOException {
+		while(jobs < maxJobs){
+			if(!parseLine())
+				return false;
+
+			double runTime = fields[RUN_TIME];
+			int processors = (int) fields[ALLOCATED_PROCESSORS];
+			if(!(processors > 0))
+				processors = (int) fields[REQUESTED_PROCESSORS];
+			if(!(runTime > 0) || !(processors > 0) || Double.isNaN(fields[SUBMIT_TIME])){
+				skipped++;
+				continue;
+			}
+
+			if(Double.isNaN(firstSubmitTime))
+				firstSubmitTime = fields[SUBMIT_TIME];
+			record.jobId = (long) fields[JOB_ID];
+			record.submitTime = fields[SUBMIT_TIME] - firstSubmitTime;
+			record.waitTime = orMissing(fields[WAIT_TIME]);
+			record.runTime = runTime;
+			record.processors = processors;
+			record.usedMemory = (long) orMissing(fields[USED_MEMORY]);
+			record.status = (int) orMissing(fields[STATUS]);
+			record.userId = (int) orMissing(fields[USER_ID]);
+			record.diskSpace = format == Format.GWF ? (long) orMissing(fields[DISK_SPACE]) : -1;
+			jobs++;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Creates a Cloudlet from the next job of the trace. Cloudlet ids are given in trace order
+	 * from 0, and the arrival time is the submit time of the job.
+	 * @param userId - id of the broker that owns the cloudlet
+	 * @return cloudlet, or null at the end of the trace
+	 */
+	public Cloudlet nextArrival(int userId) {
+		try {
+			if(!next(arrival))
+				return null;
+		} catch (IOException e) {
+			throw new IllegalStateException("Cannot read trace", e);
+		}
+
+		int pes = Math.min(arrival.processors, maxPes);
+		long length = Math.max(1, (long) (arrival.runTime * mipsPerProcessor * arrival.processors / pes));
+		long fileSize = arrival.diskSpace > 0 ? arrival.diskSpace << 20 : DEFAULT_FILE_SIZE;
+		Cloudlet cloudlet = new Cloudlet((int) (jobs - 1), length, pes, fileSize, fileSize,
+										utilizationModel, utilizationModel, utilizationModel);
+		cloudlet.setUserId(userId);
+		arrivalTime = arrival.submitTime;
+		return cloudlet;
+	}
+
+	public double getArrivalTime() {
+		return arrivalTime;
+	}
+
+	/**
+	 * Parses the numeric fields of the next job line, skipping comments and blank lines.
+	 * @return false at the end of the file
+	 */
+	private boolean parseLine() throws IOException {
+		while(true){
+			if(buffer == null || !buffer.hasRemaining()){
+				long next = buffer == null ? 0 : bufferStart + buffer.limit();
+				if(next >= fileSize)
+					return false;
+				map(next);
+			}
+
+			MappedByteBuffer b = buffer;
+			int start = b.position();
+			int limit = b.limit();
+			int end = start;
+			while(end < limit && b.get(end) != '\n')
+				end++;
+			if(end == limit && bufferStart + limit < fileSize){
+				// the line continues in the next chunk
+				if(start == 0)
+					throw new IOException("Line longer than " + chunkSize + " bytes at offset " + bufferStart);
+				map(bufferStart + start);
+				continue;
+			}
+			b.position(Math.min(end + 1, limit));
+
+			int pos = skipBlanks(b, start, end);
+			if(pos == end || b.get(pos) == format.comment)
+				continue;
+
+			int field = 0;
+			while(pos < end && field < fields.length){
+				pos = parseField(b, pos, end, field++);
+				pos = skipBlanks(b, pos, end);
+			}
+			while(field < fields.length)
+				fields[field++] = Double.NaN;
+			return true;
+		}
+	}
+
+	/**
+	 * Parses the field starting at pos into fields[field]. A field is a decimal number with an
+	 * optional sign, fraction and exponent, such as -1, 3.5 or 1e3; anything else is NaN.
+	 * @return position after the field
+	 */
+	private int parseField(MappedByteBuffer b, int pos, int end, int field) {
+		boolean negative = false;
+		if(b.get(pos) == '-'){
+			negative = true;
+			pos++;
+		}
+		long integer = 0;
+		double fraction = 0;
+		double scale = 1;
+		boolean digits = false;
+		boolean number = true;
+		boolean point = false;
+		boolean exponent = false;
+		boolean negativeExponent = false;
+		boolean exponentDigits = false;
+		int power = 0;
+		for(; pos < end; pos++){
+			byte c = b.get(pos);
+			if(c == ' ' || c == '\t' || c == '\r')
+				break;
+			if(c >= '0' && c <= '9'){
+				if(exponent){
+					exponentDigits = true;
+					// larger powers overflow to infinity or zero anyway
+					if(power < 1000)
+						power = power * 10 + (c - '0');
+				} else if(point){
+					digits = true;
+					scale *= 0.1;
+					fraction += (c - '0') * scale;
+				} else {
+					digits = true;
+					integer = integer * 10 + (c - '0');
+				}
+			} else if(c == '.' && !point && !exponent){
+				point = true;
+			} else if((c == 'e' || c == 'E') && digits && !exponent){
+				exponent = true;
+				if(pos + 1 < end && (b.get(pos + 1) == '-' || b.get(pos + 1) == '+'))
+					negativeExponent = b.get(++pos) == '-';
+			} else {
+				number = false;
+			}
+		}
+		double value = number && digits && exponent == exponentDigits ? integer + fraction : Double.NaN;
+		if(exponentDigits)
+			value *= Math.pow(10, negativeExponent ? -power : power);
+		fields[field] = negative ? -value : value;
+		return pos;
+	}
+
+	private static int skipBlanks(MappedByteBuffer b, int pos, int end) {
+		while(pos < end){
+			byte c = b.get(pos);
+			if(c != ' ' && c != '\t' && c != '\r')
+				break;
+			pos++;
+		}
+		return pos;
+	}
+
+	/**
+	 * Maps the chunk that starts at an offset of the file.
+	 */
+	private void map(long offset) throws IOException {
+		long size = Math.min(chunkSize, fileSize - offset);
+		buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+		bufferStart = offset;
+	}
+
+	/**
+	 * Missing fields are -1 in the trace formats.
+	 */
+	private static double orMissing(double value) {
+		return Double.isNaN(value) ? -1 : value;
+	}
+
+	/**
+	 * Closes the file. Chunks already mapped stay valid until they are collected.
+	 * @throws IOException if the file cannot be closed
+	 */
+	public void close() throws IOException {
+		file.close();
+	}
+
+	/**
+	 * Setter method for mips of a processor of the traced system.
+	 * @param mipsPerProcessor - mips
+	 */
+	public void setMipsPerProcessor(double mipsPerProcessor) {
+		this.mipsPerProcessor = mipsPerProcessor;
+	}
+
+	/**
+	 * Setter method for largest number of processors of a Cloudlet, usually the PEs of a vm.
+	 * @param maxPes - at least 1
+	 */
+	public void setMaxPes(int maxPes) {
+		this.maxPes = Math.max(1, maxPes);
+	}
+
+	/**
+	 * Setter method for largest number of jobs read.
+	 * @param maxJobs - jobs
+	 */
+	public void setMaxJobs(long maxJobs) {
+		this.maxJobs = maxJobs;
+	}
+
+	/**
+	 * Getter method for number of jobs read.
+	 * @return jobs
+	 */
+	public long getJobs() {
+		return jobs;
+	}
+
+	/**
+	 * Getter method for number of jobs skipped.
+	 * @return skipped jobs
+	 */
+	public long getSkipped() {
+		return skipped;
+	}
+}
@@ -0,0 +1,107 @@
+package geneticalgo;
+
+/**
+ * One job of a workload trace, filled in place by {@link TraceReader#next(TraceRecord)} so that
+ * reading a trace does not allocate per job. Fields missing from the trace are -1.
+ */
+public class TraceRecord {
+
+	/** Job number in the trace */
+	long jobId;
+
+	/** Submit time, in seconds from the first job of the trace */
+	double submitTime;
+
+	/** Wait time in the original system, in seconds */
+	double waitTime;
+
+	/** Run time, in seconds */
+	double runTime;
+
+	/** Number of allocated processors, or of requested processors when not recorded */
+	int processors;
+
+	/** Used memory per processor, in KB */
+	long usedMemory;
+
+	/** Used local disk space, in MB, GWA traces only */
+	long diskSpace;
+
+	/** Exit status: 1 completed, 0 failed, 5 cancelled */
+	int status;
+
+	/** User id in the trace */
+	int userId;
+
+	/**
+	 * Getter method for job number in the trace.
+	 * @return job id
+	 */
+	public long getJobId() {
+		return jobId;
+	}
+
+	/**
+	 * Getter method for submit time.
+	 * @return seconds from the first job of the trace
+	 */
+	public double getSubmitTime() {
+		return submitTime;
+	}
+
+	/**
+	 * Getter method for wait time in the original system.
+	 * @return seconds
+	 */
+	public double getWaitTime() {
+		return waitTime;
+	}
+
+	/**
+	 * Getter method for run time.
+	 * @return seconds
+	 */
+	public double getRunTime() {
+		return runTime;
+	}
+
+	/**
+	 * Getter method for number of processors.
+	 * @return processors
+	 */
+	public int getProcessors() {
+		return processors;
+	}
+
+	/**
+	 * Getter method for used memory per processor.
+	 * @return KB, -1 if unknown
+	 */
+	public long getUsedMemory() {
+		return usedMemory;
+	}
+
+	/**
+	 * Getter method for used local disk space.
+	 * @return MB, -1 if unknown
+	 */
+	public long getDiskSpace() {
+		return diskSpace;
+	}
+
+	/**
+	 * Getter method for exit status.
+	 * @return status
+	 */
+	public int getStatus() {
+		return status;
+	}
+
+	/**
+	 * Getter method for user id in the trace.
+	 * @return user id
+	 */
+	public int getUserId() {
+		return userId;
+	}
+}
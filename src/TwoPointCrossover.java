@@ -0,0 +1,48 @@
+package geneticalgo;
+
+import java.util.Random;
+
+/**
+ * Swaps the Vms of the genes between two random points.
+ *
+ * Children are written into the preallocated chromosomes of the next generation, so the
+ * operator does not allocate. A short segment is applied gene by gene through
+ * {@link FitnessEvaluator#moveGene(CompactChromosome, int, int)}; one of more than
+ * numGenes / {@link CrossoverOperator#INCREMENTAL_DIVISOR} genes is copied with System.arraycopy
+ * and the children are then evaluated in full, which is cheaper than many incremental moves. Every segment is copied when moves are not incremental, see
+ * {@link FitnessEvaluator#isIncremental()}.
+ */
+public class TwoPointCrossover implements CrossoverOperator {
+
+	@Override
+	public void crossover(CompactChromosome parent1, CompactChromosome parent2, CompactChromosome child1,
+							CompactChromosome child2, FitnessEvaluator evaluator, Random rand) {
+		int numGenes = parent1.size();
+		int a = rand.nextInt(numGenes);
+		int b = rand.nextInt(numGenes);
+		int from = Math.min(a, b);
+		int to = Math.max(a, b) + 1;
+
+		int[] l1 = parent1.getGenes();
+		int[] l2 = parent2.getGenes();
+
+		if(evaluator.isIncremental() && (to - from) * INCREMENTAL_DIVISOR <= numGenes
+				&& parent1.isEvaluated() && parent2.isEvaluated()){
+			child1.copyFrom(parent1);
+			child2.copyFrom(parent2);
+			for(int j = from; j < to; j++){
+				if(l1[j] != l2[j]){
+					evaluator.moveGene(child1, j, l2[j]);
+					evaluator.moveGene(child2, j, l1[j]);
+				}
+			}
+		} else {
+			child1.copyGenesFrom(parent1);
+			child2.copyGenesFrom(parent2);
+			System.arraycopy(l2, from, child1.getGenes(), from, to - from);
+			System.arraycopy(l1, from, child2.getGenes(), from, to - from);
+			evaluator.evaluate(child1);
+			evaluator.evaluate(child2);
+		}
+	}
+}
@@ -0,0 +1,39 @@
+package geneticalgo;
+
+import java.util.Random;
+
+/**
+ * Takes every gene from either parent with equal probability.
+ *
+ * One random int decides 32 genes. About half the genes change, so the children are written
+ * directly into the preallocated chromosomes of the next generation and evaluated in full;
+ * the operator does not allocate.
+ */
+public class UniformCrossover implements CrossoverOperator {
+
+	@Override
+	public void crossover(CompactChromosome parent1, CompactChromosome parent2, CompactChromosome child1,
+							CompactChromosome child2, FitnessEvaluator evaluator, Random rand) {
+		int[] l1 = parent1.getGenes();
+		int[] l2 = parent2.getGenes();
+		int[] c1 = child1.getGenes();
+		int[] c2 = child2.getGenes();
+
+		int bits = 0;
+		for(int j = 0; j < l1.length; j++){
+			if((j & 31) == 0)
+				bits = rand.nextInt();
+			if((bits & 1) == 0){
+				c1[j] = l1[j];
+				c2[j] = l2[j];
+			} else {
+				c1[j] = l2[j];
+				c2[j] = l1[j];
+			}
+			bits >>>= 1;
+		}
+
+		evaluator.evaluate(child1);
+		evaluator.evaluate(child2);
+	}
+}
@@ -0,0 +1,113 @@
+package geneticalgo;
+
+/**
+ * Outcome of the scheduling of one window of cloudlets in online mode.
+ */
+public class WindowReport {
+
+	/** Position of the window, from 0 */
+	private final int index;
+
+	/** Simulation time of the first arrival of the window */
+	private final double openedAt;
+
+	/** Simulation time at which the window was scheduled */
+	private final double scheduledAt;
+
+	/** Number of cloudlets of the window */
+	private final int size;
+
+	/** Wall time of the Genetic Algorithm run */
+	private final long schedulingNanos;
+
+	/** Predicted time from scheduledAt until every vm is idle */
+	private final double predictedMakespan;
+
+	/** Cloudlets in flight or held back in vm queues once the window was dispatched */
+	private final int backlog;
+
+	/**
+	 * Create a new WindowReport.
+	 * @param index - position of the window
+	 * @param openedAt - simulation time of the first arrival
+	 * @param scheduledAt - simulation time of the scheduling
+	 * @param size - number of cloudlets
+	 * @param schedulingNanos - wall time of the Genetic Algorithm run
+	 * @param predictedMakespan - predicted time until every vm is idle
+	 * @param backlog - cloudlets outstanding once the window was dispatched
+	 */
+	public WindowReport(int index, double openedAt, double scheduledAt, int size,
+						long schedulingNanos, double predictedMakespan, int backlog) {
+		this.index = index;
+		this.openedAt = openedAt;
+		this.scheduledAt = scheduledAt;
+		this.size = size;
+		this.schedulingNanos = schedulingNanos;
+		this.predictedMakespan = predictedMakespan;
+		this.backlog = backlog;
+	}
+
+	/**
+	 * Getter method for position of the window.
+	 * @return index, from 0
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * Getter method for simulation time of the first arrival of the window.
+	 * @return opening time
+	 */
+	public double getOpenedAt() {
+		return openedAt;
+	}
+
+	/**
+	 * Getter method for simulation time at which the window was scheduled.
+	 * @return scheduling time
+	 */
+	public double getScheduledAt() {
+		return scheduledAt;
+	}
+
+	/**
+	 * Getter method for simulation time the first cloudlet of the window waited to be scheduled.
+	 * @return scheduledAt - openedAt
+	 */
+	public double getWaitTime() {
+		return scheduledAt - openedAt;
+	}
+
+	/**
+	 * Getter method for number of cloudlets of the window.
+	 * @return size
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Getter method for wall time of the Genetic Algorithm run.
+	 * @return scheduling latency in nanoseconds
+	 */
+	public long getSchedulingNanos() {
+		return schedulingNanos;
+	}
+
+	/**
+	 * Getter method for predicted time from the scheduling until every vm is idle.
+	 * @return predicted makespan
+	 */
+	public double getPredictedMakespan() {
+		return predictedMakespan;
+	}
+
+	/**
+	 * Getter method for cloudlets in flight or held back once the window was dispatched.
+	 * @return backlog
+	 */
+	public int getBacklog() {
+		return backlog;
+	}
+}
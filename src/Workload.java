@@ -0,0 +1,173 @@
+package geneticalgo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.Vm;
+
+/**
+ * Holds the sorted Cloudlets and Vms shared by every chromosome of a population.
+ * A compact chromosome only stores positions into these arrays, so the Cloudlet
+ * and Vm objects exist once per workload instead of once per gene.
+ */
+public class Workload {
+
+	/** Order of the cloudlets of a workload, by ascending length */
+	public static final Comparator<Cloudlet> CLOUDLET_ORDER = new Comparator<Cloudlet>() {
+		public int compare(Cloudlet c1, Cloudlet c2) {
+			return Long.compare(c1.getCloudletLength(), c2.getCloudletLength());
+		}
+	};
+
+	/** Order of the vms of a workload, by descending mips */
+	public static final Comparator<Vm> VM_ORDER = new Comparator<Vm>() {
+		public int compare(Vm v1, Vm v2) {
+			return Double.compare(v2.getMips(), v1.getMips());
+		}
+	};
+
+	/** Cloudlets in sorted order, indexed by gene position */
+	private final Cloudlet[] cloudlets;
+
+	/** Vms in sorted order, indexed by the values of a gene */
+	private final Vm[] vms;
+
+	/** Time after which every Vm is free to start the cloudlets of this workload */
+	private final double[] vmReadyTimes;
+
+	/** Expected time to compute of every Cloudlet on every Vm, created on first use */
+	private EtcMatrix etcMatrix;
+
+	/**
+	 * Create a new Workload.
+	 * @param sortedCloudletList - a list of sorted Cloudlets
+	 * @param sortedVmList - a list of sorted Vms
+	 */
+	public Workload(List<Cloudlet> sortedCloudletList, List<Vm> sortedVmList) {
+		this(sortedCloudletList, sortedVmList, new double[sortedVmList.size()]);
+	}
+
+	/**
+	 * Create a new Workload whose Vms are still busy with earlier cloudlets.
+	 * @param sortedCloudletList - a list of sorted Cloudlets
+	 * @param sortedVmList - a list of sorted Vms
+	 * @param vmReadyTimes - time after which every Vm is free, indexed like sortedVmList
+	 */
+	public Workload(List<Cloudlet> sortedCloudletList, List<Vm> sortedVmList, double[] vmReadyTimes) {
+		this(sortedCloudletList.toArray(new Cloudlet[sortedCloudletList.size()]),
+				sortedVmList.toArray(new Vm[sortedVmList.size()]), vmReadyTimes.clone());
+	}
+
+	/**
+	 * Create a new Workload over arrays that are already sorted, without copying them.
+	 * @param cloudlets - cloudlets in CLOUDLET_ORDER
+	 * @param vms - vms in VM_ORDER
+	 * @param vmReadyTimes - time after which every Vm is free, indexed like vms
+	 */
+	private Workload(Cloudlet[] cloudlets, Vm[] vms, double[] vmReadyTimes) {
+		if(vmReadyTimes.length != vms.length)
+			throw new IllegalArgumentException("A workload needs one ready time per vm");
+		this.cloudlets = cloudlets;
+		this.vms = vms;
+		this.vmReadyTimes = vmReadyTimes;
+	}
+
+	/**
+	 * Sorts generated cloudlets and vms in place, cloudlets by ascending length and vms by
+	 * descending mips, and creates the Workload over the sorted arrays.
+	 * The arrays are shared with the Workload and must not be changed afterwards.
+	 * @param cloudlets - cloudlets, sorted in place
+	 * @param vms - vms, sorted in place
+	 * @return Workload whose vms are free from the start
+	 */
+	public static Workload sort(Cloudlet[] cloudlets, Vm[] vms) {
+		return sort(cloudlets, vms, new double[vms.length]);
+	}
+
+	/**
+	 * Sorts generated cloudlets and vms in place, cloudlets by ascending length and vms by
+	 * descending mips, and creates the Workload over the sorted arrays.
+	 * The arrays are shared with the Workload and must not be changed afterwards.
+	 * @param cloudlets - cloudlets, sorted in place
+	 * @param vms - vms, sorted in place
+	 * @param vmReadyTimes - time after which every Vm is free, indexed like the sorted vms
+	 * @return Workload whose Vms are still busy with earlier cloudlets
+	 */
+	public static Workload sort(Cloudlet[] cloudlets, Vm[] vms, double[] vmReadyTimes) {
+		Arrays.sort(cloudlets, CLOUDLET_ORDER);
+		Arrays.sort(vms, VM_ORDER);
+		return new Workload(cloudlets, vms, vmReadyTimes.clone());
+	}
+
+	/**
+	 * Getter method for number of cloudlets, which is also the number of genes in a chromosome.
+	 * @return number of cloudlets
+	 */
+	public int getNumCloudlets() {
+		return cloudlets.length;
+	}
+
+	/**
+	 * Getter method for number of vms.
+	 * @return number of vms
+	 */
+	public int getNumVms() {
+		return vms.length;
+	}
+
+	/**
+	 * Getter method for the Cloudlet at a gene position.
+	 * @param index - gene position
+	 * @return Cloudlet
+	 */
+	public Cloudlet getCloudlet(int index) {
+		return cloudlets[index];
+	}
+
+	/**
+	 * Getter method for the Vm at an index of the sorted Vm list.
+	 * @param index - vm index
+	 * @return Vm
+	 */
+	public Vm getVm(int index) {
+		return vms[index];
+	}
+
+	/**
+	 * Getter method for the time after which a Vm is free to start the cloudlets of this workload.
+	 * @param index - vm index
+	 * @return ready time, 0 for an idle Vm
+	 */
+	public double getVmReadyTime(int index) {
+		return vmReadyTimes[index];
+	}
+
+	/**
+	 * Getter method for the expected time to compute of every Cloudlet on every Vm.
+	 * The matrix is computed on first use and shared by every caller.
+	 * @return EtcMatrix of this workload
+	 */
+	public synchronized EtcMatrix getEtcMatrix() {
+		if(etcMatrix == null)
+			etcMatrix = new EtcMatrix(this, EtcMatrix.DEFAULT_MAX_CELLS);
+		return etcMatrix;
+	}
+
+	/**
+	 * Builds the object representation of a compact chromosome.
+	 * Meant to be called once, for the schedule that is handed to the broker.
+	 *
+	 * @param chromosome - compact chromosome
+	 * @return Chromosomes with one Gene per Cloudlet
+	 */
+	public Chromosomes toChromosomes(CompactChromosome chromosome) {
+		int[] genes = chromosome.getGenes();
+		ArrayList<Gene> geneList = new ArrayList<Gene>(genes.length);
+		for(int i = 0; i < genes.length; i++)
+			geneList.add(new Gene(cloudlets[i], vms[genes[i]]));
+		return new Chromosomes(geneList);
+	}
+}
@@ -0,0 +1,203 @@
+package geneticalgo;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Summary of the shape of a {@link Workload}: the number of cloudlets and vms, and histograms of
+ * the cloudlet lengths and of the vm mips on a logarithmic scale of BUCKETS_PER_OCTAVE buckets
+ * per doubling. Workloads with equal fingerprints are treated as the same workload, and the
+ * distance between fingerprints says how similar two workloads are.
+ */
+public final class WorkloadFingerprint {
+
+	/** Number of histogram buckets per doubling of the value */
+	public static final int BUCKETS_PER_OCTAVE = 4;
+
+	/** Number of buckets of a histogram, values above the last bucket are counted in it */
+	public static final int BUCKETS = 32 * BUCKETS_PER_OCTAVE;
+
+	/** Number of cloudlets */
+	private final int numCloudlets;
+
+	/** Number of vms */
+	private final int numVms;
+
+	/** Number of cloudlets per length bucket */
+	private final int[] lengthHistogram;
+
+	/** Number of vms per mips bucket */
+	private final int[] mipsHistogram;
+
+	/** Hash of the fields, computed once */
+	private final int hash;
+
+	/**
+	 * Create the fingerprint of a workload.
+	 * @param workload - sorted Cloudlets and Vms
+	 */
+	public WorkloadFingerprint(Workload workload) {
+		EtcMatrix etc = workload.getEtcMatrix();
+		this.numCloudlets = etc.getNumCloudlets();
+		this.numVms = etc.getNumVms();
+		this.lengthHistogram = new int[BUCKETS];
+		for(int i = 0; i < numCloudlets; i++)
+			lengthHistogram[bucket(etc.getLength(i))]++;
+		this.mipsHistogram = new int[BUCKETS];
+		for(int k = 0; k < numVms; k++)
+			mipsHistogram[bucket(1.0 / etc.getInverseMips(k))]++;
+		this.hash = computeHash();
+	}
+
+	private WorkloadFingerprint(int numCloudlets, int numVms, int[] lengthHistogram, int[] mipsHistogram) {
+		this.numCloudlets = numCloudlets;
+		this.numVms = numVms;
+		this.lengthHistogram = lengthHistogram;
+		this.mipsHistogram = mipsHistogram;
+		this.hash = computeHash();
+	}
+
+	/**
+	 * Histogram bucket of a value.
+	 * @param value - cloudlet length or vm mips
+	 * @return bucket, from 0 for values up to 1
+	 */
+	private static int bucket(double value) {
+		if(value <= 1)
+			return 0;
+		int bucket = (int) (Math.log(value) / Math.log(2) * BUCKETS_PER_OCTAVE);
+		return Math.min(bucket, BUCKETS - 1);
+	}
+
+	/**
+	 * Distance to another fingerprint: the L1 distance between the normalised histograms, halved
+	 * so that it is 1 for disjoint histograms, plus the log ratios of the numbers of cloudlets
+	 * and vms. Equal fingerprints are at distance 0.
+	 * @param other - other fingerprint
+	 * @return distance
+	 */
+	public double distance(WorkloadFingerprint other) {
+		return 0.5 * l1(lengthHistogram, numCloudlets, other.lengthHistogram, other.numCloudlets)
+				+ 0.5 * l1(mipsHistogram, numVms, other.mipsHistogram, other.numVms)
+				+ Math.abs(Math.log((double) numCloudlets / other.numCloudlets))
+				+ Math.abs(Math.log((double) numVms / other.numVms));
+	}
+
+	/**
+	 * L1 distance between two histograms normalised by their totals.
+	 */
+	private static double l1(int[] h1, int n1, int[] h2, int n2) {
+		double sum = 0;
+		for(int b = 0; b < BUCKETS; b++)
+			sum += Math.abs((double) h1[b] / n1 - (double) h2[b] / n2);
+		return sum;
+	}
+
+	/**
+	 * Writes the fingerprint with its non-empty buckets only.
+	 * @param out - destination
+	 * @throws IOException if the destination cannot be written
+	 */
+	public void write(DataOutput out) throws IOException {
+		out.writeInt(numCloudlets);
+		out.writeInt(numVms);
+		writeHistogram(out, lengthHistogram);
+		writeHistogram(out, mipsHistogram);
+	}
+
+	/**
+	 * Reads a fingerprint written by {@link #write(DataOutput)}.
+	 * @param in - source
+	 * @return fingerprint
+	 * @throws IOException if the source cannot be read
+	 */
+	public static WorkloadFingerprint read(DataInput in) throws IOException {
+		int numCloudlets = in.readInt();
+		int numVms = in.readInt();
+		int[] lengthHistogram = readHistogram(in);
+		int[] mipsHistogram = readHistogram(in);
+		return new WorkloadFingerprint(numCloudlets, numVms, lengthHistogram, mipsHistogram);
+	}
+
+	private static void writeHistogram(DataOutput out, int[] histogram) throws IOException {
+		int buckets = 0;
+		for(int b = 0; b < BUCKETS; b++)
+			if(histogram[b] != 0)
+				buckets++;
+		out.writeByte(buckets);
+		for(int b = 0; b < BUCKETS; b++){
+			if(histogram[b] != 0){
+				out.writeByte(b);
+				out.writeInt(histogram[b]);
+			}
+		}
+	}
+
+	private static int[] readHistogram(DataInput in) throws IOException {
+		int[] histogram = new int[BUCKETS];
+		int buckets = in.readUnsignedByte();
+		for(int i = 0; i < buckets; i++){
+			int b = in.readUnsignedByte();
+			if(b >= BUCKETS)
+				throw new IOException("Histogram bucket out of range: " + b);
+			histogram[b] = in.readInt();
+		}
+		return histogram;
+	}
+
+	/**
+	 * Number of bytes written by {@link #write(DataOutput)}.
+	 * @return serialized size
+	 */
+	public int serializedSize() {
+		int size = 4 + 4 + 1 + 1;
+		for(int b = 0; b < BUCKETS; b++){
+			if(lengthHistogram[b] != 0)
+				size += 5;
+			if(mipsHistogram[b] != 0)
+				size += 5;
+		}
+		return size;
+	}
+
+	private int computeHash() {
+		int h = 31 * numCloudlets + numVms;
+		h = 31 * h + Arrays.hashCode(lengthHistogram);
+		return 31 * h + Arrays.hashCode(mipsHistogram);
+	}
+
+	/**
+	 * Getter method for number of cloudlets.
+	 * @return number of cloudlets
+	 */
+	public int getNumCloudlets() {
+		return numCloudlets;
+	}
+
+	/**
+	 * Getter method for number of vms.
+	 * @return number of vms
+	 */
+	public int getNumVms() {
+		return numVms;
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if(this == obj)
+			return true;
+		if(!(obj instanceof WorkloadFingerprint))
+			return false;
+		WorkloadFingerprint other = (WorkloadFingerprint) obj;
+		return hash == other.hash && numCloudlets == other.numCloudlets && numVms == other.numVms
+				&& Arrays.equals(lengthHistogram, other.lengthHistogram)
+				&& Arrays.equals(mipsHistogram, other.mipsHistogram);
+	}
+}
@@ -0,0 +1,186 @@
+package geneticalgo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.CloudletSchedulerSpaceShared;
+import org.cloudbus.cloudsim.UtilizationModel;
+import org.cloudbus.cloudsim.UtilizationModelFull;
+import org.cloudbus.cloudsim.Vm;
+
+/**
+ * Generates the cloudlet and vm fleets of a {@link ScenarioConfig} into arrays.
+ *
+ * Cloudlets and vms are drawn in blocks of BLOCK_SIZE, and every block has its own
+ * SplittableRandom, split in block order from one stream for the cloudlets and one for the vms
+ * of the seed. Blocks can therefore be filled by several threads in any order and a seed always
+ * gives the same scenario, whatever the parallelism.
+ *
+ * The lengths and mips alone can be generated into primitive arrays, which is what a
+ * large scenario that is only scheduled, and not simulated, needs.
+ */
+public class WorkloadGenerator {
+
+	/** Number of cloudlets or vms drawn from the same random stream */
+	public static final int BLOCK_SIZE = 1 << 16;
+
+	/** Parameters of the scenario */
+	private final ScenarioConfig config;
+
+	/**
+	 * Create a new WorkloadGenerator.
+	 * @param config - parameters of the scenario
+	 */
+	public WorkloadGenerator(ScenarioConfig config) {
+		this.config = config;
+	}
+
+	/**
+	 * Draws the length of every cloudlet.
+	 * @return lengths in million instructions, indexed by cloudlet id
+	 */
+	public long[] cloudletLengths() {
+		final long[] lengths = new long[config.getNumCloudlets()];
+		final Distribution distribution = config.getCloudletLength();
+		fill(lengths.length, cloudletStream(), new BlockFiller() {
+			public void fill(int from, int to, SplittableRandom rand) {
+				for(int i = from; i < to; i++)
+					lengths[i] = Math.max(1, (long) distribution.sample(rand));
+			}
+		});
+		return lengths;
+	}
+
+	/**
+	 * Draws the mips of every vm.
+	 * @return mips, indexed by vm id
+	 */
+	public double[] vmMips() {
+		final double[] mips = new double[config.getNumVms()];
+		final Distribution distribution = config.getVmMips();
+		fill(mips.length, vmStream(), new BlockFiller() {
+			public void fill(int from, int to, SplittableRandom rand) {
+				for(int k = from; k < to; k++)
+					mips[k] = Math.max(1, Math.floor(distribution.sample(rand)));
+			}
+		});
+		return mips;
+	}
+
+	/**
+	 * Creates the cloudlets, with the lengths of {@link #cloudletLengths()}.
+	 * @param userId - id of the broker that owns the cloudlets
+	 * @return cloudlets, indexed by cloudlet id
+	 */
+	public Cloudlet[] createCloudlets(final int userId) {
+		final Cloudlet[] cloudlets = new Cloudlet[config.getNumCloudlets()];
+		final Distribution distribution = config.getCloudletLength();
+		final int pes = config.getCloudletPes();
+		final long fileSize = config.getCloudletFileSize();
+		final UtilizationModel utilizationModel = new UtilizationModelFull();
+		fill(cloudlets.length, cloudletStream(), new BlockFiller() {
+			public void fill(int from, int to, SplittableRandom rand) {
+				for(int i = from; i < to; i++){
+					long length = Math.max(1, (long) distribution.sample(rand));
+					cloudlets[i] = new Cloudlet(i, length, pes, fileSize, fileSize,
+										utilizationModel, utilizationModel, utilizationModel);
+					cloudlets[i].setUserId(userId);
+				}
+			}
+		});
+		return cloudlets;
+	}
+
+	/**
+	 * Creates the vms, with the mips of {@link #vmMips()}.
+	 * @param userId - id of the broker that owns the vms
+	 * @return vms, indexed by vm id
+	 */
+	public Vm[] createVms(final int userId) {
+		final Vm[] vms = new Vm[config.getNumVms()];
+		final Distribution distribution = config.getVmMips();
+		fill(vms.length, vmStream(), new BlockFiller() {
+			public void fill(int from, int to, SplittableRandom rand) {
+				for(int k = from; k < to; k++){
+					double mips = Math.max(1, Math.floor(distribution.sample(rand)));
+					vms[k] = new Vm(k, userId, mips, config.getVmPes(), config.getVmRam(),
+									config.getVmBw(), config.getVmSize(), "Xen",
+									new CloudletSchedulerSpaceShared());
+				}
+			}
+		});
+		return vms;
+	}
+
+	/**
+	 * Random stream of the cloudlets of the seed.
+	 */
+	private SplittableRandom cloudletStream() {
+		return new SplittableRandom(config.getSeed()).split();
+	}
+
+	/**
+	 * Random stream of the vms of the seed, independent of the cloudlet stream.
+	 */
+	private SplittableRandom vmStream() {
+		SplittableRandom root = new SplittableRandom(config.getSeed());
+		root.split();
+		return root.split();
+	}
+
+	/**
+	 * Fills positions 0 to n in blocks, each block with its own split of the stream, on the
+	 * threads of the config.
+	 * @param n - number of positions
+	 * @param stream - random stream split into one stream per block
+	 * @param filler - fills a block
+	 */
+	private void fill(int n, SplittableRandom stream, final BlockFiller filler) {
+		int blocks = (n + BLOCK_SIZE - 1) / BLOCK_SIZE;
+		int threads = Math.min(config.getParallelism(), blocks);
+		if(threads <= 1){
+			for(int b = 0; b < blocks; b++)
+				filler.fill(b * BLOCK_SIZE, Math.min(n, (b + 1) * BLOCK_SIZE), stream.split());
+			return;
+		}
+
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(blocks);
+		for(int b = 0; b < blocks; b++){
+			final int from = b * BLOCK_SIZE;
+			final int to = Math.min(n, from + BLOCK_SIZE);
+			final SplittableRandom rand = stream.split();
+			tasks.add(new Callable<Void>() {
+				public Void call() {
+					filler.fill(from, to, rand);
+					return null;
+				}
+			});
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			for(Future<Void> future : pool.invokeAll(tasks))
+				future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while generating the scenario", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Scenario generation failed", e.getCause());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Fills a block of positions from its random stream.
+	 */
+	private interface BlockFiller {
+		void fill(int from, int to, SplittableRandom rand);
+	}
+}
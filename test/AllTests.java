@@ -0,0 +1,57 @@
+package geneticalgo;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Runs every test class, reports the failures and exits with status 1 if any test failed.
+ */
+public class AllTests {
+
+	/** The test classes, each run through its main method */
+	private static final Class<?>[] TESTS = {
+		FitnessEvaluatorTest.class,
+		IslandModelTest.class,
+		GAEngineTest.class,
+		SelectionTest.class,
+		CrossoverTest.class,
+		BrokerEventLogTest.class,
+		HeuristicSeederTest.class,
+		GeneticFunctionsTest.class,
+		PopulationEvaluatorTest.class,
+		ScheduleCacheTest.class,
+		WorkloadGeneratorTest.class,
+		TraceReaderTest.class,
+	};
+
+	/**
+	 * Main method
+	 * @param args - ignored
+	 */
+	public static void main(String[] args) {
+		int failed = 0;
+		for(Class<?> test : TESTS)
+			failed += run(test);
+
+		if(failed > 0){
+			System.out.println(failed + " test class(es) failed");
+			System.exit(1);
+		}
+		System.out.println("All tests passed");
+	}
+
+	private static int run(Class<?> test) {
+		long start = System.nanoTime();
+		try {
+			test.getMethod("main", String[].class).invoke(null, (Object) new String[0]);
+			System.out.println("PASS " + test.getSimpleName() + " (" + (System.nanoTime() - start) / 1000000 + " ms)");
+			return 0;
+		} catch (InvocationTargetException e) {
+			System.out.println("FAIL " + test.getSimpleName());
+			e.getCause().printStackTrace(System.out);
+			return 1;
+		} catch (ReflectiveOperationException e) {
+			System.out.println("FAIL " + test.getSimpleName() + ": no main method");
+			return 1;
+		}
+	}
+}
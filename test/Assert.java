@@ -0,0 +1,59 @@
+package geneticalgo;
+
+/**
+ * Assertions of the tests. A failed assertion throws an AssertionError, which ends the test
+ * class and is reported by {@link AllTests}.
+ */
+final class Assert {
+
+	/** Relative tolerance of floating point comparisons */
+	static final double TOLERANCE = 1e-9;
+
+	private Assert() {
+	}
+
+	/**
+	 * Fails if a condition does not hold.
+	 * @param condition - condition to check
+	 * @param message - description of the failure
+	 */
+	static void assertTrue(boolean condition, String message) {
+		if(!condition)
+			throw new AssertionError(message);
+	}
+
+	/**
+	 * Fails if two integers differ.
+	 * @param expected - expected value
+	 * @param actual - actual value
+	 * @param message - description of the value
+	 */
+	static void assertEquals(long expected, long actual, String message) {
+		if(expected != actual)
+			throw new AssertionError(message + ": expected " + expected + " but was " + actual);
+	}
+
+	/**
+	 * Fails if two doubles differ by more than {@link #TOLERANCE} of the larger one.
+	 * @param expected - expected value
+	 * @param actual - actual value
+	 * @param message - description of the value
+	 */
+	static void assertClose(double expected, double actual, String message) {
+		double scale = Math.max(1.0, Math.max(Math.abs(expected), Math.abs(actual)));
+		if(!(Math.abs(expected - actual) <= TOLERANCE * scale))
+			throw new AssertionError(message + ": expected " + expected + " but was " + actual);
+	}
+
+	/**
+	 * Fails if a gene array holds a value that is not a vm index.
+	 * @param genes - vm index of every gene
+	 * @param numVms - number of vms
+	 * @param message - description of the array
+	 */
+	static void assertValidGenes(int[] genes, int numVms, String message) {
+		for(int i = 0; i < genes.length; i++)
+			if(genes[i] < 0 || genes[i] >= numVms)
+				throw new AssertionError(message + ": gene " + i + " holds vm " + genes[i] + " of " + numVms);
+	}
+}
@@ -0,0 +1,31 @@
+package geneticalgo;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Checks that a {@link BrokerEventLog} drains its records to its file and ignores records made
+ * after it is closed.
+ */
+public class BrokerEventLogTest {
+
+	public static void main(String[] args) throws IOException {
+		recordsAfterCloseAreIgnored();
+	}
+
+	static void recordsAfterCloseAreIgnored() throws IOException {
+		File file = File.createTempFile("broker-events", ".bin");
+		file.deleteOnExit();
+		BrokerEventLog log = new BrokerEventLog("Broker", BrokerEventLog.Level.DEBUG, file.getPath(), 64, false);
+		for(int i = 0; i < 10; i++)
+			log.record(BrokerEvent.CLOUDLET_POSTPONED, i);
+		log.close();
+		long length = file.length();
+
+		log.record(BrokerEvent.CLOUDLET_POSTPONED, 10);
+		Assert.assertEquals(10, log.getRecorded(), "records after close");
+		Assert.assertEquals(length, file.length(), "file length after close");
+		// header: magic, version and the UTF-8 broker name with its length, then 24 bytes per record
+		Assert.assertEquals(4 + 4 + 2 + "Broker".length() + 10 * 24, length, "file length");
+	}
+}
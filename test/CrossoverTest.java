@@ -0,0 +1,83 @@
+package geneticalgo;
+
+import java.util.Random;
+
+/**
+ * Checks that every crossover operator named by a {@link GAConfig} breeds children that are
+ * valid vm index arrays, take every gene from one parent and the other gene from the other
+ * parent, and carry the fitness of a full evaluation.
+ */
+public class CrossoverTest {
+
+	public static void main(String[] args) {
+		for(CrossoverOperator.Type type : CrossoverOperator.Type.values()){
+			configCreatesOperator(type);
+			childrenAreValid(type, FitnessModel.ETC, 40);
+			childrenAreValid(type, FitnessModel.ETC, 1000);
+			childrenAreValid(type, FitnessModel.SPACE_SHARED, 40);
+			childrenAreValid(type, FitnessModel.SPACE_SHARED, 1000);
+			engineRun(type);
+		}
+	}
+
+	static void configCreatesOperator(CrossoverOperator.Type type) {
+		GAConfig config = new GAConfig();
+		config.setCrossover(type);
+		Assert.assertTrue(new GAEngine(config).getCrossoverOperator().getClass() == type.create().getClass(),
+				type + " from the config");
+		Assert.assertTrue(config.copy().getCrossover() == type, "crossover is copied");
+	}
+
+	static void childrenAreValid(CrossoverOperator.Type type, FitnessModel model, int numCloudlets) {
+		int numVms = 7;
+		Workload workload = TestWorkloads.create(numCloudlets, numVms, 12L);
+		FitnessEvaluator evaluator = new FitnessEvaluator(workload, 0.01, model);
+		CrossoverOperator operator = type.create();
+		Random rand = new Random(21L);
+
+		CompactChromosome parent1 = new CompactChromosome(numCloudlets);
+		CompactChromosome parent2 = new CompactChromosome(numCloudlets);
+		CompactChromosome child1 = new CompactChromosome(numCloudlets);
+		CompactChromosome child2 = new CompactChromosome(numCloudlets);
+		CompactChromosome reference = new CompactChromosome(numCloudlets);
+		for(int pair = 0; pair < 200; pair++){
+			for(int i = 0; i < numCloudlets; i++){
+				parent1.updateGene(i, rand.nextInt(numVms));
+				parent2.updateGene(i, rand.nextInt(numVms));
+			}
+			// unevaluated parents must be handled too
+			if(pair % 5 != 0){
+				evaluator.evaluate(parent1);
+				evaluator.evaluate(parent2);
+			}
+			operator.crossover(parent1, parent2, child1, child2, evaluator, rand);
+
+			String at = type + ", " + model + ", " + numCloudlets + " genes, pair " + pair;
+			int[] l1 = parent1.getGenes();
+			int[] l2 = parent2.getGenes();
+			int[] c1 = child1.getGenes();
+			int[] c2 = child2.getGenes();
+			Assert.assertValidGenes(c1, numVms, at + ", child 1");
+			Assert.assertValidGenes(c2, numVms, at + ", child 2");
+			for(int j = 0; j < numCloudlets; j++)
+				Assert.assertTrue((c1[j] == l1[j] && c2[j] == l2[j]) || (c1[j] == l2[j] && c2[j] == l1[j]),
+						at + ", gene " + j + " is not taken from the parents");
+
+			for(CompactChromosome child : new CompactChromosome[] {child1, child2}){
+				reference.copyGenesFrom(child);
+				Assert.assertClose(evaluator.evaluate(reference), evaluator.fitnessOf(child), at + ", fitness of a child");
+			}
+		}
+	}
+
+	static void engineRun(CrossoverOperator.Type type) {
+		Workload workload = TestWorkloads.create(100, 8, 4L);
+		GAConfig config = new GAConfig();
+		config.setPopulationSize(30);
+		config.setMaxGenerations(50);
+		config.setCrossover(type);
+		config.setSeed(8L);
+		GAResult result = new GAEngine(config).run(workload);
+		Assert.assertValidGenes(result.getBest().getGenes(), workload.getNumVms(), type + ", best");
+	}
+}
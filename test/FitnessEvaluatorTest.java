@@ -0,0 +1,144 @@
+package geneticalgo;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Checks that the incremental scoring of {@link FitnessEvaluator#moveGene} gives the same
+ * loads, makespan and fitness as a full evaluation of the moved genes.
+ */
+public class FitnessEvaluatorTest {
+
+	public static void main(String[] args) {
+		moveGeneMatchesEvaluate(FitnessModel.ETC, FitnessEvaluator.NO_TOTAL_TIME, new double[8]);
+		moveGeneMatchesEvaluate(FitnessModel.ETC, 0.01, new double[8]);
+		moveGeneMatchesEvaluate(FitnessModel.ETC, 0.01, new double[] {5, 0, 12.5, 0, 3, 0, 0, 40});
+		moveGeneMatchesEvaluate(FitnessModel.SPACE_SHARED, FitnessEvaluator.NO_TOTAL_TIME, new double[8]);
+		moveGeneMatchesEvaluate(FitnessModel.SPACE_SHARED, 0.01, new double[8]);
+		moveGeneMatchesEvaluate(FitnessModel.SPACE_SHARED, 0.01, new double[] {5, 0, 12.5, 0, 3, 0, 0, 40});
+		rebalancingLowersMakespan(FitnessModel.ETC);
+		rebalancingLowersMakespan(FitnessModel.SPACE_SHARED);
+		rebalancingTriesLeastLoadedVms();
+	}
+
+	/**
+	 * Moves random genes of an evaluated chromosome one at a time, and compares the cached
+	 * values with a chromosome of the same genes evaluated from scratch after every move.
+	 */
+	static void moveGeneMatchesEvaluate(FitnessModel model, double totalTimeWeight, double[] vmReadyTimes) {
+		int numCloudlets = 200;
+		int numVms = vmReadyTimes.length;
+		Workload workload = TestWorkloads.create(numCloudlets, numVms, 7L, vmReadyTimes);
+		FitnessEvaluator evaluator = new FitnessEvaluator(workload, totalTimeWeight, model);
+		Random rand = new Random(11L);
+
+		CompactChromosome chromosome = new CompactChromosome(numCloudlets);
+		for(int i = 0; i < numCloudlets; i++)
+			chromosome.updateGene(i, rand.nextInt(numVms));
+		evaluator.evaluate(chromosome);
+
+		CompactChromosome reference = new CompactChromosome(numCloudlets);
+		String name = model + " weight " + totalTimeWeight;
+		for(int move = 0; move < 2000; move++){
+			// moving the longest cloudlets off the most loaded vm exercises the rescan
+			int index = move % 4 == 0 ? numCloudlets - 1 - rand.nextInt(10) : rand.nextInt(numCloudlets);
+			evaluator.moveGene(chromosome, index, rand.nextInt(numVms));
+
+			reference.copyGenesFrom(chromosome);
+			double expected = evaluator.evaluate(reference);
+			String at = name + ", move " + move;
+			Assert.assertTrue(chromosome.isEvaluated(), at + ", the move must keep the chromosome scored");
+			Assert.assertClose(expected, evaluator.fitnessOf(chromosome), at + ", fitness");
+			Assert.assertClose(reference.getMakespan(), chromosome.getMakespan(), at + ", makespan");
+			Assert.assertClose(reference.getTotalTime(), chromosome.getTotalTime(), at + ", total time");
+			for(int k = 0; k < numVms; k++)
+				Assert.assertClose(reference.vmLoads[k], chromosome.vmLoads[k], at + ", load of vm " + k);
+		}
+	}
+
+	/**
+	 * Mutates a chromosome with {@link RebalancingMutation}, which decides from the cached vm
+	 * loads, and checks that its makespan never rises and its cached values stay exact.
+	 */
+	static void rebalancingLowersMakespan(FitnessModel model) {
+		int numCloudlets = 200;
+		int numVms = 8;
+		Workload workload = TestWorkloads.create(numCloudlets, numVms, 3L);
+		FitnessEvaluator evaluator = new FitnessEvaluator(workload, 0.01, model);
+		MutationOperator mutation = new RebalancingMutation(4);
+		Random rand = new Random(5L);
+
+		CompactChromosome chromosome = new CompactChromosome(numCloudlets);
+		for(int i = 0; i < numCloudlets; i++)
+			chromosome.updateGene(i, rand.nextInt(numVms));
+		evaluator.evaluate(chromosome);
+
+		CompactChromosome reference = new CompactChromosome(numCloudlets);
+		for(int round = 0; round < 200; round++){
+			double makespan = chromosome.getMakespan();
+			mutation.mutate(chromosome, evaluator, rand);
+
+			String at = model + " rebalancing, round " + round;
+			Assert.assertTrue(chromosome.getMakespan() <= makespan, at + ", makespan rose");
+			reference.copyGenesFrom(chromosome);
+			Assert.assertClose(evaluator.evaluate(reference), evaluator.fitnessOf(chromosome), at + ", fitness");
+		}
+	}
+
+	/**
+	 * Makes single moves with {@link RebalancingMutation} on more vms than it tries, and checks
+	 * that every move takes a task off the most loaded vm to the best of the fastest vm and the
+	 * seven least loaded ones.
+	 */
+	static void rebalancingTriesLeastLoadedVms() {
+		int numCloudlets = 300;
+		int numVms = 120;
+		Workload workload = TestWorkloads.create(numCloudlets, numVms, 9L);
+		FitnessEvaluator evaluator = new FitnessEvaluator(workload, FitnessEvaluator.NO_TOTAL_TIME, FitnessModel.ETC);
+		EtcMatrix etc = evaluator.getEtcMatrix();
+		MutationOperator mutation = new RebalancingMutation(1);
+		Random rand = new Random(13L);
+
+		int moves = 0;
+		for(int round = 0; round < 200; round++){
+			// one short task on every vm but the fastest, in random order, and the rest on the fastest:
+			// the least loaded vms are close, so the best destination is rarely the least loaded one
+			CompactChromosome chromosome = new CompactChromosome(numCloudlets);
+			for(int i = 0; i < numCloudlets; i++)
+				chromosome.updateGene(i, 0);
+			for(int vm = 1; vm < numVms; vm++){
+				int i = rand.nextInt(vm);
+				chromosome.updateGene(vm - 1, chromosome.getGene(i));
+				chromosome.updateGene(i, vm);
+			}
+			evaluator.evaluate(chromosome);
+			int[] before = chromosome.getGenes().clone();
+			double[] loads = chromosome.vmLoads.clone();
+
+			mutation.mutate(chromosome, evaluator, rand);
+
+			int task = -1;
+			for(int i = 0; i < numCloudlets; i++){
+				if(chromosome.getGene(i) != before[i]){
+					Assert.assertTrue(task < 0, "round " + round + ", a single move");
+					task = i;
+				}
+			}
+			if(task < 0)
+				continue;
+			moves++;
+
+			int source = before[task];
+			double[] sorted = loads.clone();
+			Arrays.sort(sorted);
+			Assert.assertClose(sorted[numVms - 1], loads[source], "round " + round + ", task of the most loaded vm");
+			double best = Double.POSITIVE_INFINITY;
+			for(int vm = 0; vm < numVms; vm++)
+				if(vm != source && (vm == 0 || loads[vm] <= sorted[6]))
+					best = Math.min(best, loads[vm] + etc.time(task, vm));
+			int target = chromosome.getGene(task);
+			Assert.assertClose(best, loads[target] + etc.time(task, target), "round " + round + ", best destination");
+		}
+		Assert.assertTrue(moves > 50, "most rounds move a task");
+	}
+}
@@ -0,0 +1,160 @@
+package geneticalgo;
+
+import java.util.List;
+
+/**
+ * Checks the anytime mode of {@link GAEngine}: the deadline of
+ * {@link GAEngine#runWithDeadline(Workload, long)}, the window budget of
+ * {@link OnlineScheduler} and {@link GAEngine#cancel()}; the evaluations it reports, and the
+ * {@link GAMetrics} it publishes with and without telemetry.
+ */
+public class GAEngineTest {
+
+	public static void main(String[] args) {
+		deadlineStopsRun();
+		windowBudgetStopsRun();
+		cancelStopsRun();
+		cancelBeforeRunIsCleared();
+		telemetryCountsEvaluations();
+		metricsArePublished();
+	}
+
+	/** A config that would run for a very long time */
+	private static GAConfig endlessConfig() {
+		GAConfig config = new GAConfig();
+		config.setPopulationSize(50);
+		config.setMaxGenerations(Integer.MAX_VALUE);
+		config.setSeed(1L);
+		return config;
+	}
+
+	static void deadlineStopsRun() {
+		Workload workload = TestWorkloads.create(2000, 20, 9L);
+		GAEngine engine = new GAEngine(endlessConfig());
+		long start = System.nanoTime();
+		GAResult result;
+		try {
+			result = engine.runWithDeadline(workload, 100);
+		} finally {
+			engine.shutdown();
+		}
+		long elapsedMillis = (System.nanoTime() - start) / 1000000;
+		Assert.assertTrue(elapsedMillis < 5000, "run stopped at the deadline, took " + elapsedMillis + " ms");
+		Assert.assertTrue(result.getGenerations() > 0, "generations within the budget");
+		Assert.assertValidGenes(result.getBest().getGenes(), workload.getNumVms(), "best");
+
+		// the deadline is removed, so a later run is not cut short by it
+		GAConfig config = endlessConfig();
+		config.setMaxGenerations(30);
+		engine = new GAEngine(config);
+		engine.runWithDeadline(workload, 0);
+		Assert.assertEquals(30, engine.run(workload).getGenerations(), "generations after a deadline run");
+		engine.shutdown();
+	}
+
+	static void windowBudgetStopsRun() {
+		Workload workload = TestWorkloads.create(2000, 20, 9L);
+		OnlineScheduler scheduler = new OnlineScheduler(endlessConfig(), 10, OnlineScheduler.UNBOUNDED);
+		scheduler.setWindowBudgetMillis(100);
+		long start = System.nanoTime();
+		GAResult result;
+		try {
+			result = scheduler.schedule(workload);
+		} finally {
+			scheduler.shutdown();
+		}
+		long elapsedMillis = (System.nanoTime() - start) / 1000000;
+		Assert.assertTrue(elapsedMillis < 5000, "window stopped at its budget, took " + elapsedMillis + " ms");
+		Assert.assertValidGenes(result.getBest().getGenes(), workload.getNumVms(), "best");
+	}
+
+	static void cancelStopsRun() {
+		Workload workload = TestWorkloads.create(200, 10, 9L);
+		GAEngine engine = new GAEngine(endlessConfig());
+		engine.setTelemetrySink(new CancelAt(engine, 0));
+		Assert.assertEquals(0, engine.run(workload).getGenerations(), "generations after a cancel during initialisation");
+
+		engine.setTelemetrySink(new CancelAt(engine, 3));
+		Assert.assertEquals(3, engine.run(workload).getGenerations(), "generations after a cancel at generation 3");
+		engine.shutdown();
+	}
+
+	static void cancelBeforeRunIsCleared() {
+		Workload workload = TestWorkloads.create(200, 10, 9L);
+		GAConfig config = endlessConfig();
+		config.setMaxGenerations(20);
+		GAEngine engine = new GAEngine(config);
+		engine.cancel();
+		Assert.assertEquals(20, engine.run(workload).getGenerations(), "generations of a run started after a cancel");
+		engine.shutdown();
+	}
+
+	static void telemetryCountsEvaluations() {
+		Workload workload = TestWorkloads.create(200, 10, 9L);
+		GAConfig config = endlessConfig();
+		config.setMaxGenerations(40);
+		GAEngine engine = new GAEngine(config);
+		TelemetrySink.InMemory sink = new TelemetrySink.InMemory();
+		engine.setTelemetrySink(sink);
+		GAResult result = engine.run(workload);
+		engine.shutdown();
+
+		List<GenerationStats> records = sink.getRecords();
+		Assert.assertEquals(config.getPopulationSize(), records.get(0).getEvaluations(), "evaluations of the initial population");
+		for(int g = 1; g < records.size(); g++)
+			Assert.assertTrue(records.get(g).getEvaluations() >= records.get(g - 1).getEvaluations(),
+					"evaluations never decrease, generation " + g);
+		Assert.assertEquals(engine.getEvaluations(), records.get(records.size() - 1).getEvaluations(),
+				"evaluations of the last generation");
+		Assert.assertEquals(engine.getEvaluations(), result.getEvaluations(), "evaluations of the result");
+	}
+
+	static void metricsArePublished() {
+		Workload workload = TestWorkloads.create(100, 8, 2L);
+		GAConfig config = endlessConfig();
+		config.setMaxGenerations(30);
+		GAEngine engine = new GAEngine(config);
+		GAMetrics metrics = new GAMetrics();
+		engine.setMetrics(metrics);
+
+		GAResult result = engine.run(workload);
+		Assert.assertEquals(1, metrics.getRuns(), "runs");
+		Assert.assertEquals(result.getGenerations(), metrics.getGeneration(), "generation");
+		Assert.assertEquals(result.getEvaluations(), metrics.getEvaluations(), "evaluations");
+		Assert.assertClose(result.getMakespan(), metrics.getBestMakespan(), "best makespan");
+		Assert.assertTrue(Double.isNaN(metrics.getDiversity()), "no diversity without telemetry");
+
+		engine.setTelemetrySink(new TelemetrySink.InMemory());
+		GAResult second = engine.run(workload);
+		engine.shutdown();
+		Assert.assertEquals(2, metrics.getRuns(), "runs");
+		Assert.assertEquals(result.getEvaluations() + second.getEvaluations(), metrics.getEvaluations(), "evaluations of both runs");
+		double diversity = metrics.getDiversity();
+		Assert.assertTrue(diversity >= 0 && diversity <= 1, "diversity with telemetry " + diversity);
+	}
+
+	/**
+	 * Cancels the engine from its own telemetry once a generation is reached.
+	 */
+	private static class CancelAt implements TelemetrySink {
+
+		private final GAEngine engine;
+
+		private final int generation;
+
+		CancelAt(GAEngine engine, int generation) {
+			this.engine = engine;
+			this.generation = generation;
+		}
+
+		@Override
+		public void record(GenerationStats stats) {
+			if(stats.getGeneration() == generation)
+				engine.cancel();
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
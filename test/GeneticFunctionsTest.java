@@ -0,0 +1,40 @@
+package geneticalgo;
+
+/**
+ * Checks that {@link GeneticFunctions#calculateFitness(CompactChromosome[], FitnessEvaluator, int, int, double)}
+ * finds the two most fit chromosomes, whatever bound and indices it is given.
+ */
+public class GeneticFunctionsTest {
+
+	public static void main(String[] args) {
+		FitnessEvaluator evaluator = new FitnessEvaluator(TestWorkloads.create(1, 2, 1L), FitnessEvaluator.NO_TOTAL_TIME);
+		CompactChromosome[] population = population(5, 3, 4, 9, 6);
+
+		ranks(population, evaluator, 0, 1, Double.MAX_VALUE, 1, 2, "unbounded");
+		// the previous best is passed back as the bound, and no chromosome beats it
+		ranks(population, evaluator, 1, 4, 3, 1, 2, "bound of the best");
+		// the bound of the best is lower than any fitness, the runner-up is still searched for
+		ranks(population, evaluator, 3, 3, 1, 3, 1, "bound below every fitness");
+		ranks(population(2, 7), evaluator, 0, 0, Double.MAX_VALUE, 0, 1, "first index is the best");
+	}
+
+	static void ranks(CompactChromosome[] population, FitnessEvaluator evaluator, int firstFitIndex, int secondFitIndex,
+						double time, int expectedFirst, int expectedSecond, String name) {
+		double[] fit = new GeneticFunctions().calculateFitness(population, evaluator, firstFitIndex, secondFitIndex, time);
+		Assert.assertEquals(expectedFirst, (long) fit[0], name + ", most fit");
+		Assert.assertEquals(expectedSecond, (long) fit[1], name + ", second most fit");
+	}
+
+	/**
+	 * Chromosomes whose cached fitness is already set.
+	 */
+	static CompactChromosome[] population(double... fitness) {
+		CompactChromosome[] population = new CompactChromosome[fitness.length];
+		for(int i = 0; i < population.length; i++){
+			population[i] = new CompactChromosome(1);
+			population[i].fitness = fitness[i];
+			population[i].evaluated = true;
+		}
+		return population;
+	}
+}
@@ -0,0 +1,73 @@
+package geneticalgo;
+
+import java.util.Arrays;
+
+/**
+ * Checks the Min-Min and Max-Min schedules of {@link HeuristicSeeder} against a direct
+ * implementation of the heuristics, on vms that are still busy with earlier work.
+ */
+public class HeuristicSeederTest {
+
+	public static void main(String[] args) {
+		double[] idle = new double[6];
+		double[] busy = {0, 30, 2.5, 0, 12, 60};
+		double[] allBusy = {5, 5, 5, 5, 5, 5};
+		for(boolean max : new boolean[] {false, true}){
+			matchesReference(max, idle);
+			matchesReference(max, busy);
+			matchesReference(max, allBusy);
+		}
+	}
+
+	static void matchesReference(boolean max, double[] vmReadyTimes) {
+		Workload workload = TestWorkloads.create(80, vmReadyTimes.length, 17L, vmReadyTimes);
+		EtcMatrix etc = workload.getEtcMatrix();
+		CompactChromosome chromosome = new CompactChromosome(workload.getNumCloudlets());
+		HeuristicSeeder seeder = new HeuristicSeeder(etc);
+		if(max)
+			seeder.maxMin(chromosome);
+		else
+			seeder.minMin(chromosome);
+
+		int[] expected = reference(etc, max);
+		Assert.assertTrue(Arrays.equals(expected, chromosome.getGenes()),
+				(max ? "Max-Min" : "Min-Min") + " with ready times " + Arrays.toString(vmReadyTimes));
+	}
+
+	/**
+	 * Min-Min or Max-Min recomputing every completion time at every step.
+	 */
+	private static int[] reference(EtcMatrix etc, boolean max) {
+		int n = etc.getNumCloudlets();
+		int numVms = etc.getNumVms();
+		double[] loads = new double[numVms];
+		for(int k = 0; k < numVms; k++)
+			loads[k] = etc.getReadyTime(k);
+
+		int[] genes = new int[n];
+		boolean[] scheduled = new boolean[n];
+		for(int step = 0; step < n; step++){
+			int task = -1;
+			int taskVm = -1;
+			double taskFinish = 0;
+			for(int i = 0; i < n; i++){
+				if(scheduled[i])
+					continue;
+				int vm = 0;
+				for(int k = 1; k < numVms; k++)
+					if(loads[k] + etc.time(i, k) < loads[vm] + etc.time(i, vm))
+						vm = k;
+				double finish = loads[vm] + etc.time(i, vm);
+				if(task < 0 || (max ? finish > taskFinish : finish < taskFinish)){
+					task = i;
+					taskVm = vm;
+					taskFinish = finish;
+				}
+			}
+			genes[task] = taskVm;
+			scheduled[task] = true;
+			loads[taskVm] = taskFinish;
+		}
+		return genes;
+	}
+}
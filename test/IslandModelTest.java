@@ -0,0 +1,99 @@
+package geneticalgo;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Checks that an {@link IslandModel} built from a {@link GAConfig} runs reproducibly, returns a
+ * valid and correctly scored schedule, and hands out copies of its best chromosome; and that
+ * its schedule cache and metrics are used.
+ */
+public class IslandModelTest {
+
+	public static void main(String[] args) throws InterruptedException, IOException {
+		runFromConfig();
+		reproducibleWhateverTheThreads();
+		bestIsCopied();
+		cacheAndMetricsAreUsed();
+	}
+
+	private static GAConfig config() {
+		GAConfig config = new GAConfig();
+		config.setPopulationSize(20);
+		config.setMaxGenerations(60);
+		config.setIslands(3);
+		config.setMigrationInterval(10);
+		config.setMigrants(2);
+		config.setSeed(5L);
+		return config;
+	}
+
+	static void runFromConfig() throws InterruptedException {
+		Workload workload = TestWorkloads.create(60, 6, 3L);
+		GAConfig config = config();
+		GAResult result = new IslandModel(workload, config).run();
+
+		Assert.assertEquals(config.getMaxGenerations(), result.getGenerations(), "generations");
+		Assert.assertValidGenes(result.getBest().getGenes(), workload.getNumVms(), "best");
+		CompactChromosome rescored = new CompactChromosome(workload.getNumCloudlets());
+		rescored.copyGenesFrom(result.getBest());
+		double fitness = new FitnessEvaluator(workload).evaluate(rescored);
+		Assert.assertClose(fitness, result.getFitness(), "fitness of the best chromosome");
+		Assert.assertTrue(result.getEvaluations() >= config.getIslands() * config.getPopulationSize(),
+				"every island evaluates its population");
+
+		config.setStagnationLimit(10);
+		config.setMaxGenerations(100000);
+		GAResult stagnated = new IslandModel(workload, config).run();
+		Assert.assertTrue(stagnated.getGenerations() < 100000, "the stagnation limit stops the run");
+	}
+
+	static void reproducibleWhateverTheThreads() throws InterruptedException {
+		Workload workload = TestWorkloads.create(60, 6, 3L);
+		GAConfig config = config();
+		config.setParallelism(1);
+		int[] sequential = new IslandModel(workload, config).run().getBest().getGenes();
+		config.setParallelism(3);
+		int[] parallel = new IslandModel(workload, config).run().getBest().getGenes();
+		Assert.assertTrue(Arrays.equals(sequential, parallel), "same schedule with 1 and 3 threads");
+	}
+
+	static void bestIsCopied() throws InterruptedException {
+		Workload workload = TestWorkloads.create(60, 6, 3L);
+		IslandModel islandModel = new IslandModel(workload, config());
+		islandModel.run(20, 1);
+		CompactChromosome best = islandModel.getBest();
+		int[] before = best.getGenes().clone();
+		best.updateGene(0, (best.getGene(0) + 1) % workload.getNumVms());
+		Assert.assertTrue(best != islandModel.getBest(), "a new chromosome per call");
+		Assert.assertTrue(Arrays.equals(before, islandModel.getBest().getGenes()), "the island keeps its best chromosome");
+	}
+
+	static void cacheAndMetricsAreUsed() throws InterruptedException, IOException {
+		Workload workload = TestWorkloads.create(60, 6, 3L);
+		GAConfig config = config();
+		File file = File.createTempFile("island-cache", ".bin");
+		file.delete();
+		file.deleteOnExit();
+		ScheduleCache cache = new ScheduleCache(file);
+		GAMetrics metrics = new GAMetrics();
+
+		IslandModel cold = new IslandModel(workload, config);
+		cold.setScheduleCache(cache);
+		cold.setMetrics(metrics);
+		GAResult result = cold.run();
+		Assert.assertEquals(1, cache.size(), "the run is stored");
+		Assert.assertEquals(config.getIslands(), cache.getMisses(), "every island looked up the cache");
+		Assert.assertEquals(1, metrics.getRuns(), "runs");
+		Assert.assertEquals(result.getGenerations(), metrics.getGeneration(), "generation");
+		Assert.assertEquals(result.getEvaluations(), metrics.getEvaluations(), "evaluations");
+		Assert.assertClose(result.getMakespan(), metrics.getBestMakespan(), "best makespan");
+
+		IslandModel warm = new IslandModel(workload, config);
+		warm.setScheduleCache(cache);
+		warm.run();
+		Assert.assertEquals(config.getIslands(), cache.getHits(), "every island is warm-started");
+		Assert.assertClose(result.getMakespan(), cache.getSeedMakespan(), "cached makespan of the first run");
+	}
+}
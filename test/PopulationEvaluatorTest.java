@@ -0,0 +1,69 @@
+package geneticalgo;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Checks that the parallel mode of {@link PopulationEvaluator} picks the same chromosomes as the
+ * sequential mode, and that measuring the speedup leaves the evaluation counts alone.
+ */
+public class PopulationEvaluatorTest {
+
+	public static void main(String[] args) {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			parallelMatchesSequential(pool);
+			speedupIsNotCounted(pool);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	static void parallelMatchesSequential(ForkJoinPool pool) {
+		int numCloudlets = 60;
+		int numVms = 6;
+		FitnessEvaluator evaluator = new FitnessEvaluator(TestWorkloads.create(numCloudlets, numVms, 9L), 0.01);
+		Random rand = new Random(2L);
+		// sizes around the grain and its multiples, where ranges are split
+		for(int size : new int[] {1, 2, 15, 16, 17, 33, 64, 100}){
+			CompactChromosome[] population = randomPopulation(size, numCloudlets, numVms, rand);
+			// duplicates make ties, which must be broken by the lower index in both modes
+			if(size > 20)
+				population[size - 1].copyGenesFrom(population[3]);
+			int[] sequential = new PopulationEvaluator(evaluator).evaluate(population, true);
+			for(int grain : new int[] {1, 4, PopulationEvaluator.DEFAULT_GRAIN}){
+				int[] parallel = new PopulationEvaluator(evaluator, pool, grain).evaluate(population, true);
+				String at = size + " chromosomes, grain " + grain;
+				Assert.assertEquals(sequential[0], parallel[0], at + ", most fit");
+				Assert.assertEquals(sequential[1], parallel[1], at + ", second most fit");
+			}
+		}
+	}
+
+	static void speedupIsNotCounted(ForkJoinPool pool) {
+		int numCloudlets = 200;
+		int numVms = 8;
+		FitnessEvaluator evaluator = new FitnessEvaluator(TestWorkloads.create(numCloudlets, numVms, 4L), 0.01);
+		CompactChromosome[] population = randomPopulation(64, numCloudlets, numVms, new Random(6L));
+
+		Assert.assertClose(1, new PopulationEvaluator(evaluator).measureSpeedup(population), "sequential speedup");
+		PopulationEvaluator parallel = new PopulationEvaluator(evaluator, pool, 8);
+		parallel.evaluate(population, true);
+		long evaluations = parallel.getEvaluations();
+		long wallNanos = parallel.getWallNanos();
+		double speedup = parallel.measureSpeedup(population);
+		Assert.assertTrue(speedup > 0 && !Double.isInfinite(speedup), "speedup " + speedup);
+		Assert.assertEquals(evaluations, parallel.getEvaluations(), "evaluations after measuring the speedup");
+		Assert.assertEquals(wallNanos, parallel.getWallNanos(), "wall time after measuring the speedup");
+	}
+
+	static CompactChromosome[] randomPopulation(int size, int numCloudlets, int numVms, Random rand) {
+		CompactChromosome[] population = new CompactChromosome[size];
+		for(int j = 0; j < size; j++){
+			population[j] = new CompactChromosome(numCloudlets);
+			for(int i = 0; i < numCloudlets; i++)
+				population[j].updateGene(i, rand.nextInt(numVms));
+		}
+		return population;
+	}
+}
@@ -0,0 +1,199 @@
+package geneticalgo;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Random;
+
+import org.cloudbus.cloudsim.Log;
+
+/**
+ * Checks that a {@link ScheduleCache} survives a save and load, evicts its least recently used
+ * entries over its limits, rescales the ranks of a schedule to a workload of another size, and
+ * starts cold from a corrupt, truncated or old file instead of failing.
+ */
+public class ScheduleCacheTest {
+
+	public static void main(String[] args) throws IOException {
+		boolean logDisabled = Log.isDisabled();
+		Log.disable();
+		try {
+			saveAndLoad();
+			leastRecentlyUsedIsEvicted();
+			largestEntriesAreEvicted();
+			ranksAreRescaled();
+			unusableFileStartsCold();
+		} finally {
+			if(!logDisabled)
+				Log.enable();
+		}
+	}
+
+	static void saveAndLoad() throws IOException {
+		File file = tempFile();
+		Workload small = TestWorkloads.create(30, 4, 1L);
+		Workload large = TestWorkloads.create(300, 12, 2L);
+		ScheduleCache cache = new ScheduleCache(file);
+		cache.put(small, evaluatedPopulation(small, 6, 3L));
+		cache.put(large, evaluatedPopulation(large, 6, 4L));
+		cache.save();
+
+		ScheduleCache loaded = new ScheduleCache(file);
+		Assert.assertEquals(cache.size(), loaded.size(), "entries after load");
+		Assert.assertEquals(cache.getBytes(), loaded.getBytes(), "bytes after load");
+		for(Workload workload : new Workload[] {small, large}){
+			CompactChromosome[] expected = blankPopulation(workload, 16);
+			CompactChromosome[] actual = blankPopulation(workload, 16);
+			Assert.assertEquals(4, cache.seed(workload, expected, new Random(5L), 0.1), "schedules seeded");
+			Assert.assertEquals(4, loaded.seed(workload, actual, new Random(5L), 0.1), "schedules seeded after load");
+			Assert.assertClose(cache.getSeedMakespan(), loaded.getSeedMakespan(), "cached makespan after load");
+			for(int j = 0; j < expected.length; j++)
+				for(int i = 0; i < workload.getNumCloudlets(); i++)
+					Assert.assertEquals(expected[j].getGene(i), actual[j].getGene(i), "gene " + i + " of chromosome " + j);
+		}
+		file.delete();
+	}
+
+	static void leastRecentlyUsedIsEvicted() {
+		Workload a = TestWorkloads.create(20, 4, 1L);
+		Workload b = TestWorkloads.create(40, 4, 2L);
+		Workload c = TestWorkloads.create(80, 4, 3L);
+		ScheduleCache cache = new ScheduleCache(tempFile(), 2, Long.MAX_VALUE);
+		cache.setMaxDistance(0);
+		cache.put(a, evaluatedPopulation(a, 4, 1L));
+		cache.put(b, evaluatedPopulation(b, 4, 2L));
+		// a becomes the most recently used, so b is the eldest when c is stored
+		Assert.assertTrue(cache.seed(a, blankPopulation(a, 8), new Random(1L), 0.1) > 0, "a is cached");
+		cache.put(c, evaluatedPopulation(c, 4, 3L));
+		Assert.assertEquals(2, cache.size(), "entries");
+		Assert.assertTrue(cache.seed(a, blankPopulation(a, 8), new Random(1L), 0.1) > 0, "a is kept");
+		Assert.assertTrue(cache.seed(c, blankPopulation(c, 8), new Random(1L), 0.1) > 0, "c is kept");
+		Assert.assertEquals(0, cache.seed(b, blankPopulation(b, 8), new Random(1L), 0.1), "b is evicted");
+		Assert.assertTrue(Double.isNaN(cache.getSeedMakespan()), "no cached makespan after a miss");
+	}
+
+	static void largestEntriesAreEvicted() {
+		Workload a = TestWorkloads.create(50, 4, 1L);
+		Workload b = TestWorkloads.create(60, 4, 2L);
+		ScheduleCache probe = new ScheduleCache(tempFile());
+		probe.put(a, evaluatedPopulation(a, 4, 1L));
+		long entryBytes = probe.getBytes();
+
+		ScheduleCache cache = new ScheduleCache(tempFile(), 100, entryBytes + entryBytes / 2);
+		cache.setMaxDistance(0);
+		cache.put(a, evaluatedPopulation(a, 4, 1L));
+		cache.put(b, evaluatedPopulation(b, 4, 2L));
+		Assert.assertEquals(1, cache.size(), "entries within the byte limit");
+		Assert.assertTrue(cache.getBytes() <= entryBytes + entryBytes / 2, "bytes within the limit");
+		Assert.assertEquals(0, cache.seed(a, blankPopulation(a, 8), new Random(1L), 0.1), "the eldest entry is evicted");
+	}
+
+	static void ranksAreRescaled() {
+		int numCloudlets = 40;
+		int numVms = 5;
+		Workload workload = TestWorkloads.create(numCloudlets, numVms, 6L);
+		// the workloads are sorted, so gene positions and vm indices are ranks:
+		// longer cloudlets are put on slower vms
+		CompactChromosome schedule = new CompactChromosome(numCloudlets);
+		for(int i = 0; i < numCloudlets; i++)
+			schedule.updateGene(i, i * numVms / numCloudlets);
+		new FitnessEvaluator(workload).evaluate(schedule);
+		ScheduleCache cache = new ScheduleCache(tempFile());
+		// any entry is close enough, whatever the sizes
+		cache.setMaxDistance(Double.MAX_VALUE);
+		cache.put(workload, new CompactChromosome[] {schedule});
+
+		int newCloudlets = 100;
+		int newVms = 8;
+		Workload larger = TestWorkloads.create(newCloudlets, newVms, 7L);
+		CompactChromosome[] population = blankPopulation(larger, 4);
+		Assert.assertEquals(1, cache.seed(larger, population, new Random(1L), 0.1), "schedules seeded");
+		Assert.assertClose(schedule.getMakespan(), cache.getSeedMakespan(), "cached makespan");
+		CompactChromosome seeded = population[population.length - 1];
+		for(int r = 0; r < newCloudlets; r++){
+			int rank = (r * numCloudlets / newCloudlets) * numVms / numCloudlets;
+			Assert.assertEquals(rank * newVms / numVms, seeded.getGene(r), "vm of cloudlet rank " + r);
+		}
+	}
+
+	static void unusableFileStartsCold() throws IOException {
+		File garbage = tempFile();
+		FileOutputStream out = new FileOutputStream(garbage);
+		out.write(new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9});
+		out.close();
+		startsCold(garbage, "corrupt file");
+
+		File old = tempFile();
+		DataOutputStream data = new DataOutputStream(new FileOutputStream(old));
+		data.writeInt(ScheduleCache.MAGIC);
+		data.writeInt(ScheduleCache.VERSION + 1);
+		data.writeInt(0);
+		data.close();
+		startsCold(old, "other version");
+
+		File truncated = tempFile();
+		Workload workload = TestWorkloads.create(200, 6, 1L);
+		ScheduleCache cache = new ScheduleCache(truncated);
+		cache.put(workload, evaluatedPopulation(workload, 4, 1L));
+		cache.save();
+		RandomAccessFile file = new RandomAccessFile(truncated, "rw");
+		file.setLength(file.length() / 2);
+		file.close();
+		startsCold(truncated, "truncated file");
+
+		// a huge entry count must be rejected before anything is allocated
+		File huge = tempFile();
+		data = new DataOutputStream(new FileOutputStream(huge));
+		data.writeInt(ScheduleCache.MAGIC);
+		data.writeInt(ScheduleCache.VERSION);
+		data.writeInt(1);
+		data.writeInt(Integer.MAX_VALUE);
+		data.writeInt(1);
+		data.writeByte(0);
+		data.writeByte(0);
+		data.writeDouble(1);
+		data.writeInt(Integer.MAX_VALUE);
+		data.close();
+		startsCold(huge, "oversized entry");
+	}
+
+	private static void startsCold(File file, String name) {
+		ScheduleCache cache = new ScheduleCache(file);
+		Assert.assertEquals(0, cache.size(), name + ", entries");
+		Assert.assertTrue(!file.exists(), name + ", the file is discarded");
+		Workload workload = TestWorkloads.create(20, 4, 1L);
+		Assert.assertEquals(0, cache.seed(workload, blankPopulation(workload, 8), new Random(1L), 0.1), name + ", seeded");
+	}
+
+	private static File tempFile() {
+		try {
+			File file = File.createTempFile("schedule-cache", ".bin");
+			file.delete();
+			file.deleteOnExit();
+			return file;
+		} catch (IOException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	private static CompactChromosome[] blankPopulation(Workload workload, int size) {
+		CompactChromosome[] population = new CompactChromosome[size];
+		for(int j = 0; j < size; j++)
+			population[j] = new CompactChromosome(workload.getNumCloudlets());
+		return population;
+	}
+
+	private static CompactChromosome[] evaluatedPopulation(Workload workload, int size, long seed) {
+		FitnessEvaluator evaluator = new FitnessEvaluator(workload);
+		Random rand = new Random(seed);
+		CompactChromosome[] population = blankPopulation(workload, size);
+		for(CompactChromosome chromosome : population){
+			for(int i = 0; i < workload.getNumCloudlets(); i++)
+				chromosome.updateGene(i, rand.nextInt(workload.getNumVms()));
+			evaluator.evaluate(chromosome);
+		}
+		return population;
+	}
+}
@@ -0,0 +1,65 @@
+package geneticalgo;
+
+import java.util.Random;
+
+/**
+ * Checks the selection operators named by a {@link GAConfig}, and that
+ * {@link RouletteSelection} picks chromosomes in proportion to the inverse of their fitness.
+ */
+public class SelectionTest {
+
+	public static void main(String[] args) {
+		configCreatesOperator();
+		rouletteIsProportional();
+		rouletteRun();
+	}
+
+	static void configCreatesOperator() {
+		GAConfig config = new GAConfig();
+		Assert.assertTrue(new GAEngine(config).getSelectionOperator() instanceof TournamentSelection, "tournament by default");
+		config.setSelection(SelectionOperator.Type.ROULETTE);
+		Assert.assertTrue(new GAEngine(config).getSelectionOperator() instanceof RouletteSelection, "roulette from the config");
+		Assert.assertTrue(config.copy().getSelection() == SelectionOperator.Type.ROULETTE, "selection is copied");
+	}
+
+	static void rouletteIsProportional() {
+		double[] fitness = {1, 2, 4};
+		CompactChromosome[] population = new CompactChromosome[fitness.length];
+		for(int i = 0; i < population.length; i++){
+			population[i] = new CompactChromosome(1);
+			population[i].fitness = fitness[i];
+			population[i].evaluated = true;
+		}
+		RouletteSelection roulette = new RouletteSelection();
+		roulette.prepare(population);
+
+		int draws = 70000;
+		int[] counts = new int[population.length];
+		Random rand = new Random(3L);
+		for(int d = 0; d < draws; d++)
+			counts[roulette.select(population, rand)]++;
+
+		// weights 1, 1/2 and 1/4, so shares of 4/7, 2/7 and 1/7
+		double[] expected = {4 / 7.0, 2 / 7.0, 1 / 7.0};
+		for(int i = 0; i < counts.length; i++){
+			double share = (double) counts[i] / draws;
+			Assert.assertTrue(Math.abs(share - expected[i]) < 0.01,
+					"share of chromosome " + i + ": expected " + expected[i] + " but was " + share);
+		}
+	}
+
+	static void rouletteRun() {
+		Workload workload = TestWorkloads.create(100, 8, 4L);
+		GAConfig config = new GAConfig();
+		config.setPopulationSize(30);
+		config.setMaxGenerations(50);
+		config.setSelection(SelectionOperator.Type.ROULETTE);
+		config.setSeed(8L);
+		GAResult result = new GAEngine(config).run(workload);
+
+		Assert.assertValidGenes(result.getBest().getGenes(), workload.getNumVms(), "best");
+		CompactChromosome rescored = new CompactChromosome(workload.getNumCloudlets());
+		rescored.copyGenesFrom(result.getBest());
+		Assert.assertClose(new FitnessEvaluator(workload).evaluate(rescored), result.getFitness(), "fitness of the best chromosome");
+	}
+}
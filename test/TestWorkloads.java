@@ -0,0 +1,40 @@
+package geneticalgo;
+
+/**
+ * Workloads of the tests, generated with {@link WorkloadGenerator} and sorted by
+ * {@link Workload#sort}. No simulation is needed to build them.
+ */
+final class TestWorkloads {
+
+	private TestWorkloads() {
+	}
+
+	/**
+	 * Generates a workload whose vms are free from the start.
+	 * @param numCloudlets - number of cloudlets
+	 * @param numVms - number of vms
+	 * @param seed - seed of the lengths and mips
+	 * @return sorted workload
+	 */
+	static Workload create(int numCloudlets, int numVms, long seed) {
+		return create(numCloudlets, numVms, seed, new double[numVms]);
+	}
+
+	/**
+	 * Generates a workload whose vms are still busy with earlier cloudlets.
+	 * @param numCloudlets - number of cloudlets
+	 * @param numVms - number of vms
+	 * @param seed - seed of the lengths and mips
+	 * @param vmReadyTimes - time after which every vm is free, in sorted vm order
+	 * @return sorted workload
+	 */
+	static Workload create(int numCloudlets, int numVms, long seed, double[] vmReadyTimes) {
+		ScenarioConfig config = new ScenarioConfig();
+		config.setSeed(seed);
+		config.setNumCloudlets(numCloudlets);
+		config.setNumVms(numVms);
+		WorkloadGenerator generator = new WorkloadGenerator(config);
+
+		return Workload.sort(generator.createCloudlets(0), generator.createVms(0), vmReadyTimes);
+	}
+}
@@ -0,0 +1,209 @@
+package geneticalgo;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.cloudbus.cloudsim.Cloudlet;
+
+/**
+ * Checks that a {@link TraceReader} reads every job of a SWF or GWF trace whatever its chunk
+ * size, including lines that straddle two chunks and a last line without a newline, skips
+ * comments, blank lines and cancelled jobs, and parses numbers in exponent notation.
+ */
+public class TraceReaderTest {
+
+	/** Jobs of the generated trace */
+	private static final int JOBS = 200;
+
+	public static void main(String[] args) throws IOException {
+		everyJobIsRead();
+		linesStraddleChunks();
+		gridTraceIsRead();
+		exponentsAreParsed();
+		longLineFails();
+	}
+
+	static void everyJobIsRead() throws IOException {
+		File trace = write(".swf", swf(JOBS));
+		for(int chunkSize : new int[] {4096, 1000, 128, TraceReader.DEFAULT_CHUNK_SIZE}){
+			TraceReader reader = new TraceReader(trace, TraceReader.Format.SWF, chunkSize);
+			try {
+				TraceRecord record = new TraceRecord();
+				int expected = 0;
+				for(int j = 0; j < JOBS; j++){
+					if(cancelled(j))
+						continue;
+					Assert.assertTrue(reader.next(record), "job " + j + " is read with chunks of " + chunkSize);
+					Assert.assertEquals(j + 1, record.getJobId(), "id of job " + j);
+					Assert.assertClose(submitTime(j) - submitTime(0), record.getSubmitTime(), "submit time of job " + j);
+					Assert.assertClose(runTime(j), record.getRunTime(), "run time of job " + j);
+					Assert.assertEquals(processors(j), record.getProcessors(), "processors of job " + j);
+					Assert.assertEquals(1, record.getStatus(), "status of job " + j);
+					Assert.assertEquals(j % 7, record.getUserId(), "user of job " + j);
+					Assert.assertEquals(-1, record.getDiskSpace(), "disk space of job " + j);
+					expected++;
+				}
+				Assert.assertTrue(!reader.next(record), "end of the trace with chunks of " + chunkSize);
+				Assert.assertEquals(expected, reader.getJobs(), "jobs read");
+				Assert.assertEquals(JOBS - expected, reader.getSkipped(), "cancelled jobs skipped");
+			} finally {
+				reader.close();
+			}
+		}
+		trace.delete();
+	}
+
+	static void linesStraddleChunks() throws IOException {
+		String content = swf(JOBS);
+		int chunkSize = 4096;
+		// the fixture must put a job line across every chunk boundary it reaches
+		for(int boundary = chunkSize; boundary < content.length(); boundary += chunkSize){
+			int lineStart = content.lastIndexOf('\n', boundary - 1) + 1;
+			Assert.assertTrue(lineStart < boundary && content.charAt(boundary - 1) != '\n'
+					&& content.charAt(lineStart) != ';', "a job line straddles offset " + boundary);
+		}
+		File trace = write(".swf", content);
+		TraceReader reader = new TraceReader(trace, TraceReader.Format.SWF, chunkSize);
+		try {
+			int jobs = 0;
+			while(reader.nextArrival(0) != null)
+				jobs++;
+			Assert.assertEquals(reader.getJobs(), jobs, "arrivals");
+			Assert.assertTrue(jobs > 0 && content.length() > 2 * chunkSize, "the trace spans several chunks");
+		} finally {
+			reader.close();
+		}
+		trace.delete();
+	}
+
+	static void gridTraceIsRead() throws IOException {
+		String content = "# Grid Workloads Format\r\n"
+				+ "#\r\n"
+				+ "1 100 5 10 8 -1 64 8 -1 -1 1 3 -1 -1 -1 -1 -1 -1 -1 -1 -1 2\r\n"
+				+ "2 103 0 -1 4 -1 64 4 -1 -1 5 3 -1 -1 -1 -1 -1 -1 -1 -1 -1 2\r\n"
+				+ "\r\n"
+				+ "3 110 0 20 -1 -1 -1 2 -1 -1 1 4 -1 -1 -1 -1 -1 -1 -1 -1 -1 -1";
+		File trace = write(".gwf", content);
+		Assert.assertTrue(TraceReader.Format.of(trace) == TraceReader.Format.GWF, "format of a .gwf file");
+		TraceReader reader = new TraceReader(trace);
+		try {
+			reader.setMaxPes(2);
+			reader.setMipsPerProcessor(1000);
+
+			Cloudlet first = reader.nextArrival(7);
+			Assert.assertEquals(0, first.getCloudletId(), "id of the first cloudlet");
+			Assert.assertEquals(7, first.getUserId(), "user of the first cloudlet");
+			Assert.assertEquals(2, first.getNumberOfPes(), "job of 8 processors narrowed to 2");
+			Assert.assertEquals(10 * 1000 * 8 / 2, first.getCloudletLength(), "work of the narrowed job is kept");
+			Assert.assertEquals(2L << 20, first.getCloudletFileSize(), "disk space of the job");
+			Assert.assertClose(0, reader.getArrivalTime(), "arrival of the first job");
+
+			// the cancelled job is skipped, and the requested processors stand in for the allocated ones
+			Cloudlet second = reader.nextArrival(7);
+			Assert.assertEquals(1, second.getCloudletId(), "id of the second cloudlet");
+			Assert.assertEquals(2, second.getNumberOfPes(), "requested processors");
+			Assert.assertEquals(TraceReader.DEFAULT_FILE_SIZE, second.getCloudletFileSize(), "file size without disk space");
+			Assert.assertClose(10, reader.getArrivalTime(), "arrival of the last job, without a newline");
+
+			Assert.assertTrue(reader.nextArrival(7) == null, "end of the trace");
+			Assert.assertEquals(1, reader.getSkipped(), "cancelled jobs skipped");
+		} finally {
+			reader.close();
+		}
+		trace.delete();
+	}
+
+	static void exponentsAreParsed() throws IOException {
+		String content = "1 1e3 0 1.5e2 2 -1 -1 2 -1 -1 1 1\n"
+				+ "2 1.001E+3 2.5e-1 3E0 2 -1 -1 2 -1 -1 1 1\n"
+				+ "3 1002 0 4e 2 -1 -1 2 -1 -1 1 1\n"
+				+ "4 1003 0 e4 2 -1 -1 2 -1 -1 1 1\n";
+		File trace = write(".swf", content);
+		TraceReader reader = new TraceReader(trace, TraceReader.Format.SWF, 4096);
+		try {
+			TraceRecord record = new TraceRecord();
+			Assert.assertTrue(reader.next(record), "first job");
+			Assert.assertClose(150, record.getRunTime(), "run time of 1.5e2");
+			Assert.assertTrue(reader.next(record), "second job");
+			Assert.assertClose(1, record.getSubmitTime(), "submit time of 1.001E+3 after 1e3");
+			Assert.assertClose(0.25, record.getWaitTime(), "wait time of 2.5e-1");
+			Assert.assertClose(3, record.getRunTime(), "run time of 3E0");
+			// an exponent without digits, or without a mantissa, is not a number
+			Assert.assertTrue(!reader.next(record), "jobs without a run time are skipped");
+			Assert.assertEquals(2, reader.getSkipped(), "jobs skipped");
+		} finally {
+			reader.close();
+		}
+		trace.delete();
+	}
+
+	static void longLineFails() throws IOException {
+		File trace = write(".swf", swf(JOBS));
+		TraceReader reader = new TraceReader(trace, TraceReader.Format.SWF, 16);
+		boolean failed = false;
+		try {
+			while(reader.next(new TraceRecord()))
+				;
+		} catch (IOException e) {
+			failed = true;
+		} finally {
+			reader.close();
+		}
+		Assert.assertTrue(failed, "a line longer than a chunk fails");
+		trace.delete();
+	}
+
+	/**
+	 * SWF trace with a header, blank lines, cancelled jobs, lines of varying width and no
+	 * newline after the last line.
+	 */
+	private static String swf(int jobs) {
+		StringBuilder content = new StringBuilder();
+		content.append("; Version: 2.2\n; Computer: test\n;\n");
+		for(int j = 0; j < jobs; j++){
+			if(j % 17 == 5)
+				content.append("\n");
+			if(j % 31 == 9)
+				content.append("; comment between jobs\n");
+			content.append(j + 1).append(' ').append(submitTime(j)).append(' ').append(j % 5)
+					.append(' ').append(cancelled(j) ? "-1" : String.valueOf(runTime(j)))
+					.append(' ').append(processors(j)).append(" -1 1024 ").append(processors(j))
+					.append(" 3600 -1 ").append(cancelled(j) ? 5 : 1).append(' ').append(j % 7)
+					.append(" 1 1 1 -1 -1 -1");
+			if(j + 1 < jobs)
+				content.append(j % 2 == 0 ? "\n" : "\r\n");
+		}
+		return content.toString();
+	}
+
+	private static boolean cancelled(int job) {
+		return job % 11 == 3;
+	}
+
+	private static double submitTime(int job) {
+		return 500 + job * 3;
+	}
+
+	private static double runTime(int job) {
+		return 10 + (job * 37) % 1000 + (job % 4) * 0.25;
+	}
+
+	private static int processors(int job) {
+		return 1 + (job * 13) % 64;
+	}
+
+	private static File write(String extension, String content) throws IOException {
+		File file = File.createTempFile("trace", extension);
+		file.deleteOnExit();
+		OutputStream out = new FileOutputStream(file);
+		try {
+			out.write(content.getBytes(StandardCharsets.US_ASCII));
+		} finally {
+			out.close();
+		}
+		return file;
+	}
+}
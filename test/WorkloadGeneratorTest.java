@@ -0,0 +1,97 @@
+package geneticalgo;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.CloudletSchedulerSpaceShared;
+import org.cloudbus.cloudsim.UtilizationModelFull;
+import org.cloudbus.cloudsim.Vm;
+
+/**
+ * Checks that a seed gives the same scenario whatever the parallelism of the
+ * {@link WorkloadGenerator} and the number of blocks, and that {@link Workload#sort} orders
+ * the generated cloudlets and vms in place.
+ */
+public class WorkloadGeneratorTest {
+
+	public static void main(String[] args) {
+		sameScenarioForAnyParallelism();
+		blocksDoNotDependOnTheSize();
+		objectsMatchThePrimitiveArrays();
+		sortIsInPlace();
+	}
+
+	static void sameScenarioForAnyParallelism() {
+		int n = 2 * WorkloadGenerator.BLOCK_SIZE + 3;
+		long[] expectedLengths = generator(n, n, 1).cloudletLengths();
+		double[] expectedMips = generator(n, n, 1).vmMips();
+		for(int parallelism : new int[] {2, 3, 4}){
+			long[] lengths = generator(n, n, parallelism).cloudletLengths();
+			double[] mips = generator(n, n, parallelism).vmMips();
+			for(int i = 0; i < n; i++){
+				Assert.assertEquals(expectedLengths[i], lengths[i], "length " + i + " with " + parallelism + " threads");
+				Assert.assertTrue(expectedMips[i] == mips[i], "mips " + i + " with " + parallelism + " threads");
+			}
+		}
+	}
+
+	static void blocksDoNotDependOnTheSize() {
+		// a smaller scenario of the same seed is a prefix of a larger one, on both sides of a block boundary
+		int max = WorkloadGenerator.BLOCK_SIZE + 2;
+		long[] largest = generator(max, 1, 4).cloudletLengths();
+		for(int n : new int[] {1, WorkloadGenerator.BLOCK_SIZE - 1, WorkloadGenerator.BLOCK_SIZE, WorkloadGenerator.BLOCK_SIZE + 1}){
+			long[] lengths = generator(n, 1, 4).cloudletLengths();
+			Assert.assertEquals(n, lengths.length, "number of lengths");
+			for(int i = 0; i < n; i++)
+				Assert.assertEquals(largest[i], lengths[i], "length " + i + " of " + n + " cloudlets");
+		}
+	}
+
+	static void objectsMatchThePrimitiveArrays() {
+		int n = WorkloadGenerator.BLOCK_SIZE + 5;
+		long[] lengths = generator(n, 7, 1).cloudletLengths();
+		double[] mips = generator(n, 7, 1).vmMips();
+		Cloudlet[] cloudlets = generator(n, 7, 4).createCloudlets(3);
+		Vm[] vms = generator(n, 7, 4).createVms(3);
+		for(int i = 0; i < n; i++){
+			Assert.assertEquals(i, cloudlets[i].getCloudletId(), "id of cloudlet " + i);
+			Assert.assertEquals(lengths[i], cloudlets[i].getCloudletLength(), "length of cloudlet " + i);
+		}
+		for(int k = 0; k < vms.length; k++){
+			Assert.assertEquals(k, vms[k].getId(), "id of vm " + k);
+			Assert.assertTrue(mips[k] == vms[k].getMips(), "mips of vm " + k);
+		}
+	}
+
+	static void sortIsInPlace() {
+		// lengths and mips whose differences overflow an int
+		long[] lengths = {5000000000L, 1L, 3000000000L, 1L};
+		double[] mips = {500, 5e9, 999, 1};
+		Cloudlet[] cloudlets = new Cloudlet[lengths.length];
+		for(int i = 0; i < cloudlets.length; i++)
+			cloudlets[i] = new Cloudlet(i, lengths[i], 1, 300, 300, new UtilizationModelFull(),
+										new UtilizationModelFull(), new UtilizationModelFull());
+		Vm[] vms = new Vm[mips.length];
+		for(int k = 0; k < vms.length; k++)
+			vms[k] = new Vm(k, 0, mips[k], 1, 512, 10, 10000, "Xen", new CloudletSchedulerSpaceShared());
+
+		Workload workload = Workload.sort(cloudlets, vms);
+		int[] cloudletIds = {1, 3, 2, 0};
+		int[] vmIds = {1, 2, 0, 3};
+		for(int i = 0; i < cloudletIds.length; i++){
+			Assert.assertEquals(cloudletIds[i], cloudlets[i].getCloudletId(), "cloudlet " + i + " of the sorted array");
+			Assert.assertTrue(workload.getCloudlet(i) == cloudlets[i], "cloudlet " + i + " is shared with the workload");
+		}
+		for(int k = 0; k < vmIds.length; k++){
+			Assert.assertEquals(vmIds[k], vms[k].getId(), "vm " + k + " of the sorted array");
+			Assert.assertTrue(workload.getVm(k) == vms[k], "vm " + k + " is shared with the workload");
+		}
+	}
+
+	private static WorkloadGenerator generator(int numCloudlets, int numVms, int parallelism) {
+		ScenarioConfig config = new ScenarioConfig();
+		config.setSeed(42L);
+		config.setNumCloudlets(numCloudlets);
+		config.setNumVms(numVms);
+		config.setParallelism(parallelism);
+		return new WorkloadGenerator(config);
+	}
+}